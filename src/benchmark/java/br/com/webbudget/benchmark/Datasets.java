@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.benchmark;
+
+import br.com.webbudget.domain.model.entity.entries.CardInvoice;
+import br.com.webbudget.domain.model.entity.entries.CostCenter;
+import br.com.webbudget.domain.model.entity.entries.MovementClass;
+import br.com.webbudget.domain.model.entity.entries.MovementClassType;
+import br.com.webbudget.domain.model.entity.financial.Apportionment;
+import br.com.webbudget.domain.model.entity.financial.Movement;
+import br.com.webbudget.domain.model.entity.financial.MovementType;
+import br.com.webbudget.domain.model.entity.financial.Payment;
+import br.com.webbudget.domain.model.entity.financial.PaymentMethodType;
+import br.com.webbudget.domain.model.entity.logbook.Fuel;
+import br.com.webbudget.domain.model.entity.logbook.Refueling;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gerador dos dados sinteticos usados pelos benchmarks. A semente e fixa para
+ * que duas execucoes sempre usem exatamente a mesma massa de dados
+ *
+ * A distribuicao imita um periodo real: 70% de despesas, das despesas 30% no
+ * cartao de credito e 10% no debito, 5% dos movimentos sao faturas de cartao
+ * e cada movimento e rateado entre um e tres centros de custo
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public final class Datasets {
+
+    private static final long SEED = 20161017L;
+
+    private static final int COST_CENTERS = 20;
+    private static final int CLASSES_PER_COST_CENTER = 10;
+
+    /**
+     * 
+     */
+    private Datasets() { }
+
+    /**
+     * @param size quantos movimentos gerar
+     * @return os movimentos com pagamento e rateios preenchidos
+     */
+    public static List<Movement> movements(int size) {
+
+        final Random random = new Random(SEED);
+
+        final List<MovementClass> revenues = new ArrayList<>();
+        final List<MovementClass> expenses = new ArrayList<>();
+
+        for (int i = 0; i < COST_CENTERS; i++) {
+
+            final CostCenter costCenter = new CostCenter();
+            costCenter.setName("cost-center-" + i);
+
+            for (int j = 0; j < CLASSES_PER_COST_CENTER; j++) {
+                revenues.add(movementClass(costCenter, MovementClassType.IN, i, j));
+                expenses.add(movementClass(costCenter, MovementClassType.OUT, i, j));
+            }
+        }
+
+        final LocalDate start = LocalDate.of(2016, 1, 1);
+        final List<Movement> movements = new ArrayList<>(size);
+
+        for (long i = 0; i < size; i++) {
+
+            final boolean expense = random.nextInt(100) < 70;
+
+            final Movement movement = new Movement();
+
+            movement.setInclusion(new Date(1451606400000L + i * 60000L));
+            movement.setDescription("movement " + i);
+            movement.setValue(money(random, 100000));
+            movement.setDueDate(start.plusDays(random.nextInt(365)));
+
+            if (expense && random.nextInt(100) < 5) {
+                movement.setMovementType(MovementType.CARD_INVOICE);
+            }
+
+            final Payment payment = new Payment();
+
+            final int method = random.nextInt(100);
+
+            if (expense && method < 30) {
+                payment.setPaymentMethodType(PaymentMethodType.CREDIT_CARD);
+            } else if (expense && method < 40) {
+                payment.setPaymentMethodType(PaymentMethodType.DEBIT_CARD);
+            } else {
+                payment.setPaymentMethodType(PaymentMethodType.IN_CASH);
+            }
+
+            payment.setPaymentDate(movement.getDueDate());
+            movement.setPayment(payment);
+
+            apportion(movement, expense ? expenses : revenues, random);
+
+            movements.add(movement);
+        }
+        return movements;
+    }
+
+    /**
+     * @param size quantos movimentos no total
+     * @param perInvoice quantos movimentos em cada fatura
+     * @return as faturas com o total ja calculado
+     */
+    public static List<CardInvoice> invoices(int size, int perInvoice) {
+
+        final List<Movement> movements = movements(size);
+        final List<CardInvoice> invoices = new ArrayList<>();
+
+        for (int i = 0; i < movements.size(); i += perInvoice) {
+
+            final CardInvoice invoice = new CardInvoice();
+
+            invoice.setInclusion(new Date(1451606400000L + i * 60000L));
+            invoice.setMovements(new ArrayList<>(movements.subList(
+                    i, Math.min(i + perInvoice, movements.size()))));
+
+            invoices.add(invoice);
+        }
+        return invoices;
+    }
+
+    /**
+     * @param size quantos abastecimentos gerar
+     * @return os abastecimentos com dois combustiveis cada
+     */
+    public static List<Refueling> refuelings(int size) {
+
+        final Random random = new Random(SEED);
+        final List<Refueling> refuelings = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+
+            final Refueling refueling = new Refueling();
+
+            refueling.addFuel();
+            refueling.addFuel();
+
+            refueling.getFuels().forEach(fuel -> {
+                fuel.setLiters(money(random, 5000));
+                fuel.setValuePerLiter(money(random, 500));
+            });
+
+            refuelings.add(refueling);
+        }
+        return refuelings;
+    }
+
+    /**
+     * Divide o valor do movimento em um a tres rateios de centros de custo 
+     * diferentes, o ultimo rateio leva o resto para fechar o valor
+     * 
+     * @param movement o movimento
+     * @param classes as classes da direcao do movimento
+     * @param random o gerador
+     */
+    private static void apportion(Movement movement, List<MovementClass> classes, Random random) {
+
+        final int parts = 1 + random.nextInt(3);
+        final int first = random.nextInt(COST_CENTERS);
+
+        BigDecimal remaining = movement.getValue();
+
+        for (int k = 0; k < parts; k++) {
+
+            final MovementClass movementClass = classes.get(
+                    ((first + k) % COST_CENTERS) * CLASSES_PER_COST_CENTER
+                    + random.nextInt(CLASSES_PER_COST_CENTER));
+
+            final BigDecimal value = k == parts - 1 || remaining.compareTo(BigDecimal.ONE) <= 0
+                    ? remaining
+                    : remaining.divide(new BigDecimal(2), 2, BigDecimal.ROUND_DOWN);
+
+            movement.addApportionment(new Apportionment(
+                    movementClass.getCostCenter(), movementClass, value));
+
+            remaining = remaining.subtract(value);
+
+            if (remaining.signum() == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @param costCenter
+     * @param direction
+     * @param i
+     * @param j
+     * @return 
+     */
+    private static MovementClass movementClass(CostCenter costCenter, 
+            MovementClassType direction, int i, int j) {
+
+        final MovementClass movementClass = new MovementClass();
+
+        movementClass.setName(direction + "-" + i + "-" + j);
+        movementClass.setCostCenter(costCenter);
+        movementClass.setMovementClassType(direction);
+
+        return movementClass;
+    }
+
+    /**
+     * @param random o gerador
+     * @param maxCents o maior valor em centavos
+     * @return um valor monetario com duas casas, nunca zero
+     */
+    private static BigDecimal money(Random random, int maxCents) {
+        return BigDecimal.valueOf(1 + random.nextInt(maxCents), 2);
+    }
+}
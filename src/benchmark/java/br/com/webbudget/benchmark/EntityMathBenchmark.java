@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.benchmark;
+
+import br.com.webbudget.domain.model.entity.entries.CardInvoice;
+import br.com.webbudget.domain.model.entity.financial.Movement;
+import br.com.webbudget.domain.model.entity.logbook.Refueling;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Mede as contas feitas dentro das proprias entidades, cada benchmark aplica
+ * a operacao em todos os registros da massa de dados
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EntityMathBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    private int size;
+
+    private List<Movement> movements;
+    private List<Refueling> refuelings;
+    private CardInvoice cardInvoice;
+
+    /**
+     * 
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        
+        this.movements = Datasets.movements(this.size);
+        this.refuelings = Datasets.refuelings(this.size);
+        
+        this.cardInvoice = new CardInvoice();
+        this.cardInvoice.setMovements(this.movements);
+    }
+
+    /**
+     * @param blackhole 
+     */
+    @Benchmark
+    public void apportionmentsTotal(Blackhole blackhole) {
+        for (Movement movement : this.movements) {
+            blackhole.consume(movement.getApportionmentsTotal());
+        }
+    }
+
+    /**
+     * 
+     */
+    @Benchmark
+    public void validateApportionments() {
+        for (Movement movement : this.movements) {
+            movement.validateApportionments();
+        }
+    }
+
+    /**
+     * @param blackhole 
+     */
+    @Benchmark
+    public void refuelingTotalize(Blackhole blackhole) {
+        for (Refueling refueling : this.refuelings) {
+            refueling.totalize();
+            blackhole.consume(refueling.getCostPerLiter());
+        }
+    }
+
+    /**
+     * @return o total da fatura com todos os movimentos
+     */
+    @Benchmark
+    public Object cardInvoiceTotal() {
+        return this.cardInvoice.calculateTotal();
+    }
+}
@@ -1,17 +1,41 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
 package br.com.webbudget.application.channels;
 
+import java.util.List;
 import javax.inject.Inject;
+import javax.websocket.CloseReason;
 import javax.websocket.OnClose;
+import javax.websocket.OnError;
 import javax.websocket.OnOpen;
 import javax.websocket.Session;
 import javax.websocket.server.ServerEndpoint;
 
 /**
- * Endpoint para fazer o push das notificacoes de mensangens do sistema
+ * Endpoint do canal de notificacao de novas mensagens, cada sessao fica 
+ * vinculada ao usuario dono do token que veio na url do canal
+ * 
+ * O usuario e lido da propria sessao websocket e nao da configuracao do 
+ * endpoint, que e uma so para todos os handshakes e misturaria os usuarios 
+ * de dois canais abertos ao mesmo tempo
  *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 2.3.0, 20/09/2016
  */
 @ServerEndpoint("/channels/messages")
@@ -21,13 +45,28 @@ public class MessagesEndpoint {
     private WebSocketSessions sessions;
 
     /**
-     * Quando uma sessao abrir, adiciona na lista
+     * Quando uma sessao abrir, adiciona ela nas sessoes do usuario. Sem um 
+     * token valido o canal e fechado
      *
      * @param session a sessao que se abre
+     * @throws Exception se nao for possivel fechar a sessao
      */
     @OnOpen
-    public void onOpenSession(Session session) {
-        this.sessions.add(session);
+    public void onOpenSession(Session session) throws Exception {
+        
+        final List<String> tokens = session.getRequestParameterMap()
+                .get(WebSocketSessions.CHANNEL_TOKEN);
+        
+        final String userId = tokens == null || tokens.isEmpty() 
+                ? null : this.sessions.findUserByToken(tokens.get(0));
+        
+        if (userId == null) {
+            session.close(new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, 
+                    "Not authenticated"));
+        } else {
+            session.getUserProperties().put(WebSocketSessions.USER_ID, userId);
+            this.sessions.add(userId, session);
+        }
     }
 
     /**
@@ -39,4 +78,15 @@ public class MessagesEndpoint {
     public void onCloseSession(Session session) {
         this.sessions.remove(session);
     }
+    
+    /**
+     * Uma sessao com erro nao recebe mais nada, entao tambem sai da lista
+     * 
+     * @param session a sessao com erro
+     * @param throwable o erro
+     */
+    @OnError
+    public void onSessionError(Session session, Throwable throwable) {
+        this.sessions.remove(session);
+    }
 }
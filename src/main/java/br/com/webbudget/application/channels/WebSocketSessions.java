@@ -1,68 +1,290 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
 package br.com.webbudget.application.channels;
 
-import java.util.HashSet;
-import java.util.Set;
+import br.com.webbudget.domain.misc.events.MessageSent;
+import br.com.webbudget.domain.model.entity.tools.Message;
+import br.com.webbudget.domain.model.security.User;
+import br.com.webbudget.domain.model.service.MessagingService;
+import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
 import javax.inject.Inject;
 import javax.websocket.Session;
 import org.slf4j.Logger;
 
 /**
- * Classe para representar o usuarios conectados nos channels via websocket
+ * Central das sessoes websocket dos usuarios conectados
+ * 
+ * As sessoes ficam agrupadas por usuario e as notificacoes vao apenas para os
+ * destinatarios das mensagens. Varias mensagens para o mesmo usuario dentro 
+ * da janela configurada em <i>websocket.push-window</i> viram um unico envio,
+ * que ja leva o total de mensagens nao lidas. O envio e assincrono e uma 
+ * sessao que ainda nao terminou de receber o ultimo envio nao recebe outro, 
+ * apenas fica marcada para receber o total atualizado quando terminar
  *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 2.0.0
  * @since 2.3.0, 20/09/2016
  */
 @ApplicationScoped
 public class WebSocketSessions {
     
+    /**
+     * Chave do id do usuario nas propriedades da sessao websocket
+     */
+    public static final String USER_ID = "webbudget.websocket.user-id";
+    
+    /**
+     * Parametro da url do canal com o token que identifica o usuario
+     */
+    public static final String CHANNEL_TOKEN = "token";
+    
     @Inject
     private Logger logger;
     
-    private final Set<Session> sessions;
+    @Inject
+    private MessagingService messagingService;
+    
+    @Resource(lookup = "java:comp/DefaultManagedScheduledExecutorService")
+    private ManagedScheduledExecutorService executorService;
+    
+    private long pushWindow;
+    
+    private final Map<String, String> tokens;
+    private final Map<String, Map<String, Channel>> channels;
+    private final Map<String, Boolean> scheduledPushes;
 
     /**
      * 
      */
     public WebSocketSessions() {
-        this.sessions = new HashSet<>();
+        this.tokens = new ConcurrentHashMap<>();
+        this.channels = new ConcurrentHashMap<>();
+        this.scheduledPushes = new ConcurrentHashMap<>();
+    }
+    
+    /**
+     * Le a janela de agrupamento dos envios
+     */
+    @PostConstruct
+    protected void initialize() {
+        this.pushWindow = Long.parseLong(
+                ApplicationUtils.getConfiguration("websocket.push-window"));
+    }
+
+    /**
+     * Gera o token do canal de um usuario que acabou de logar, e com ele que 
+     * o usuario e identificado quando abre o canal
+     * 
+     * @param userId o id do usuario
+     * @return o token do canal
+     */
+    public String register(String userId) {
+        
+        final String token = UUID.randomUUID().toString();
+        
+        this.tokens.put(token, userId);
+        
+        return token;
+    }
+    
+    /**
+     * Invalida o token do canal quando o usuario sai ou a sessao expira
+     * 
+     * @param token o token do canal
+     */
+    public void unregister(String token) {
+        if (token != null) {
+            this.tokens.remove(token);
+        }
+    }
+    
+    /**
+     * @param token o token do canal
+     * @return o id do usuario dono do token ou null se o token nao existe
+     */
+    public String findUserByToken(String token) {
+        return token != null ? this.tokens.get(token) : null;
     }
 
     /**
-     * Adiciona na lista de sessoes uma nova sessao de um usuario conectado
+     * Adiciona uma nova sessao de um usuario conectado
      * 
+     * @param userId o id do usuario
      * @param session a sessao do usuario
      */
-    public void add(Session session) {
-        this.sessions.add(session);
+    public void add(String userId, Session session) {
+        // a sessao entra no mapa do usuario dentro da operacao atomica, assim 
+        // uma remocao da ultima sessao ao mesmo tempo nao descarta o mapa 
+        // com a sessao nova dentro
+        this.channels.compute(userId, (key, sessions) -> {
+            
+            final Map<String, Channel> current = sessions != null 
+                    ? sessions : new ConcurrentHashMap<>();
+            
+            current.put(session.getId(), new Channel(session));
+            
+            return current;
+        });
     }
     
     /**
-     * Remove uma sessao da lista de sessoes
+     * Remove uma sessao, o usuario sai do mapa quando nao tem mais sessoes
      * 
      * @param session a session que precisa ser removida
      */
     public void remove(Session session) {
-        this.sessions.remove(session);
+        
+        final String userId = (String) session.getUserProperties().get(USER_ID);
+        
+        if (userId != null) {
+            this.channels.compute(userId, (key, sessions) -> {
+                
+                if (sessions == null) {
+                    return null;
+                }
+                
+                sessions.remove(session.getId());
+                
+                return sessions.isEmpty() ? null : sessions;
+            });
+        }
+    }
+    
+    /**
+     * Depois do commit do envio agenda a notificacao dos destinatarios
+     * 
+     * @param message a mensagem enviada
+     */
+    public void whenMessageSent(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @MessageSent Message message) {
+        message.getRecipients()
+                .stream()
+                .map(User::getId)
+                .forEach(this::notifyUser);
     }
         
     /**
-     * Metodo para enviar as mensagens a todos os clientes conectados
+     * Agenda o envio para o usuario caso ele esteja conectado e nao tenha um 
+     * envio ja agendado na janela atual
      *
+     * @param userId o id do usuario
      */
-    public void notifyOpenSessions() {
-        this.sessions
-                .stream()
-                .filter(Session::isOpen)
-                .forEach(session -> {
-                    try {
-                        session.getBasicRemote().sendText("newMessage");
-                    } catch (Exception ex) {
-                        this.logger.error("Can't notify session {0}",
-                                session.getId(), ex);
-                    }
-                });
+    public void notifyUser(String userId) {
+        
+        if (!this.channels.containsKey(userId) 
+                || this.scheduledPushes.putIfAbsent(userId, Boolean.TRUE) != null) {
+            return;
+        }
+        
+        try {
+            this.executorService.schedule(() -> this.push(userId), 
+                    this.pushWindow, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            this.scheduledPushes.remove(userId);
+            this.logger.warn("Can't schedule push to user {}", userId, ex);
+        }
+    }
+    
+    /**
+     * Envia a todas as sessoes do usuario o total de mensagens nao lidas
+     * 
+     * @param userId o id do usuario
+     */
+    private void push(String userId) {
+        
+        // liberamos antes de contar, uma mensagem que chegar agora agenda outro
+        this.scheduledPushes.remove(userId);
+        
+        final Map<String, Channel> sessions = this.channels.get(userId);
+        
+        if (sessions == null || sessions.isEmpty()) {
+            return;
+        }
+        
+        final String payload = "{\"type\":\"newMessage\",\"unread\":" 
+                + this.messagingService.countNewMessages(userId) + "}";
+        
+        sessions.values().forEach(channel -> this.send(userId, channel, payload));
+    }
+    
+    /**
+     * @param userId o id do usuario
+     * @param channel o canal da sessao
+     * @param payload o conteudo a enviar
+     */
+    private void send(String userId, Channel channel, String payload) {
+        
+        final Session session = channel.session;
+        
+        if (!session.isOpen()) {
+            this.remove(session);
+            return;
+        }
+        
+        if (!channel.sending.compareAndSet(false, true)) {
+            channel.outdated.set(true);
+            return;
+        }
+        
+        session.getAsyncRemote().sendText(payload, result -> {
+            
+            channel.sending.set(false);
+            
+            if (!result.isOK()) {
+                this.logger.error("Can't notify session {}", 
+                        session.getId(), result.getException());
+            }
+            
+            // chegou algo durante o envio, manda o total atualizado
+            if (channel.outdated.getAndSet(false)) {
+                this.notifyUser(userId);
+            }
+        });
+    }
+    
+    /**
+     * Uma sessao e o seu estado de envio
+     */
+    private static final class Channel {
+        
+        private final Session session;
+        private final AtomicBoolean sending;
+        private final AtomicBoolean outdated;
+
+        /**
+         * @param session a sessao
+         */
+        Channel(Session session) {
+            this.session = session;
+            this.sending = new AtomicBoolean();
+            this.outdated = new AtomicBoolean();
+        }
     }
 }
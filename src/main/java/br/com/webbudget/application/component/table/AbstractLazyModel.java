@@ -16,7 +16,7 @@
  */
 package br.com.webbudget.application.component.table;
 
-import br.com.webbudget.domain.model.entity.IPersistentEntity;
+import br.com.webbudget.domain.model.Identifiable;
 import java.util.List;
 import java.util.Map;
 import org.primefaces.model.LazyDataModel;
@@ -34,7 +34,7 @@ import org.primefaces.model.SortOrder;
  * @version 1.0.0
  * @since 2.1.0, 05/09/2015
  */
-public class AbstractLazyModel<T extends IPersistentEntity> extends LazyDataModel<T> {
+public class AbstractLazyModel<T extends Identifiable> extends LazyDataModel<T> {
 
     /**
      * @see LazyDataModel#load(int, int, java.util.List, java.util.Map)
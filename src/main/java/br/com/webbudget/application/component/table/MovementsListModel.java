@@ -16,10 +16,10 @@
  */
 package br.com.webbudget.application.component.table;
 
-import br.com.webbudget.domain.model.entity.financial.Movement;
 import br.com.webbudget.domain.misc.filter.MovementFilter;
+import br.com.webbudget.domain.model.projection.MovementRow;
 import br.com.webbudget.domain.model.service.MovementService;
-import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import org.primefaces.model.SortMeta;
@@ -32,11 +32,17 @@ import org.primefaces.model.SortOrder;
  * @version 1.0.0
  * @since 2.1.2, 24/12/2015
  */
-public class MovementsListModel extends AbstractLazyModel<Movement> {
+public class MovementsListModel extends AbstractLazyModel<MovementRow> {
 
     private final MovementService movementService;
     private final CustomFilterAdapter<MovementFilter> filterAdapter;
 
+    private int lastFirst;
+    private int lastPageSize;
+    private String lastFilter;
+    private Date lastInclusion;
+    private Long lastId;
+
     /**
      * 
      * @param movementService
@@ -56,23 +62,77 @@ public class MovementsListModel extends AbstractLazyModel<Movement> {
      * @return 
      */
     @Override
-    public List<Movement> load(int first, int pageSize, 
+    public List<MovementRow> load(int first, int pageSize, 
             List<SortMeta> multiSortMeta, Map<String, Object> filters) {
         
+        final MovementFilter filter = this.filterAdapter.getFilter();
+        
         final PageRequest pageRequest = new PageRequest();
 
         pageRequest
                 .setFirstResult(first)
                 .withPageSize(pageSize)
                 .multiSortingBy(multiSortMeta, "inclusion");
+        
+        // se estamos apenas indo para a proxima pagina, buscamos por seek
+        if (this.canSeek(first, pageSize, multiSortMeta, filter)) {
+            pageRequest.seekingAfter(this.lastInclusion, this.lastId);
+        }
 
-        final Page<Movement> page = movementService.listMovementsByFilter(
-                this.filterAdapter.getFilter(), pageRequest);
+        final Page<MovementRow> page = movementService.listMovementsByFilter(
+                filter, pageRequest);
 
         this.setRowCount(page.getTotalPagesInt());
+        
+        this.rememberPage(first, pageSize, filter, page);
 
         return page.getContent();
     }
+    
+    /**
+     * Verifica se a pagina solicitada e a sequencia direta da ultima pagina 
+     * carregada, com o mesmo filtro e a ordenacao padrao, se for, podemos 
+     * buscar ela por seek. Saltos aleatorios continuam usando offset
+     * 
+     * @param first o primeiro registro da pagina solicitada
+     * @param pageSize o tamanho da pagina
+     * @param multiSortMeta os campos de ordenacao da tabela
+     * @param filter o filtro atual
+     * @return se podemos ou nao paginar por seek
+     */
+    private boolean canSeek(int first, int pageSize, 
+            List<SortMeta> multiSortMeta, MovementFilter filter) {
+        return this.lastInclusion != null
+                && (multiSortMeta == null || multiSortMeta.isEmpty())
+                && first > 0
+                && pageSize == this.lastPageSize
+                && first == this.lastFirst + this.lastPageSize
+                && String.valueOf(filter).equals(this.lastFilter);
+    }
+    
+    /**
+     * Guarda a posicao e a chave do ultimo registro da pagina carregada 
+     * 
+     * @param first o primeiro registro da pagina
+     * @param pageSize o tamanho da pagina
+     * @param filter o filtro usado
+     * @param page a pagina carregada
+     */
+    private void rememberPage(int first, int pageSize, 
+            MovementFilter filter, Page<MovementRow> page) {
+        
+        this.lastFirst = first;
+        this.lastPageSize = pageSize;
+        this.lastFilter = String.valueOf(filter);
+        
+        if (page.hasLastKey()) {
+            this.lastId = page.getLastId();
+            this.lastInclusion = page.getLastInclusion();
+        } else {
+            this.lastId = null;
+            this.lastInclusion = null;
+        }
+    }
 
     /**
      * 
@@ -84,7 +144,7 @@ public class MovementsListModel extends AbstractLazyModel<Movement> {
      * @return 
      */
     @Override
-    public List<Movement> load(int first, int pageSize, String sortField, 
+    public List<MovementRow> load(int first, int pageSize, String sortField, 
             SortOrder sortOrder, Map<String, Object> filters) {
 
         final PageRequest pageRequest = new PageRequest();
@@ -95,10 +155,13 @@ public class MovementsListModel extends AbstractLazyModel<Movement> {
                 .sortingBy(sortField, "inclusion")
                 .withDirection(sortOrder.name());
 
-        final Page<Movement> page = movementService.listMovementsByFilter(
+        final Page<MovementRow> page = movementService.listMovementsByFilter(
                 this.filterAdapter.getFilter(), pageRequest);
 
         this.setRowCount(page.getTotalPagesInt());
+        
+        // ordenacao customizada, a proxima pagina tera de ser por offset
+        this.lastInclusion = null;
 
         return page.getContent();
     }
@@ -16,8 +16,9 @@
  */
 package br.com.webbudget.application.component.table;
 
-import br.com.webbudget.domain.model.entity.IPersistentEntity;
+import br.com.webbudget.domain.model.Identifiable;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,10 +31,13 @@ import java.util.Optional;
  * @version 1.0.0
  * @since 2.1.0, 11/09/2015
  */
-public class Page<T extends IPersistentEntity> {
+public class Page<T extends Identifiable> {
 
     public Optional<List<T>> optionalContent;
     public Optional<Long> optionalTotalPages;
+    
+    private Date lastInclusion;
+    private Long lastId;
 
     /**
      * 
@@ -92,4 +96,37 @@ public class Page<T extends IPersistentEntity> {
     public void setTotalPages(Long totalPages) {
         this.optionalTotalPages = Optional.of(totalPages);
     }
+
+    /**
+     * Guarda a chave (inclusion, id) do ultimo registro desta pagina para que 
+     * a proxima possa ser buscada por seek
+     * 
+     * @param inclusion a data de inclusao do ultimo registro
+     * @param id o id do ultimo registro
+     */
+    public void setLastKey(Date inclusion, Long id) {
+        this.lastId = id;
+        this.lastInclusion = inclusion;
+    }
+
+    /**
+     * @return a data de inclusao do ultimo registro da pagina
+     */
+    public Date getLastInclusion() {
+        return this.lastInclusion;
+    }
+
+    /**
+     * @return o id do ultimo registro da pagina
+     */
+    public Long getLastId() {
+        return this.lastId;
+    }
+    
+    /**
+     * @return se esta pagina carrega a chave do seu ultimo registro
+     */
+    public boolean hasLastKey() {
+        return this.lastInclusion != null && this.lastId != null;
+    }
 }
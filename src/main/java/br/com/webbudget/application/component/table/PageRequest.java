@@ -18,7 +18,9 @@ package br.com.webbudget.application.component.table;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.Getter;
 import org.primefaces.model.SortMeta;
 
@@ -46,6 +48,11 @@ public class PageRequest {
     private String sortField;
     private String defaultField;
 
+    @Getter
+    private Date lastInclusion;
+    @Getter
+    private Long lastId;
+
     /**
      * Inicializa o que for necessario
      */
@@ -62,6 +69,28 @@ public class PageRequest {
         return this;
     }
 
+    /**
+     * Habilita a paginacao por seek (keyset), ao inves de pular os registros 
+     * anteriores via offset a consulta busca apenas os registros que estao 
+     * apos a chave (inclusion, id) do ultimo registro da pagina anterior
+     *
+     * @param inclusion a data de inclusao do ultimo registro da pagina anterior
+     * @param id o id do ultimo registro da pagina anterior
+     * @return o builder
+     */
+    public PageRequest seekingAfter(Date inclusion, Long id) {
+        this.lastId = id;
+        this.lastInclusion = inclusion;
+        return this;
+    }
+
+    /**
+     * @return se esta requisicao deve ser paginada por seek ao inves de offset
+     */
+    public boolean isSeeking() {
+        return this.lastInclusion != null && this.lastId != null;
+    }
+
     /**
      * @param size o tamanho maximo da pagina
      * @return o builder
@@ -140,8 +169,29 @@ public class PageRequest {
      * @return a lista de campos para sort da pesquisa
      */
     public List<MultiSortField> getMultiSortFields() {
-        this.multiSortFields.add(new MultiSortField("inclusion", "DESCENDING"));
-        return Collections.unmodifiableList(this.multiSortFields);
+        
+        // copiamos para nao acumular o campo padrao a cada chamada
+        final List<MultiSortField> fields = new ArrayList<>(this.multiSortFields);
+        
+        fields.add(new MultiSortField("inclusion", "DESCENDING"));
+        
+        return Collections.unmodifiableList(fields);
+    }
+    
+    /**
+     * @return o nome de todos os campos usados na ordenacao desta pagina
+     */
+    public List<String> getSortFields() {
+        
+        if (!this.multiSort) {
+            return Collections.singletonList(this.getSortField());
+        }
+        
+        return this.getMultiSortFields()
+                .stream()
+                .map(MultiSortField::getSortField)
+                .distinct()
+                .collect(Collectors.toList());
     }
 
     /**
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.component.widget;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Um widget sendo carregado em segundo plano pelo {@link WidgetExecutor}, a 
+ * view espera por ele ate um prazo e se nao ficar pronto a tempo ele e 
+ * renderizado depois por um refresh via ajax
+ *
+ * @param <T> o tipo do dado que o widget carrega
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public final class Widget<T> {
+
+    private Future<T> future;
+    
+    private final long startedAt;
+    private volatile long finishedAt;
+
+    /**
+     * 
+     */
+    Widget() {
+        this.startedAt = System.nanoTime();
+    }
+
+    /**
+     * @param future o carregamento em andamento
+     */
+    void start(Future<T> future) {
+        this.future = future;
+    }
+    
+    /**
+     * Marca o fim do carregamento, chamado pela thread que carregou o widget
+     */
+    void finish() {
+        this.finishedAt = System.nanoTime();
+    }
+
+    /**
+     * Espera o widget carregar ate o prazo informado
+     * 
+     * @param deadline o prazo, em nanos do {@link System#nanoTime()}
+     * @return se o widget terminou de carregar, com ou sem erro
+     */
+    public boolean await(long deadline) {
+        
+        if (this.future.isDone()) {
+            return true;
+        }
+        
+        try {
+            this.future.get(Math.max(0, deadline - System.nanoTime()), 
+                    TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException ex) {
+            // o erro e entregue para quem pegar o valor
+        }
+        return true;
+    }
+
+    /**
+     * @return o dado carregado, se o carregamento falhou o erro e relancado
+     */
+    public T getValue() {
+        try {
+            return this.future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * @return quando o carregamento terminou, em nanos do {@link System#nanoTime()}
+     */
+    public long getFinishedAt() {
+        return this.finishedAt;
+    }
+    
+    /**
+     * @return quanto tempo o widget levou para carregar, em milisegundos
+     */
+    public long getElapsedTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.finishedAt - this.startedAt);
+    }
+
+    /**
+     * Cancela o carregamento caso ele ainda nao tenha terminado
+     */
+    public void cancel() {
+        this.future.cancel(true);
+    }
+}
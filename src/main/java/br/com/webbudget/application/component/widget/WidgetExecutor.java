@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.component.widget;
+
+import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * Executor dos widgets das telas, cada widget e carregado em paralelo no pool
+ * gerenciado pelo container e a tela espera no maximo o tempo configurado em
+ * <i>widget.timeout</i> antes de renderizar o que ja estiver pronto
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ApplicationScoped
+public class WidgetExecutor {
+
+    @Resource(lookup = "java:comp/DefaultManagedExecutorService")
+    private ManagedExecutorService executorService;
+
+    /**
+     * Inicia o carregamento de um widget
+     * 
+     * @param <T> o tipo do dado do widget
+     * @param loader o carregamento do widget
+     * @return o widget em carregamento
+     */
+    public <T> Widget<T> submit(Callable<T> loader) {
+        
+        final Widget<T> widget = new Widget<>();
+        
+        widget.start(this.executorService.submit(() -> {
+            try {
+                return loader.call();
+            } finally {
+                widget.finish();
+            }
+        }));
+        return widget;
+    }
+
+    /**
+     * @return o prazo para os widgets, em nanos do {@link System#nanoTime()}
+     */
+    public long deadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Long
+                .parseLong(ApplicationUtils.getConfiguration("widget.timeout")));
+    }
+}
@@ -17,22 +17,27 @@
 package br.com.webbudget.application.controller;
 
 import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
-import br.com.webbudget.domain.model.entity.financial.Movement;
-import br.com.webbudget.domain.misc.MovementCalculator;
+import br.com.webbudget.domain.misc.DashboardSnapshot;
+import br.com.webbudget.domain.misc.MoneyAccumulator;
+import br.com.webbudget.domain.misc.SummaryCalculator;
 import br.com.webbudget.application.component.chart.line.LineChartDatasetBuilder;
 import br.com.webbudget.application.component.chart.line.LineChartModel;
+import br.com.webbudget.application.component.widget.Widget;
+import br.com.webbudget.application.component.widget.WidgetExecutor;
 import br.com.webbudget.domain.misc.ex.InternalServiceError;
+import br.com.webbudget.domain.model.service.DashboardService;
 import br.com.webbudget.domain.model.service.FinancialPeriodService;
-import br.com.webbudget.domain.model.service.MovementService;
+import br.com.webbudget.domain.model.service.MovementSummaryService;
 import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
 import javax.faces.view.ViewScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 import lombok.Getter;
+import org.primefaces.context.RequestContext;
 
 /**
  * Mbean utilizado na dashboard do sistema, por ele carregamos os graficos da
@@ -68,38 +73,89 @@ public class DashboardBean extends AbstractBean {
     private int percentageCreditCard;
 
     private List<FinancialPeriod> openPeriods;
+    
     private List<FinancialPeriod> closedPeriods;
+    
+    private boolean latestClosedLoaded;
+    private FinancialPeriod latestClosedPeriod;
+    
+    private boolean snapshotPending;
+    private long snapshotGeneration;
+    private long buildStartedAt;
+    private long buildFinishedAt;
 
     @Getter
-    private MovementCalculator calculator;
+    private SummaryCalculator calculator;
+    
+    private transient Widget<SummaryCalculator> summaryWidget;
+    private transient Widget<FinancialPeriod> latestClosedWidget;
+    private transient Widget<List<FinancialPeriod>> closedPeriodsWidget;
 
     @Inject
-    private MovementService movementService;
+    private WidgetExecutor widgetExecutor;
+    @Inject
+    private DashboardService dashboardService;
+    @Inject
+    private MovementSummaryService movementSummaryService;
     @Inject
     private FinancialPeriodService financialPeriodService;
 
     /**
      * Inicializa a dashboard do sistema
+     * 
+     * Os widgets sao carregados em paralelo e a tela espera por eles no 
+     * maximo o tempo configurado, o que nao ficar pronto e renderizado depois 
+     * pelo {@link #refreshWidgets()}. Quando todos os widgets carregam o 
+     * resultado vai para o cache e as proximas visitas leem direto dele
      */
     public void initialize() {
 
+        this.cancelWidgets();
+        
         this.accumulated = BigDecimal.ZERO;
         this.totalRevenueGoal = BigDecimal.ZERO;
         this.totalExpensesGoal = BigDecimal.ZERO;
         this.totalCreditCardGoal = BigDecimal.ZERO;
-
-        this.closedPeriods = new ArrayList<>();
+        
+        this.calculator = null;
+        this.closedPeriods = null;
+        this.lineChartModel = null;
+        this.latestClosedLoaded = false;
+        this.latestClosedPeriod = null;
+        this.snapshotPending = false;
 
         try {
+            final long deadline = this.widgetExecutor.deadline();
+            
+            // a geracao e lida antes dos dados para descartar retratos velhos
+            this.buildStartedAt = System.nanoTime();
+            this.snapshotGeneration = this.dashboardService.getGeneration();
+            
             this.openPeriods
                     = this.financialPeriodService.listOpenFinancialPeriods();
-
-            this.initializePeriodSummary();
-            this.initializeBalanceHistory();
-            this.initializeClosingsGraph();
+            
+            final DashboardSnapshot snapshot 
+                    = this.dashboardService.findSnapshot(this.openPeriods);
+            
+            if (snapshot != null) {
+                this.initializeFromSnapshot(snapshot);
+                this.collectWidgets(deadline);
+                return;
+            }
+            
+            this.snapshotPending = true;
+            
+            final List<FinancialPeriod> periods = this.openPeriods;
+            
+            this.summaryWidget = this.widgetExecutor.submit(() -> 
+                    this.movementSummaryService.calculatorFor(periods));
+            this.closedPeriodsWidget = this.widgetExecutor.submit(
+                    this.financialPeriodService::listLastSixClosedPeriods);
+            this.latestClosedWidget = this.widgetExecutor.submit(
+                    this.financialPeriodService::findLatestClosedPeriod);
             
             this.countGoals();
-            this.calculatePercentages();
+            this.collectWidgets(deadline);
         } catch (InternalServiceError ex) {
             this.addError(true, ex.getMessage(), ex.getParameters());
         } catch (Exception ex) {
@@ -107,6 +163,150 @@ public class DashboardBean extends AbstractBean {
             this.addError(true, "error.undefined-error", ex.getMessage());
         }
     }
+    
+    /**
+     * Renderiza os widgets que nao ficaram prontos a tempo no carregamento
+     * da tela, chamado via ajax enquanto houverem widgets pendentes
+     */
+    public void refreshWidgets() {
+        try {
+            this.collectWidgets(this.widgetExecutor.deadline());
+        } catch (InternalServiceError ex) {
+            this.addError(true, ex.getMessage(), ex.getParameters());
+        } catch (Exception ex) {
+            this.logger.error(ex.getMessage(), ex);
+            this.addError(true, "error.undefined-error", ex.getMessage());
+        }
+    }
+    
+    /**
+     * @return se os totais dos periodos em aberto ja foram carregados
+     */
+    public boolean isSummaryLoaded() {
+        return this.calculator != null;
+    }
+    
+    /**
+     * @return se o grafico dos fechamentos ja foi carregado
+     */
+    public boolean isClosingsLoaded() {
+        return this.lineChartModel != null;
+    }
+    
+    /**
+     * @return se o acumulado ja foi calculado
+     */
+    public boolean isAccumulatedLoaded() {
+        return this.isSummaryLoaded() && this.latestClosedLoaded;
+    }
+    
+    /**
+     * Pega os widgets que terminaram ate o prazo e monta os seus dados, cada 
+     * widget e consumido uma unica vez mesmo que tenha falhado. Ao final avisa
+     * a view via callback se ainda ha widgets pendentes
+     * 
+     * @param deadline o prazo para esperar pelos widgets
+     */
+    private void collectWidgets(long deadline) {
+        
+        try {
+            if (this.summaryWidget != null && this.summaryWidget.await(deadline)) {
+                final Widget<SummaryCalculator> widget = this.summaryWidget;
+                this.summaryWidget = null;
+                this.initializePeriodSummary(widget.getValue());
+                this.initializeBalanceHistory();
+                this.buildFinishedAt = Math.max(this.buildFinishedAt, widget.getFinishedAt());
+            }
+
+            if (this.latestClosedWidget != null && this.latestClosedWidget.await(deadline)) {
+                final Widget<FinancialPeriod> widget = this.latestClosedWidget;
+                this.latestClosedWidget = null;
+                this.latestClosedPeriod = widget.getValue();
+                this.latestClosedLoaded = true;
+                this.initializeBalanceHistory();
+                this.buildFinishedAt = Math.max(this.buildFinishedAt, widget.getFinishedAt());
+            }
+
+            if (this.closedPeriodsWidget != null && this.closedPeriodsWidget.await(deadline)) {
+                final Widget<List<FinancialPeriod>> widget = this.closedPeriodsWidget;
+                this.closedPeriodsWidget = null;
+                this.closedPeriods = widget.getValue();
+                this.initializeClosingsGraph(this.closedPeriods);
+                this.buildFinishedAt = Math.max(this.buildFinishedAt, widget.getFinishedAt());
+            }
+            
+            this.storeSnapshot();
+        } finally {
+            // o canvas e renderizado de novo a cada refresh, redesenhamos
+            if (this.isClosingsLoaded() && !this.lineChartModel.isEmptyChart()) {
+                this.drawLineChart("closingsChart", this.lineChartModel);
+            }
+            RequestContext.getCurrentInstance().addCallbackParam("pendingWidgets", 
+                    this.summaryWidget != null || this.latestClosedWidget != null 
+                    || this.closedPeriodsWidget != null);
+        }
+    }
+    
+    /**
+     * Preenche a dashboard com um retrato do cache
+     * 
+     * @param snapshot o retrato
+     */
+    private void initializeFromSnapshot(DashboardSnapshot snapshot) {
+        
+        this.totalRevenueGoal = snapshot.getTotalRevenueGoal();
+        this.totalExpensesGoal = snapshot.getTotalExpensesGoal();
+        this.totalCreditCardGoal = snapshot.getTotalCreditCardGoal();
+        
+        this.initializePeriodSummary(snapshot.getCalculator());
+        
+        this.accumulated = snapshot.getAccumulated();
+        this.latestClosedLoaded = true;
+        
+        this.closedPeriods = snapshot.getClosedPeriods();
+        this.initializeClosingsGraph(this.closedPeriods);
+    }
+    
+    /**
+     * Quando todos os widgets carregaram sem erro, guarda o resultado no cache
+     * junto com o tempo que levou para montar
+     */
+    private void storeSnapshot() {
+        
+        if (!this.snapshotPending || !this.isAccumulatedLoaded() 
+                || !this.isClosingsLoaded()) {
+            return;
+        }
+        
+        this.snapshotPending = false;
+        
+        final long buildTime = TimeUnit.NANOSECONDS
+                .toMillis(this.buildFinishedAt - this.buildStartedAt);
+        
+        this.dashboardService.storeSnapshot(this.openPeriods, 
+                new DashboardSnapshot(this.snapshotGeneration, buildTime, 
+                        this.calculator, this.accumulated, this.totalRevenueGoal, 
+                        this.totalExpensesGoal, this.totalCreditCardGoal, 
+                        this.closedPeriods));
+    }
+    
+    /**
+     * Cancela os widgets que ainda estiverem carregando
+     */
+    private void cancelWidgets() {
+        if (this.summaryWidget != null) {
+            this.summaryWidget.cancel();
+        }
+        if (this.latestClosedWidget != null) {
+            this.latestClosedWidget.cancel();
+        }
+        if (this.closedPeriodsWidget != null) {
+            this.closedPeriodsWidget.cancel();
+        }
+        this.summaryWidget = null;
+        this.latestClosedWidget = null;
+        this.closedPeriodsWidget = null;
+    }
 
     /**
      * @return a versao da aplicacao
@@ -132,33 +332,26 @@ public class DashboardBean extends AbstractBean {
     
     /**
      * Inicializa o bloco com as informacoes sobre os periodos ativos
+     * 
+     * @param calculator a calculadora com os sumarios ja agregados dos periodos
      */
-    private void initializePeriodSummary() {
-
-        final List<Movement> movements = new ArrayList<>();
-
-        this.openPeriods.stream().forEach(period -> {
-            movements.addAll(
-                    this.movementService.listOnlyMovementsByPeriod(period));
-        });
-
-        // cria a calculadora coma lista gerada
-        this.calculator = new MovementCalculator(movements);
+    private void initializePeriodSummary(SummaryCalculator calculator) {
+        this.calculator = calculator;
+        this.calculatePercentages();
     }
 
     /**
-     * Inicializa o historico de saldos
+     * Inicializa o historico de saldos, depende dos totais dos periodos em 
+     * aberto e do ultimo periodo encerrado
      */
     private void initializeBalanceHistory() {
 
-        this.closedPeriods
-                = this.financialPeriodService.listLastSixClosedPeriods();
-
-        final FinancialPeriod latestClosedPeriod
-                = this.financialPeriodService.findLatestClosedPeriod();
-
-        if (latestClosedPeriod != null) {
-            this.accumulated = latestClosedPeriod.getAccumulated()
+        if (!this.isAccumulatedLoaded()) {
+            return;
+        }
+        
+        if (this.latestClosedPeriod != null) {
+            this.accumulated = this.latestClosedPeriod.getAccumulated()
                     .add(this.calculator.getBalance());
         } else {
             this.accumulated = this.calculator.getBalance();
@@ -167,8 +360,10 @@ public class DashboardBean extends AbstractBean {
 
     /**
      * Monta o grafico
+     * 
+     * @param closedPeriods os ultimos periodos encerrados
      */
-    private void initializeClosingsGraph() {
+    private void initializeClosingsGraph(List<FinancialPeriod> closedPeriods) {
 
         final LineChartDatasetBuilder<BigDecimal> revenueDatasetBuilder
                 = new LineChartDatasetBuilder<>()
@@ -190,43 +385,43 @@ public class DashboardBean extends AbstractBean {
                 .withPointHighlightFillColor("#fff")
                 .withPointHighlightStroke("rgba(204,0,0,1)");
 
-        this.lineChartModel = new LineChartModel();
+        final LineChartModel model = new LineChartModel();
 
-        // ordena pela inclusao, do mais velho para o menos novo
-        this.closedPeriods.sort((v1, v2) 
-                -> v1.getInclusion().compareTo(v2.getInclusion()));
-        
-        // coloca o nome das series e os dados
-        this.closedPeriods.stream().forEach(period -> {
+        // coloca o nome das series e os dados, ordenados pela inclusao, do 
+        // mais velho para o menos novo
+        closedPeriods.stream()
+                .sorted((v1, v2) -> v1.getInclusion().compareTo(v2.getInclusion()))
+                .forEach(period -> {
 
-            this.lineChartModel.addLabel(period.getIdentification());
+            model.addLabel(period.getIdentification());
 
             revenueDatasetBuilder.andData(period.getRevenuesTotal());
             expenseDatasetBuilder.andData(period.getExpensesTotal());
         });
 
-        this.lineChartModel.addDataset(revenueDatasetBuilder.build());
-        this.lineChartModel.addDataset(expenseDatasetBuilder.build());
+        model.addDataset(revenueDatasetBuilder.build());
+        model.addDataset(expenseDatasetBuilder.build());
 
-        if (!this.lineChartModel.isEmptyChart()) {
-            this.drawLineChart("closingsChart", lineChartModel);
-        }
+        this.lineChartModel = model;
     }
 
     /**
      * A somatoria das metas para os periodos em aberto
      */
     private void countGoals() {
-        this.totalCreditCardGoal = this.openPeriods.stream()
-                .map(FinancialPeriod::getCreditCardGoal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
         
-        this.totalExpensesGoal = this.openPeriods.stream()
-                .map(FinancialPeriod::getExpensesGoal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        final MoneyAccumulator creditCardGoal = new MoneyAccumulator();
+        final MoneyAccumulator expensesGoal = new MoneyAccumulator();
+        final MoneyAccumulator revenuesGoal = new MoneyAccumulator();
+        
+        this.openPeriods.forEach(period -> {
+            creditCardGoal.add(period.getCreditCardGoal());
+            expensesGoal.add(period.getExpensesGoal());
+            revenuesGoal.add(period.getRevenuesGoal());
+        });
         
-        this.totalRevenueGoal = this.openPeriods.stream()
-                .map(FinancialPeriod::getRevenuesGoal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        this.totalCreditCardGoal = creditCardGoal.toBigDecimal();
+        this.totalExpensesGoal = expensesGoal.toBigDecimal();
+        this.totalRevenueGoal = revenuesGoal.toBigDecimal();
     }
 }
@@ -16,6 +16,7 @@
  */
 package br.com.webbudget.application.controller;
 
+import br.com.webbudget.application.channels.WebSocketSessions;
 import br.com.webbudget.application.producer.qualifier.AuthenticatedUser;
 import br.com.webbudget.domain.model.security.Authorization;
 import br.com.webbudget.domain.model.security.Group;
@@ -23,6 +24,7 @@ import br.com.webbudget.domain.model.security.User;
 import br.com.webbudget.domain.model.service.AccountService;
 import java.io.Serializable;
 import java.util.List;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.SessionScoped;
 import javax.enterprise.event.Observes;
@@ -49,6 +51,9 @@ import org.picketlink.authentication.event.PostLoggedOutEvent;
 public class UserSessionBean implements Serializable {
 
     private List<Group> userGroups;
+    
+    @Getter
+    private String channelToken;
 
     @Getter
     @Inject
@@ -59,6 +64,9 @@ public class UserSessionBean implements Serializable {
 
     @Inject
     private transient AccountService accountService;
+    
+    @Inject
+    private transient WebSocketSessions webSocketSessions;
 
     /**
      * Inicializamos a sessao do usuario carregando os grupos dele e suas roles
@@ -66,8 +74,14 @@ public class UserSessionBean implements Serializable {
      * @param event o evento de login
      */
     protected void initialize(@Observes LoggedInEvent event) {
+        
         this.userGroups = this.accountService
                 .listUserGroupsAndGrants(this.getAuthenticatedUser());
+        
+        // o canal de mensagens identifica o usuario pelo token desta sessao
+        this.webSocketSessions.unregister(this.channelToken);
+        this.channelToken = this.webSocketSessions
+                .register(this.getAuthenticatedUser().getId());
     }
 
     /**
@@ -78,6 +92,16 @@ public class UserSessionBean implements Serializable {
      */
     protected void destroy(@Observes PostLoggedOutEvent event) {
         this.userGroups = null;
+        this.releaseChannel();
+    }
+    
+    /**
+     * A sessao http expirou sem logout, o token do canal tambem deixa de valer
+     */
+    @PreDestroy
+    protected void releaseChannel() {
+        this.webSocketSessions.unregister(this.channelToken);
+        this.channelToken = null;
     }
 
     /**
@@ -16,6 +16,7 @@
  */
 package br.com.webbudget.application.controller;
 
+import br.com.webbudget.application.channels.WebSocketSessions;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -39,6 +40,9 @@ public class ViewManagerBean {
     @Inject
     private FacesContext facesContext;
     
+    @Inject
+    private UserSessionBean userSessionBean;
+    
     /**
      * @return a base URL da aplicacao
      */
@@ -87,6 +91,15 @@ public class ViewManagerBean {
         
         builder.append("channels/messages");
         
+        final String token = this.userSessionBean.getChannelToken();
+        
+        if (token != null) {
+            builder.append("?")
+                    .append(WebSocketSessions.CHANNEL_TOKEN)
+                    .append("=")
+                    .append(token);
+        }
+        
         return builder.toString();
     }
 }
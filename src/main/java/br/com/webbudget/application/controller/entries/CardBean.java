@@ -26,6 +26,7 @@ import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.service.CardService;
 import br.com.webbudget.domain.model.service.WalletService;
+import br.com.webbudget.domain.model.projection.CardRow;
 import java.util.List;
 import java.util.Map;
 import javax.faces.view.ViewScoped;
@@ -59,16 +60,16 @@ public class CardBean extends AbstractBean {
     private WalletService walletService;
     
     @Getter
-    private final AbstractLazyModel<Card> cardsModel;
+    private final AbstractLazyModel<CardRow> cardsModel;
 
     /**
      * 
      */
     public CardBean() {
         
-        this.cardsModel = new AbstractLazyModel<Card>() {
+        this.cardsModel = new AbstractLazyModel<CardRow>() {
             @Override
-            public List<Card> load(int first, int pageSize, String sortField, 
+            public List<CardRow> load(int first, int pageSize, String sortField, 
                     SortOrder sortOrder, Map<String, Object> filters) {
                 
                 final PageRequest pageRequest = new PageRequest();
@@ -79,7 +80,7 @@ public class CardBean extends AbstractBean {
                         .sortingBy(sortField, "inclusion")
                         .withDirection(sortOrder.name());
                 
-                final Page<Card> page = cardService.listCards(null, pageRequest);
+                final Page<CardRow> page = cardService.listCards(null, pageRequest);
                 
                 this.setRowCount(page.getTotalPagesInt());
                 
@@ -28,6 +28,7 @@ import br.com.webbudget.application.component.table.AbstractLazyModel;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.service.ContactService;
+import br.com.webbudget.domain.model.projection.ContactRow;
 import java.util.List;
 import java.util.Map;
 import javax.faces.view.ViewScoped;
@@ -64,16 +65,16 @@ public class ContactBean extends AbstractBean {
     private AddressFinder addressFinderService;
 
     @Getter
-    private final AbstractLazyModel<Contact> contactsModel;
+    private final AbstractLazyModel<ContactRow> contactsModel;
     
     /**
      * 
      */
     public ContactBean() {
 
-        this.contactsModel = new AbstractLazyModel<Contact>() {
+        this.contactsModel = new AbstractLazyModel<ContactRow>() {
             @Override
-            public List<Contact> load(int first, int pageSize, String sortField, 
+            public List<ContactRow> load(int first, int pageSize, String sortField, 
                     SortOrder sortOrder, Map<String, Object> filters) {
                 
                 final PageRequest pageRequest = new PageRequest();
@@ -84,7 +85,7 @@ public class ContactBean extends AbstractBean {
                         .sortingBy(sortField, "inclusion")
                         .withDirection(sortOrder.name());
                 
-                final Page<Contact> page = contactService
+                final Page<ContactRow> page = contactService
                         .listContactsLazilyByFilter(filter, null, pageRequest);
                 
                 this.setRowCount(page.getTotalPagesInt());
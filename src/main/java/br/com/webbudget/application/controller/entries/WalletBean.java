@@ -16,7 +16,10 @@
  */
 package br.com.webbudget.application.controller.entries;
 
+import br.com.webbudget.application.component.chart.line.LineChartDatasetBuilder;
+import br.com.webbudget.application.component.chart.line.LineChartModel;
 import br.com.webbudget.application.controller.AbstractBean;
+import br.com.webbudget.domain.misc.TimeSeriesBuilder;
 import br.com.webbudget.domain.model.entity.entries.Wallet;
 import br.com.webbudget.domain.model.entity.entries.WalletBalance;
 import br.com.webbudget.domain.model.entity.entries.WalletType;
@@ -27,6 +30,8 @@ import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.entity.financial.Movement;
 import br.com.webbudget.domain.model.service.MovementService;
 import br.com.webbudget.domain.model.service.WalletService;
+import br.com.webbudget.domain.model.projection.WalletRow;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -52,6 +57,8 @@ import org.primefaces.model.SortOrder;
 @ViewScoped
 public class WalletBean extends AbstractBean {
 
+    private static final int BALANCE_CHART_DAYS = 90;
+
     @Getter
     @Setter
     private WalletBalance selectedBalance;
@@ -61,6 +68,8 @@ public class WalletBean extends AbstractBean {
 
     @Getter
     private List<WalletBalance> walletBalances;
+    @Getter
+    private LineChartModel balanceChartModel;
 
     @Inject
     private WalletService walletService;
@@ -68,16 +77,16 @@ public class WalletBean extends AbstractBean {
     private MovementService movementService;
 
     @Getter
-    private final AbstractLazyModel<Wallet> walletsModel;
+    private final AbstractLazyModel<WalletRow> walletsModel;
 
     /**
      * 
      */
     public WalletBean() {
         
-        this.walletsModel = new AbstractLazyModel<Wallet>() {
+        this.walletsModel = new AbstractLazyModel<WalletRow>() {
             @Override
-            public List<Wallet> load(int first, int pageSize, String sortField, 
+            public List<WalletRow> load(int first, int pageSize, String sortField, 
                     SortOrder sortOrder, Map<String, Object> filters) {
                 
                 final PageRequest pageRequest = new PageRequest();
@@ -88,7 +97,7 @@ public class WalletBean extends AbstractBean {
                         .sortingBy(sortField, "inclusion")
                         .withDirection(sortOrder.name());
                 
-                final Page<Wallet> page = walletService.listWalletsLazily(null, pageRequest);
+                final Page<WalletRow> page = walletService.listWalletsLazily(null, pageRequest);
                 
                 this.setRowCount(page.getTotalPagesInt());
                 
@@ -132,6 +141,42 @@ public class WalletBean extends AbstractBean {
     public void initializeBalanceHistoric(long walletId) {
         this.wallet = this.walletService.findWalletById(walletId);
         this.walletBalances = this.walletService.listBalances(this.wallet);
+        this.initializeBalanceChart();
+    }
+    
+    /**
+     * Monta o grafico de evolucao do saldo nos ultimos dias
+     */
+    private void initializeBalanceChart() {
+        
+        final LocalDate to = LocalDate.now();
+        final LocalDate from = to.minusDays(BALANCE_CHART_DAYS);
+        
+        final LineChartDatasetBuilder<BigDecimal> balanceDatasetBuilder
+                = new LineChartDatasetBuilder<>()
+                .withLabel(this.translate("historic.balance-serie"))
+                .filledByColor("rgba(151,187,205,0.2)")
+                .withStrokeColor("rgba(60,141,188,1)")
+                .withPointColor("rgba(60,141,188,1)")
+                .withPointStrokeColor("#fff")
+                .withPointHighlightFillColor("#fff")
+                .withPointHighlightStroke("rgba(60,141,188,1)");
+        
+        final LineChartModel model = new LineChartModel();
+        
+        this.walletService.listBalancesOverTime(this.wallet, from, to, 
+                TimeSeriesBuilder.Bucket.DAILY).forEach((date, balance) -> {
+            model.addLabel(date.format(TimeSeriesBuilder.Bucket.DAILY.getFormatter()));
+            balanceDatasetBuilder.andData(balance);
+        });
+        
+        model.addDataset(balanceDatasetBuilder.build());
+        
+        this.balanceChartModel = model;
+        
+        if (!model.isEmptyChart()) {
+            this.drawLineChart("balanceChart", model);
+        }
     }
 
     /**
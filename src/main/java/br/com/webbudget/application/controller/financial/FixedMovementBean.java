@@ -30,9 +30,11 @@ import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.service.FinancialPeriodService;
 import br.com.webbudget.domain.model.service.MovementService;
+import br.com.webbudget.domain.model.projection.FixedMovementRow;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import javax.faces.view.ViewScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -75,7 +77,7 @@ public class FixedMovementBean extends AbstractBean {
 
     @Getter
     @Setter
-    private List<FixedMovement> selectedFixedMovements;
+    private List<FixedMovementRow> selectedFixedMovements;
 
     @Inject
     private MovementService movementService;
@@ -85,7 +87,7 @@ public class FixedMovementBean extends AbstractBean {
     @Getter
     private AbstractLazyModel<Launch> launchesModel;
     @Getter
-    private final AbstractLazyModel<FixedMovement> fixedMovementsModel;
+    private final AbstractLazyModel<FixedMovementRow> fixedMovementsModel;
 
     /**
      *
@@ -93,9 +95,9 @@ public class FixedMovementBean extends AbstractBean {
     public FixedMovementBean() {
 
         // model dos movimentos fixos
-        this.fixedMovementsModel = new AbstractLazyModel<FixedMovement>() {
+        this.fixedMovementsModel = new AbstractLazyModel<FixedMovementRow>() {
             @Override
-            public List<FixedMovement> load(int first, int pageSize, String sortField,
+            public List<FixedMovementRow> load(int first, int pageSize, String sortField,
                     SortOrder sortOrder, Map<String, Object> filters) {
 
                 final PageRequest pageRequest = new PageRequest();
@@ -106,7 +108,7 @@ public class FixedMovementBean extends AbstractBean {
                         .sortingBy(sortField, "inclusion")
                         .withDirection(sortOrder.name());
 
-                final Page<FixedMovement> page = movementService
+                final Page<FixedMovementRow> page = movementService
                         .listFixedMovementsByFilter(filter, pageRequest);
 
                 this.setRowCount(page.getTotalPagesInt());
@@ -252,8 +254,10 @@ public class FixedMovementBean extends AbstractBean {
      */
     public void doLaunch() {
         try {
-            this.movementService.launchFixedMovements(
-                    this.selectedFixedMovements, this.financialPeriod);
+            this.movementService.launchFixedMovements(this.selectedFixedMovements
+                    .stream()
+                    .map(row -> this.movementService.findFixedMovementById(row.getId()))
+                    .collect(Collectors.toList()), this.financialPeriod);
             this.addInfo(true, "fixed-movement.launched", 
                     this.financialPeriod.getIdentification());
         } catch (InternalServiceError ex) {
@@ -311,7 +315,8 @@ public class FixedMovementBean extends AbstractBean {
         // se a origem da visualizacao vem da tela de listem, pegamos da lista 
         // de itens da table
         if (this.viewState == ViewState.LISTING) {
-            this.fixedMovement = this.selectedFixedMovements.get(0);
+            this.fixedMovement = this.movementService.findFixedMovementById(
+                    this.selectedFixedMovements.get(0).getId());
         }
 
         // model dos lancamentos do movimento fixo
@@ -39,6 +39,7 @@ import br.com.webbudget.domain.model.service.ContactService;
 import br.com.webbudget.domain.model.service.FinancialPeriodService;
 import br.com.webbudget.domain.model.service.MovementService;
 import br.com.webbudget.domain.model.service.WalletService;
+import br.com.webbudget.domain.model.projection.MovementRow;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -75,6 +76,9 @@ public class MovementBean extends AbstractBean {
     private Movement movement;
     @Getter
     @Setter
+    private MovementRow selectedMovement;
+    @Getter
+    @Setter
     private Apportionment apportionment;
 
     @Getter
@@ -104,7 +108,7 @@ public class MovementBean extends AbstractBean {
     private FinancialPeriodService financialPeriodService;
 
     @Getter
-    private AbstractLazyModel<Movement> movementsModel;
+    private AbstractLazyModel<MovementRow> movementsModel;
 
     @Getter
     @Setter
@@ -357,7 +361,7 @@ public class MovementBean extends AbstractBean {
      */
     public void changeToDetail() {
         this.redirectTo("formMovement.xhtml?faces-redirect=true&movementId="
-                + this.movement.getId() + "&viewState=" + ViewState.DETAILING);
+                + this.selectedMovement.getId() + "&viewState=" + ViewState.DETAILING);
     }
 
     /**
@@ -30,6 +30,7 @@ import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
 import br.com.webbudget.domain.model.service.FinancialPeriodService;
 import br.com.webbudget.domain.model.service.LogbookService;
 import br.com.webbudget.domain.model.service.MovementService;
+import br.com.webbudget.domain.model.projection.RefuelingRow;
 import java.util.List;
 import java.util.Map;
 import javax.faces.view.ViewScoped;
@@ -70,16 +71,16 @@ public class RefuelingBean extends AbstractBean {
     private FinancialPeriodService periodService;
 
     @Getter
-    private final AbstractLazyModel<Refueling> refuelingsModel;
+    private final AbstractLazyModel<RefuelingRow> refuelingsModel;
 
     /**
      * Inicializa o tablemodel 
      */
     public RefuelingBean() {
 
-        this.refuelingsModel = new AbstractLazyModel<Refueling>() {
+        this.refuelingsModel = new AbstractLazyModel<RefuelingRow>() {
             @Override
-            public List<Refueling> load(int first, int pageSize, String sortField,
+            public List<RefuelingRow> load(int first, int pageSize, String sortField,
                     SortOrder sortOrder, Map<String, Object> filters) {
 
                 final PageRequest pageRequest = new PageRequest();
@@ -90,7 +91,7 @@ public class RefuelingBean extends AbstractBean {
                         .sortingBy(sortField, "inclusion")
                         .withDirection(sortOrder.name());
 
-                final Page<Refueling> page
+                final Page<RefuelingRow> page
                         = logbookService.listRefuelingsLazily(null, pageRequest);
 
                 this.setRowCount(page.getTotalPagesInt());
@@ -17,15 +17,18 @@
 package br.com.webbudget.application.controller.miscellany;
 
 import br.com.webbudget.application.controller.AbstractBean;
-import br.com.webbudget.domain.misc.MovementCalculator;
+import br.com.webbudget.application.component.table.MovementsListModel;
+import br.com.webbudget.domain.misc.ClosingCalculator;
 import br.com.webbudget.domain.misc.ex.InternalServiceError;
-import br.com.webbudget.domain.model.entity.financial.Movement;
+import br.com.webbudget.domain.misc.filter.MovementFilter;
 import br.com.webbudget.domain.model.entity.miscellany.Closing;
 import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
 import br.com.webbudget.domain.model.service.ClosingService;
 import br.com.webbudget.domain.model.service.FinancialPeriodService;
-import java.math.BigDecimal;
+import br.com.webbudget.domain.model.service.MovementService;
+import java.util.Arrays;
 import java.util.List;
+import javax.annotation.PostConstruct;
 import javax.faces.view.ViewScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -50,16 +53,33 @@ public class ClosingBean extends AbstractBean {
     private FinancialPeriod financialPeriod;
 
     @Getter
-    private MovementCalculator calculator;
+    private ClosingCalculator calculator;
     
     @Getter
     private List<FinancialPeriod> financialPeriods;
 
+    @Getter
+    private MovementsListModel movementsModel;
+
+    private MovementFilter filter;
+
     @Inject
     private ClosingService closingService;
     @Inject
+    private MovementService movementService;
+    @Inject
     private FinancialPeriodService financialPeriodService;
 
+    /**
+     * Inicializa o model da listagem paginada dos movimentos do periodo
+     */
+    @PostConstruct
+    protected void create() {
+        this.filter = new MovementFilter();
+        this.movementsModel = new MovementsListModel(
+                this.movementService, () -> this.filter);
+    }
+
     /**
      * Inicializa o form do fechamento com os periodos disponiveis para
      * encerramento
@@ -92,9 +112,9 @@ public class ClosingBean extends AbstractBean {
     public void processPeriod() {
 
         try {
-            final List<Movement> movements = 
+            this.calculator = 
                     this.closingService.process(this.financialPeriod);
-            this.calculator = new MovementCalculator(movements);
+            this.filter.setPeriods(Arrays.asList(this.financialPeriod));
             this.updateComponent("periodBox");
         } catch (InternalServiceError ex) {
             this.addError(true, ex.getMessage(), ex.getParameters());
@@ -18,16 +18,16 @@ package br.com.webbudget.application.controller.miscellany;
 
 import br.com.webbudget.application.controller.AbstractBean;
 import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
-import br.com.webbudget.domain.model.entity.financial.Movement;
 import br.com.webbudget.domain.model.entity.entries.MovementClass;
 import br.com.webbudget.domain.model.entity.entries.MovementClassType;
-import br.com.webbudget.domain.misc.MovementCalculator;
+import br.com.webbudget.domain.misc.SummaryCalculator;
 import br.com.webbudget.application.component.chart.donut.DonutChartModel;
 import br.com.webbudget.application.component.chart.line.LineChartModel;
 import br.com.webbudget.domain.model.service.FinancialPeriodService;
-import br.com.webbudget.domain.model.service.MovementService;
+import br.com.webbudget.domain.model.service.MovementSummaryService;
 import br.com.webbudget.domain.model.service.PeriodDetailService;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import javax.faces.view.ViewScoped;
 import javax.inject.Inject;
@@ -49,7 +49,7 @@ public class PeriodDetailBean extends AbstractBean {
     @Getter
     private FinancialPeriod period;
     @Getter
-    private MovementCalculator calculator;
+    private SummaryCalculator calculator;
     
     @Getter
     private DonutChartModel expensesCostCenterModel;
@@ -62,7 +62,7 @@ public class PeriodDetailBean extends AbstractBean {
     private List<MovementClass> expensesClasses;
     
     @Inject
-    private MovementService movementService;
+    private MovementSummaryService movementSummaryService;
     @Inject
     private PeriodDetailService periodDetailService;
     @Inject
@@ -81,10 +81,8 @@ public class PeriodDetailBean extends AbstractBean {
             this.period = this.financialPeriodService
                     .findPeriodById(periodId);
             
-            final List<Movement> movements = this.movementService
-                    .listOnlyMovementsByPeriod(this.period);
-            
-            this.calculator = new MovementCalculator(movements);
+            this.calculator = this.movementSummaryService
+                    .calculatorFor(Collections.singletonList(this.period));
             
             // carrega as classes
             this.loadExpensesByClass();
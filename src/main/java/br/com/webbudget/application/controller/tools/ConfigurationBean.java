@@ -17,11 +17,20 @@
 package br.com.webbudget.application.controller.tools;
 
 import br.com.webbudget.application.controller.AbstractBean;
+import br.com.webbudget.domain.misc.CacheStatistics;
+import br.com.webbudget.domain.misc.EventLaneStatistics;
+import br.com.webbudget.domain.misc.LedgerReport;
 import br.com.webbudget.domain.model.entity.entries.CostCenter;
 import br.com.webbudget.domain.model.entity.entries.MovementClass;
 import br.com.webbudget.domain.model.entity.tools.Configuration;
+import br.com.webbudget.domain.model.service.CacheService;
+import br.com.webbudget.domain.model.service.DashboardService;
 import br.com.webbudget.domain.model.service.ConfigurationService;
+import br.com.webbudget.domain.model.service.MovementIndexService;
 import br.com.webbudget.domain.model.service.MovementService;
+import br.com.webbudget.domain.model.service.MovementSummaryService;
+import br.com.webbudget.domain.model.service.WalletLedgerService;
+import br.com.webbudget.infraestructure.events.EventDispatcher;
 import java.util.List;
 import javax.faces.view.ViewScoped;
 import javax.inject.Inject;
@@ -48,10 +57,34 @@ public class ConfigurationBean extends AbstractBean {
     @Getter
     private List<MovementClass> movementClasses;
     
+    @Getter
+    private List<CacheStatistics> cacheStatistics;
+    @Getter
+    private long dashboardLastBuildTime;
+    @Getter
+    private long dashboardAverageBuildTime;
+    @Getter
+    private List<EventLaneStatistics> eventStatistics;
+    
+    @Getter
+    private LedgerReport ledgerReport;
+    
+    @Inject
+    private CacheService cacheService;
+    @Inject
+    private EventDispatcher eventDispatcher;
+    @Inject
+    private DashboardService dashboardService;
     @Inject
     private MovementService movementService;
     @Inject
     private ConfigurationService configurationService;
+    @Inject
+    private MovementIndexService movementIndexService;
+    @Inject
+    private MovementSummaryService movementSummaryService;
+    @Inject
+    private WalletLedgerService walletLedgerService;
     
     /**
      * Inicializa a configuracao default
@@ -62,6 +95,8 @@ public class ConfigurationBean extends AbstractBean {
 
         this.costCenters = this.movementService.listCostCenters(false);
         
+        this.loadCacheStatistics();
+        
         // se nao houver uma configuracao, cria uma
         if (this.configuration == null) {
             this.configuration = new Configuration();
@@ -87,6 +122,64 @@ public class ConfigurationBean extends AbstractBean {
         } 
     }
     
+    /**
+     * Recalcula do zero a tabela de sumarios dos movimentos
+     */
+    public void doRebuildSummaries() {
+        
+        try {
+            this.movementSummaryService.rebuild();
+            this.addInfo(true, "configuration.summaries-rebuilt");
+        } catch (Exception ex) {
+            this.logger.error(ex.getMessage(), ex);
+            this.addError(true, "error.undefined-error", ex.getMessage());
+        } 
+    }
+    
+    /**
+     * Reconstroi do zero o indice de busca dos movimentos
+     */
+    public void doRebuildSearchIndex() {
+        
+        try {
+            this.movementIndexService.rebuild();
+            this.addInfo(true, "configuration.search-index-rebuilt");
+        } catch (Exception ex) {
+            this.logger.error(ex.getMessage(), ex);
+            this.addError(true, "error.undefined-error", ex.getMessage());
+        } 
+    }
+    
+    /**
+     * Confere o saldo das carteiras contra os seus historicos de saldo
+     */
+    public void doVerifyLedgers() {
+        this.verifyLedgers(false);
+    }
+    
+    /**
+     * Confere o saldo das carteiras e corrige as que nao batem com o razao
+     */
+    public void doCorrectLedgers() {
+        this.verifyLedgers(true);
+    }
+    
+    /**
+     * Limpa o cache de segundo nivel dos cadastros
+     */
+    public void doEvictCache() {
+        
+        try {
+            this.cacheService.evictAll();
+            this.dashboardService.invalidate();
+            this.loadCacheStatistics();
+            this.addInfo(true, "configuration.cache-evicted");
+        } catch (Exception ex) {
+            this.logger.error(ex.getMessage(), ex);
+            this.addError(true, "error.undefined-error", ex.getMessage());
+        } 
+    }
+    
     /**
      * Atualiza o combo de classes quando o usuário selecionar o centro de custo
      */
@@ -94,4 +187,38 @@ public class ConfigurationBean extends AbstractBean {
         this.movementClasses = this.movementService.listMovementClassesByCostCenterAndType(
                 this.configuration.getInvoiceDefaultCostCenter(), null);
     }
+    
+    /**
+     * @param correct se as carteiras inconsistentes devem ser corrigidas
+     */
+    private void verifyLedgers(boolean correct) {
+        
+        try {
+            this.ledgerReport = this.walletLedgerService.verify(correct, 
+                    this.translate("configuration.ledger-correction-reason"));
+            
+            this.addInfo(true, "configuration.ledgers-verified", 
+                    this.ledgerReport.getChecks().size(), 
+                    this.ledgerReport.getInconsistencies().size(), 
+                    this.ledgerReport.getCorrections());
+        } catch (Exception ex) {
+            this.logger.error(ex.getMessage(), ex);
+            this.addError(true, "error.undefined-error", ex.getMessage());
+        } 
+    }
+    
+    /**
+     * Carrega as estatisticas do cache de segundo nivel, do cache da dashboard
+     * e das filas de eventos
+     */
+    private void loadCacheStatistics() {
+        
+        this.cacheStatistics = this.cacheService.listStatistics();
+        this.cacheStatistics.add(this.dashboardService.getStatistics());
+        
+        this.dashboardLastBuildTime = this.dashboardService.getLastBuildTime();
+        this.dashboardAverageBuildTime = this.dashboardService.getAverageBuildTime();
+        
+        this.eventStatistics = this.eventDispatcher.listStatistics();
+    }
 }
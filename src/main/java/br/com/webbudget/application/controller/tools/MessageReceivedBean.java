@@ -23,6 +23,7 @@ import br.com.webbudget.application.controller.AbstractBean;
 import br.com.webbudget.domain.misc.ex.InternalServiceError;
 import br.com.webbudget.domain.model.entity.tools.UserMessage;
 import br.com.webbudget.domain.model.service.MessagingService;
+import br.com.webbudget.domain.model.projection.UserMessageRow;
 import java.util.List;
 import java.util.Map;
 import javax.faces.view.ViewScoped;
@@ -50,21 +51,24 @@ public class MessageReceivedBean extends AbstractBean {
     @Getter
     @Setter
     private UserMessage userMessage;
+    @Getter
+    @Setter
+    private UserMessageRow selectedMessage;
     
     @Inject
     private MessagingService messagingService;
     
     @Getter
-    private final AbstractLazyModel<UserMessage> messagesModel;
+    private final AbstractLazyModel<UserMessageRow> messagesModel;
     
     /**
      *
      */
     public MessageReceivedBean() {
 
-        this.messagesModel = new AbstractLazyModel<UserMessage>() {
+        this.messagesModel = new AbstractLazyModel<UserMessageRow>() {
             @Override
-            public List<UserMessage> load(int first, int pageSize, String sortField,
+            public List<UserMessageRow> load(int first, int pageSize, String sortField,
                     SortOrder sortOrder, Map<String, Object> filters) {
                 
                 // constroi o filtro
@@ -76,7 +80,7 @@ public class MessageReceivedBean extends AbstractBean {
                         .sortingBy(sortField, "inclusion")
                         .withDirection(sortOrder.name());
 
-                final Page<UserMessage> page = messagingService
+                final Page<UserMessageRow> page = messagingService
                         .listReceivedMessages(filter, pageRequest);
                 
                 this.setRowCount(page.getTotalPagesInt());
@@ -129,7 +133,7 @@ public class MessageReceivedBean extends AbstractBean {
      */
     public void changeToDetail() {
         this.redirectTo("detailReceivedMessage.xhtml?faces-redirect=true&id=" 
-                + this.userMessage.getId() + "&viewState=" + ViewState.DETAILING);
+                + this.selectedMessage.getId() + "&viewState=" + ViewState.DETAILING);
     }
     
     /**
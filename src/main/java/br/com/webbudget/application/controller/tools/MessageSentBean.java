@@ -27,6 +27,7 @@ import br.com.webbudget.domain.model.entity.tools.MessagePriorityType;
 import br.com.webbudget.domain.model.security.User;
 import br.com.webbudget.domain.model.service.AccountService;
 import br.com.webbudget.domain.model.service.MessagingService;
+import br.com.webbudget.domain.model.projection.MessageRow;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -55,6 +56,9 @@ public class MessageSentBean extends AbstractBean {
     @Getter
     @Setter
     private Message message;
+    @Getter
+    @Setter
+    private MessageRow selectedMessage;
 
     @Getter
     private List<User> users;
@@ -70,16 +74,16 @@ public class MessageSentBean extends AbstractBean {
     private MessagingService messagingService;
 
     @Getter
-    private final AbstractLazyModel<Message> messagesModel;
+    private final AbstractLazyModel<MessageRow> messagesModel;
 
     /**
      *
      */
     public MessageSentBean() {
        
-        this.messagesModel = new AbstractLazyModel<Message>() {
+        this.messagesModel = new AbstractLazyModel<MessageRow>() {
             @Override
-            public List<Message> load(int first, int pageSize, String sortField,
+            public List<MessageRow> load(int first, int pageSize, String sortField,
                     SortOrder sortOrder, Map<String, Object> filters) {
 
                 // constroi o filtro
@@ -91,7 +95,7 @@ public class MessageSentBean extends AbstractBean {
                         .sortingBy(sortField, "inclusion")
                         .withDirection(sortOrder.name());
 
-                final Page<Message> page = messagingService
+                final Page<MessageRow> page = messagingService
                         .listSentMessages(filter, pageRequest);
 
                 this.setRowCount(page.getTotalPagesInt());
@@ -190,7 +194,7 @@ public class MessageSentBean extends AbstractBean {
      */
     public void changeToDetail() {
         this.redirectTo("detailSentMessage.xhtml?faces-redirect=true&id="
-                + this.message.getId() + "&viewState=" + ViewState.DETAILING);
+                + this.selectedMessage.getId() + "&viewState=" + ViewState.DETAILING);
     }
 
     /**
@@ -16,8 +16,11 @@
  */
 package br.com.webbudget.application.producer;
 
+import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
 import java.util.Properties;
+import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Produces;
+import javax.faces.application.ProjectStage;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.runtime.RuntimeConstants;
@@ -28,17 +31,22 @@ import org.apache.velocity.tools.generic.NumberTool;
 /**
  * Producer de instancias do motor de template do velocity
  * 
+ * O motor e unico para toda a aplicacao, assim ele e iniciado uma vez so e os
+ * templates compilados ficam no cache dele. Em desenvolvimento o cache confere
+ * de tempos em tempos se o template mudou e recarrega ele
+ * 
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 2.0.0, 21/05/2015
  */
 public class VelocityProducer {
 
     /**
-     * @return produz uma instancia do velocity template para uso no sistema
+     * @return produz a instancia do velocity template para uso no sistema
      */
     @Produces
+    @ApplicationScoped
     VelocityEngine produceEngine() {
 
         final VelocityEngine engine = new VelocityEngine();
@@ -47,6 +55,12 @@ public class VelocityProducer {
         engine.setProperty(RuntimeConstants.RESOURCE_LOADER, "class");
         engine.setProperty("class.resource.loader.class", ClasspathResourceLoader.class.getName());
 
+        // templates compilados ficam em cache, so conferimos alteracoes 
+        // nos arquivos quando estamos em desenvolvimento
+        engine.setProperty("class.resource.loader.cache", "true");
+        engine.setProperty("class.resource.loader.modificationCheckInterval",
+                this.isDevelopment() ? "2" : "0");
+
         final Properties properties = new Properties();
 
         // joga os logs do velocity no log do server
@@ -74,4 +88,12 @@ public class VelocityProducer {
 
         return context;
     }
+
+    /**
+     * @return se a aplicacao esta rodando em desenvolvimento
+     */
+    private boolean isDevelopment() {
+        return ProjectStage.Development.name().equals(
+                ApplicationUtils.getConfiguration("application.stage"));
+    }
 }
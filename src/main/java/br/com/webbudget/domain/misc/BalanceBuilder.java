@@ -117,6 +117,17 @@ public final class BalanceBuilder {
         return this;
     }
     
+    /**
+     * Marca o saldo como reconciliacao do razao, ele corrige o saldo gravado 
+     * da carteira mas nao entra no recalculo do razao
+     * 
+     * @return o builder
+     */
+    public BalanceBuilder asReconciliation() {
+        this.walletBalance.setReconciliation(true);
+        return this;
+    }
+    
     /**
      * @return o saldo
      */
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.misc;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Retrato das estatisticas de uso de uma regiao do cache de segundo nivel
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ToString
+public class CacheStatistics {
+
+    @Getter
+    private final String region;
+    @Getter
+    private final long hits;
+    @Getter
+    private final long misses;
+    @Getter
+    private final long puts;
+    @Getter
+    private final long elements;
+
+    /**
+     *
+     * @param region
+     * @param hits
+     * @param misses
+     * @param puts
+     * @param elements
+     */
+    public CacheStatistics(String region, long hits, long misses, long puts, long elements) {
+        this.region = region;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.elements = elements;
+    }
+
+    /**
+     * @return o percentual de acertos sobre o total de leituras da regiao
+     */
+    public double getHitRatio() {
+        final long reads = this.hits + this.misses;
+        return reads == 0 ? 0 : (this.hits * 100d) / reads;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.misc;
+
+import br.com.webbudget.domain.model.entity.entries.MovementClassType;
+import br.com.webbudget.domain.model.entity.financial.MovementType;
+import br.com.webbudget.domain.model.entity.financial.PaymentMethodType;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Calculadora do fechamento, diferente da {@link MovementCalculator} ela nao
+ * guarda os movimentos, apenas acumula os totais em uma unica passada conforme
+ * os valores sao lidos do banco. E tambem o acumulador usado pela 
+ * {@link MovementCalculator} e pela {@link SummaryCalculator}, assim as regras
+ * de cada total ficam em um so lugar. Os totais sao somados em ponto fixo pelo
+ * {@link MoneyAccumulator}
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public class ClosingCalculator implements Serializable {
+
+    private long movementsCount;
+
+    private final MoneyAccumulator revenuesTotal;
+    private final MoneyAccumulator expensesTotal;
+    private final MoneyAccumulator cardInvoicesTotal;
+    private final MoneyAccumulator totalPaidOnCreditCard;
+    private final MoneyAccumulator totalPaidOnDebitCard;
+
+    /**
+     *
+     */
+    public ClosingCalculator() {
+        this.movementsCount = 0;
+        this.revenuesTotal = new MoneyAccumulator();
+        this.expensesTotal = new MoneyAccumulator();
+        this.cardInvoicesTotal = new MoneyAccumulator();
+        this.totalPaidOnCreditCard = new MoneyAccumulator();
+        this.totalPaidOnDebitCard = new MoneyAccumulator();
+    }
+
+    /**
+     * Acumula um movimento nos totais seguindo as mesmas regras da
+     * {@link MovementCalculator}
+     *
+     * @param value o valor do movimento
+     * @param movementType o tipo do movimento
+     * @param paymentMethodType a forma de pagamento, se houver
+     * @param direction a direcao das classes do movimento, se houver
+     */
+    public void add(BigDecimal value, MovementType movementType,
+            PaymentMethodType paymentMethodType, MovementClassType direction) {
+
+        ++this.movementsCount;
+
+        if (value == null) {
+            return;
+        }
+
+        final boolean cardInvoice = movementType == MovementType.CARD_INVOICE;
+
+        if (cardInvoice) {
+            this.cardInvoicesTotal.add(value);
+        }
+
+        if (direction == MovementClassType.IN) {
+            this.revenuesTotal.add(value);
+        } else if (direction == MovementClassType.OUT) {
+            if (!cardInvoice) {
+                this.expensesTotal.add(value);
+            }
+            if (paymentMethodType == PaymentMethodType.CREDIT_CARD) {
+                this.totalPaidOnCreditCard.add(value);
+            } else if (paymentMethodType == PaymentMethodType.DEBIT_CARD) {
+                this.totalPaidOnDebitCard.add(value);
+            }
+        }
+    }
+
+    /**
+     * @return o total de receitas
+     */
+    public BigDecimal getRevenuesTotal() {
+        return this.revenuesTotal.toBigDecimal();
+    }
+
+    /**
+     * @return o total de despesas
+     */
+    public BigDecimal getExpensesTotal() {
+        return this.expensesTotal.toBigDecimal();
+    }
+
+    /**
+     * @return o valor total de todas as faturas de cartao
+     */
+    public BigDecimal getCardInvoicesTotal() {
+        return this.cardInvoicesTotal.toBigDecimal();
+    }
+
+    /**
+     * @return o total pago no cartao de credito
+     */
+    public BigDecimal getTotalPaidOnCreditCard() {
+        return this.totalPaidOnCreditCard.toBigDecimal();
+    }
+
+    /**
+     * @return o total pago no cartao de debito
+     */
+    public BigDecimal getTotalPaidOnDebitCard() {
+        return this.totalPaidOnDebitCard.toBigDecimal();
+    }
+
+    /**
+     * @return o saldo, receitas menos despesas
+     */
+    public BigDecimal getBalance() {
+        return this.getRevenuesTotal().subtract(this.getExpensesTotal());
+    }
+
+    /**
+     * @return se o saldo e negativo ou nao
+     */
+    public boolean isBalanceNegative() {
+        return this.getBalance().signum() < 0;
+    }
+
+    /**
+     * @return a quantidade de movimentos acumulados
+     */
+    public long getMovementsCount() {
+        return this.movementsCount;
+    }
+
+    /**
+     * @return se nossa calculadora tem ou nao movimentos para o calculo
+     */
+    public boolean isValid() {
+        return this.movementsCount > 0;
+    }
+
+    /**
+     * @param other a outra calculadora
+     * @return se as duas acumularam os mesmos movimentos e chegaram aos 
+     * mesmos totais
+     */
+    public boolean hasSameTotals(ClosingCalculator other) {
+        return this.movementsCount == other.movementsCount
+                && this.getRevenuesTotal().compareTo(other.getRevenuesTotal()) == 0
+                && this.getExpensesTotal().compareTo(other.getExpensesTotal()) == 0
+                && this.getCardInvoicesTotal().compareTo(other.getCardInvoicesTotal()) == 0
+                && this.getTotalPaidOnCreditCard().compareTo(other.getTotalPaidOnCreditCard()) == 0
+                && this.getTotalPaidOnDebitCard().compareTo(other.getTotalPaidOnDebitCard()) == 0;
+    }
+}
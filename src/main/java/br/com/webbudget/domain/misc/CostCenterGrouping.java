@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.misc;
+
+import br.com.webbudget.domain.model.entity.entries.CostCenter;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Agrupa valores por centro de custo em uma unica passada, somando cada 
+ * elemento direto no total do seu centro de custo
+ * 
+ * O agrupamento e sempre sequencial: os elementos podem carregar proxies do
+ * hibernate e a sessao nao pode ser usada por outras threads
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 2.3.0, 17/10/2026
+ */
+public final class CostCenterGrouping {
+
+    /**
+     * 
+     */
+    private CostCenterGrouping() { }
+
+    /**
+     * Soma os valores dos elementos por centro de custo
+     * 
+     * @param <T> o tipo dos elementos
+     * @param elements os elementos
+     * @param costCenterMapper a funcao que extrai o centro de custo
+     * @param valueMapper a funcao que extrai o valor
+     * @return o mapa de centro de custo X total
+     */
+    public static <T> Map<CostCenter, BigDecimal> group(Collection<T> elements, 
+            Function<T, CostCenter> costCenterMapper, 
+            Function<T, BigDecimal> valueMapper) {
+        return elements.stream().collect(Collectors.groupingBy(
+                costCenterMapper, MoneyAccumulator.summing(valueMapper)));
+    }
+}
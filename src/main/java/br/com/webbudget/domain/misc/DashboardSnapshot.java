@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.misc;
+
+import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Retrato dos numeros da dashboard para um conjunto de periodos em aberto, e
+ * imutavel e compartilhado entre todos que abrirem a dashboard ate que algum 
+ * evento de movimentacao ou periodo invalide o cache
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public final class DashboardSnapshot {
+
+    @Getter
+    private final long generation;
+    @Getter
+    private final long buildTime;
+    
+    @Getter
+    private final SummaryCalculator calculator;
+    @Getter
+    private final BigDecimal accumulated;
+    @Getter
+    private final BigDecimal totalRevenueGoal;
+    @Getter
+    private final BigDecimal totalExpensesGoal;
+    @Getter
+    private final BigDecimal totalCreditCardGoal;
+    @Getter
+    private final List<FinancialPeriod> closedPeriods;
+
+    /**
+     * 
+     * @param generation a geracao do cache em que os dados foram lidos
+     * @param buildTime o tempo para montar os dados, em milisegundos
+     * @param calculator a calculadora dos periodos em aberto
+     * @param accumulated o saldo acumulado
+     * @param totalRevenueGoal a meta de receitas
+     * @param totalExpensesGoal a meta de despesas
+     * @param totalCreditCardGoal a meta de gastos no cartao de credito
+     * @param closedPeriods os ultimos periodos encerrados
+     */
+    public DashboardSnapshot(long generation, long buildTime, 
+            SummaryCalculator calculator, BigDecimal accumulated, 
+            BigDecimal totalRevenueGoal, BigDecimal totalExpensesGoal, 
+            BigDecimal totalCreditCardGoal, List<FinancialPeriod> closedPeriods) {
+        this.generation = generation;
+        this.buildTime = buildTime;
+        this.calculator = calculator;
+        this.accumulated = accumulated;
+        this.totalRevenueGoal = totalRevenueGoal;
+        this.totalExpensesGoal = totalExpensesGoal;
+        this.totalCreditCardGoal = totalCreditCardGoal;
+        this.closedPeriods = Collections.unmodifiableList(closedPeriods);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.misc;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Retrato das estatisticas de uma fila de eventos assincronos
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ToString
+public class EventLaneStatistics {
+
+    @Getter
+    private final String lane;
+    @Getter
+    private final int pending;
+    @Getter
+    private final long handled;
+    @Getter
+    private final long failed;
+    @Getter
+    private final long inlined;
+    @Getter
+    private final long averageLatency;
+    @Getter
+    private final long maxLatency;
+
+    /**
+     *
+     * @param lane
+     * @param pending
+     * @param handled
+     * @param failed
+     * @param inlined
+     * @param averageLatency
+     * @param maxLatency
+     */
+    public EventLaneStatistics(String lane, int pending, long handled, long failed, 
+            long inlined, long averageLatency, long maxLatency) {
+        this.lane = lane;
+        this.pending = pending;
+        this.handled = handled;
+        this.failed = failed;
+        this.inlined = inlined;
+        this.averageLatency = averageLatency;
+        this.maxLatency = maxLatency;
+    }
+}
@@ -54,8 +54,7 @@ public class InvoiceCalculator {
      */
     public BigDecimal getInvoicesTotal() {
         return this.cardInvoices.stream()
-                .map(CardInvoice::getTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                .collect(MoneyAccumulator.summing(CardInvoice::getTotal));
     }
     
     /**
@@ -63,9 +62,8 @@ public class InvoiceCalculator {
      */
     public BigDecimal getLowerTotal() {
         return this.cardInvoices.stream()
-                .sorted((i1, i2) -> i1.getTotal().compareTo(i2.getTotal()))
                 .map(CardInvoice::getTotal)
-                .findFirst()
+                .min(BigDecimal::compareTo)
                 .orElse(BigDecimal.ZERO);
     }
     
@@ -74,9 +72,8 @@ public class InvoiceCalculator {
      */
     public BigDecimal getHigherTotal() {
         return this.cardInvoices.stream()
-                .sorted((i1, i2) -> i2.getTotal().compareTo(i1.getTotal()))
                 .map(CardInvoice::getTotal)
-                .findFirst()
+                .max(BigDecimal::compareTo)
                 .orElse(BigDecimal.ZERO);
     }
     
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.misc;
+
+import br.com.webbudget.domain.model.entity.entries.Wallet;
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Resultado da conferencia do razao de uma carteira, compara o saldo gravado 
+ * na carteira com o saldo recalculado a partir dos seus historicos de saldo
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ToString
+public class LedgerCheck {
+
+    @Getter
+    private final Wallet wallet;
+    @Getter
+    private final BigDecimal storedBalance;
+    @Getter
+    private final BigDecimal ledgerBalance;
+    @Getter
+    private final long entries;
+    @Getter
+    private final long chainBreaks;
+    @Getter
+    private final boolean corrected;
+
+    /**
+     *
+     * @param wallet
+     * @param storedBalance
+     * @param ledgerBalance
+     * @param entries
+     * @param chainBreaks
+     */
+    public LedgerCheck(Wallet wallet, BigDecimal storedBalance, 
+            BigDecimal ledgerBalance, long entries, long chainBreaks) {
+        this(wallet, storedBalance, ledgerBalance, entries, chainBreaks, false);
+    }
+
+    /**
+     *
+     * @param wallet
+     * @param storedBalance
+     * @param ledgerBalance
+     * @param entries
+     * @param chainBreaks
+     * @param corrected
+     */
+    private LedgerCheck(Wallet wallet, BigDecimal storedBalance, 
+            BigDecimal ledgerBalance, long entries, long chainBreaks, boolean corrected) {
+        this.wallet = wallet;
+        this.storedBalance = storedBalance;
+        this.ledgerBalance = ledgerBalance;
+        this.entries = entries;
+        this.chainBreaks = chainBreaks;
+        this.corrected = corrected;
+    }
+
+    /**
+     * @return a diferenca que falta no saldo gravado para bater com o razao
+     */
+    public BigDecimal getDifference() {
+        return this.ledgerBalance.subtract(this.storedBalance);
+    }
+
+    /**
+     * @return se o saldo gravado bate com o razao
+     */
+    public boolean isConsistent() {
+        return this.storedBalance.compareTo(this.ledgerBalance) == 0;
+    }
+
+    /**
+     * @return esta mesma conferencia marcada como corrigida
+     */
+    public LedgerCheck asCorrected() {
+        return new LedgerCheck(this.wallet, this.storedBalance, 
+                this.ledgerBalance, this.entries, this.chainBreaks, true);
+    }
+}
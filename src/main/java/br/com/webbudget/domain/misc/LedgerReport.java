@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.misc;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Relatorio da conferencia dos razoes de todas as carteiras
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ToString
+public class LedgerReport {
+
+    @Getter
+    private final List<LedgerCheck> checks;
+    @Getter
+    private final long elapsedTime;
+
+    /**
+     *
+     * @param checks
+     * @param elapsedTime
+     */
+    public LedgerReport(List<LedgerCheck> checks, long elapsedTime) {
+        this.checks = Collections.unmodifiableList(checks);
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * @return as conferencias em que o saldo nao bate com o razao
+     */
+    public List<LedgerCheck> getInconsistencies() {
+        return this.checks.stream()
+                .filter(check -> !check.isConsistent())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return o total de historicos de saldo lidos
+     */
+    public long getTotalEntries() {
+        return this.checks.stream()
+                .mapToLong(LedgerCheck::getEntries)
+                .sum();
+    }
+
+    /**
+     * @return quantas carteiras foram corrigidas
+     */
+    public long getCorrections() {
+        return this.checks.stream()
+                .filter(LedgerCheck::isCorrected)
+                .count();
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.misc;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Acumulador de valores monetarios em ponto fixo. A soma e feita em um long
+ * com a escala do maior valor somado, sem criar um novo BigDecimal a cada 
+ * passo como faz o BigDecimal::add. Se a soma estourar o long, ou chegar um 
+ * valor que nao caiba nele, o acumulador passa a somar em BigDecimal para que
+ * o resultado continue exato
+ * 
+ * Cada valor ainda passa por um BigInteger na leitura do unscaledValue, que o
+ * JIT costuma eliminar quando a chamada e inlinada, mas nao ha garantia de 
+ * alocacao zero
+ * 
+ * O resultado e identico ao de reduce(BigDecimal.ZERO, BigDecimal::add), 
+ * inclusive na escala
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public final class MoneyAccumulator implements Serializable {
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 
+        100000000L, 1000000000L, 10000000000L, 100000000000L, 
+        1000000000000L, 10000000000000L, 100000000000000L, 
+        1000000000000000L, 10000000000000000L, 100000000000000000L, 
+        1000000000000000000L
+    };
+    
+    private long unscaled;
+    private int scale;
+    
+    private BigDecimal exact;
+
+    /**
+     * Soma um valor ao acumulador
+     * 
+     * @param value o valor, nao pode ser nulo
+     * @return este acumulador
+     */
+    public MoneyAccumulator add(BigDecimal value) {
+        
+        if (this.exact != null) {
+            this.exact = this.exact.add(value);
+            return this;
+        }
+        
+        final int valueScale = value.scale();
+        
+        if (valueScale < 0 || valueScale >= POWERS_OF_TEN.length) {
+            return this.overflow(value);
+        }
+        
+        // lemos o valor sem escala direto, para os valores compactos o 
+        // BigInteger e so um envelope do long que o JIT costuma eliminar
+        final BigInteger valueUnscaled = value.unscaledValue();
+        
+        if (valueUnscaled.bitLength() > 63) {
+            return this.overflow(value);
+        }
+        
+        return this.add(valueUnscaled.longValue(), valueScale) 
+                ? this : this.overflow(value);
+    }
+    
+    /**
+     * Junta outro acumulador a este
+     * 
+     * @param other o outro acumulador
+     * @return este acumulador
+     */
+    public MoneyAccumulator combine(MoneyAccumulator other) {
+        
+        if (this.exact == null && other.exact == null 
+                && this.add(other.unscaled, other.scale)) {
+            return this;
+        }
+        return this.add(other.toBigDecimal());
+    }
+    
+    /**
+     * @return o total acumulado
+     */
+    public BigDecimal toBigDecimal() {
+        return this.exact != null 
+                ? this.exact : BigDecimal.valueOf(this.unscaled, this.scale);
+    }
+    
+    /**
+     * @return se o acumulador saiu do long e esta somando em BigDecimal
+     */
+    public boolean isOverflowed() {
+        return this.exact != null;
+    }
+    
+    /**
+     * Soma um valor ja sem escala ao total em long
+     * 
+     * @param valueUnscaled o valor sem escala
+     * @param valueScale a escala do valor
+     * @return se a soma coube no long, se nao o total fica como estava
+     */
+    private boolean add(long valueUnscaled, int valueScale) {
+        
+        // mesma escala, o caso comum com valores monetarios, e so somar
+        if (valueScale == this.scale) {
+            final long sum = this.unscaled + valueUnscaled;
+            
+            // estouro quando os dois tem o mesmo sinal e a soma outro
+            if (((this.unscaled ^ sum) & (valueUnscaled ^ sum)) < 0) {
+                return false;
+            }
+            this.unscaled = sum;
+            return true;
+        }
+        
+        try {
+            long current = this.unscaled;
+            int targetScale = this.scale;
+            
+            // alinhamos as escalas pela maior, como faz o BigDecimal
+            if (valueScale > targetScale) {
+                current = Math.multiplyExact(current, 
+                        POWERS_OF_TEN[valueScale - targetScale]);
+                targetScale = valueScale;
+            } else {
+                valueUnscaled = Math.multiplyExact(valueUnscaled, 
+                        POWERS_OF_TEN[targetScale - valueScale]);
+            }
+            
+            this.unscaled = Math.addExact(current, valueUnscaled);
+            this.scale = targetScale;
+            return true;
+        } catch (ArithmeticException ex) {
+            return false;
+        }
+    }
+    
+    /**
+     * Passa a somar em BigDecimal a partir do total atual
+     * 
+     * @param value o valor que nao coube no long
+     * @return este acumulador
+     */
+    private MoneyAccumulator overflow(BigDecimal value) {
+        this.exact = BigDecimal.valueOf(this.unscaled, this.scale).add(value);
+        return this;
+    }
+
+    /**
+     * @return um collector que soma os valores do stream
+     */
+    public static Collector<BigDecimal, MoneyAccumulator, BigDecimal> summing() {
+        return Collector.of(MoneyAccumulator::new, MoneyAccumulator::add,
+                MoneyAccumulator::combine, MoneyAccumulator::toBigDecimal);
+    }
+    
+    /**
+     * @param <T> o tipo dos elementos do stream
+     * @param mapper a funcao que extrai o valor de cada elemento
+     * @return um collector que soma os valores extraidos dos elementos
+     */
+    public static <T> Collector<T, MoneyAccumulator, BigDecimal> summing(
+            Function<? super T, BigDecimal> mapper) {
+        return Collector.of(MoneyAccumulator::new, 
+                (accumulator, element) -> accumulator.add(mapper.apply(element)),
+                MoneyAccumulator::combine, MoneyAccumulator::toBigDecimal);
+    }
+}
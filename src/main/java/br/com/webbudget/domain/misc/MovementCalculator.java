@@ -33,78 +33,78 @@ import java.util.List;
 public class MovementCalculator {
 
     private final List<Movement> movements;
+    
+    private final ClosingCalculator totals;
+    private final BigDecimal balance;
 
     /**
+     * Todos os totais sao calculados aqui, em uma unica passada pelos 
+     * movimentos, os getters apenas devolvem os valores ja calculados
      * 
      * @param movements 
      */
     public MovementCalculator(List<Movement> movements) {
+        
         this.movements = movements;
+        this.totals = new ClosingCalculator();
+        
+        if (movements != null) {
+            for (Movement movement : movements) {
+                this.totals.add(movement.getValue(), movement.getMovementType(), 
+                        movement.getPaymentMethodType(), movement.getDirection());
+            }
+        }
+        
+        this.balance = this.totals.getBalance();
     }
     
     /**
      * @return o total de receitas
      */
     public BigDecimal getRevenuesTotal() {
-        return this.movements.stream()
-                .filter(Movement::isRevenue)
-                .map(Movement::getValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return this.totals.getRevenuesTotal();
     }
     
     /**
      * @return o total de despesas
      */
     public BigDecimal getExpensesTotal() {
-        return this.movements.stream()
-                .filter(Movement::isExpense)
-                .filter(Movement::isNotCardInvoice)
-                .map(Movement::getValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return this.totals.getExpensesTotal();
     }
     
     /**
      * @return o valor total de todas as faturas de cartao
      */
     public BigDecimal getCardInvoicesTotal() {
-        return this.movements.stream()
-                .filter(Movement::isCardInvoice)
-                .map(Movement::getValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return this.totals.getCardInvoicesTotal();
     }
     
     /**
      * @return o total pago no cartao de credito
      */
     public BigDecimal getTotalPaidOnCreditCard() {
-        return this.movements.stream()
-                .filter(Movement::isPaidOnCreditCard)
-                .map(Movement::getValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return this.totals.getTotalPaidOnCreditCard();
     }
     
     /**
      * @return o total pago no cartao de debito
      */
     public BigDecimal getTotalPaidOnDebitCard() {
-        return this.movements.stream()
-                .filter(Movement::isPaidOnDebitCard)
-                .map(Movement::getValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return this.totals.getTotalPaidOnDebitCard();
     }
 
     /**
      * @return o saldo, receitas menos despesas
      */
     public BigDecimal getBalance() {
-        return this.getRevenuesTotal().subtract(this.getExpensesTotal());
+        return this.balance;
     }
     
     /**
      * @return se o saldo e negativo ou nao
      */
     public boolean isBalanceNegative() {
-        return this.getBalance().signum() < 0;
+        return this.balance.signum() < 0;
     }
     
     /**
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2015 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.misc;
+
+import br.com.webbudget.domain.model.entity.financial.MovementSummary;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Equivalente a {@link MovementCalculator} mas alimentada pelas linhas 
+ * pre-agregadas de {@link MovementSummary}, assim nao precisamos carregar os 
+ * movimentos para calcular os totais dos periodos
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public class SummaryCalculator {
+
+    private final List<MovementSummary> summaries;
+    
+    private final ClosingCalculator totals;
+    private final BigDecimal balance;
+
+    /**
+     * Os totais sao calculados aqui em uma unica passada pelas linhas, os 
+     * getters apenas devolvem os valores ja calculados
+     * 
+     * @param summaries 
+     */
+    public SummaryCalculator(List<MovementSummary> summaries) {
+        
+        this.summaries = summaries;
+        this.totals = new ClosingCalculator();
+        
+        if (summaries != null) {
+            for (MovementSummary summary : summaries) {
+                this.totals.add(summary.getTotal(), summary.getMovementType(), 
+                        summary.getPaymentMethodType(), summary.getDirection());
+            }
+        }
+        
+        this.balance = this.totals.getBalance();
+    }
+    
+    /**
+     * @return o total de receitas
+     */
+    public BigDecimal getRevenuesTotal() {
+        return this.totals.getRevenuesTotal();
+    }
+    
+    /**
+     * @return o total de despesas
+     */
+    public BigDecimal getExpensesTotal() {
+        return this.totals.getExpensesTotal();
+    }
+    
+    /**
+     * @return o total pago no cartao de credito
+     */
+    public BigDecimal getTotalPaidOnCreditCard() {
+        return this.totals.getTotalPaidOnCreditCard();
+    }
+    
+    /**
+     * @return o total pago no cartao de debito
+     */
+    public BigDecimal getTotalPaidOnDebitCard() {
+        return this.totals.getTotalPaidOnDebitCard();
+    }
+
+    /**
+     * @return o saldo, receitas menos despesas
+     */
+    public BigDecimal getBalance() {
+        return this.balance;
+    }
+    
+    /**
+     * @return se o saldo e negativo ou nao
+     */
+    public boolean isBalanceNegative() {
+        return this.balance.signum() < 0;
+    }
+    
+    /**
+     * @return se nossa calculadora tem ou nao dados para o calculo
+     */
+    public boolean isValid() {
+        return this.summaries != null && !this.summaries.isEmpty();
+    }
+
+    /**
+     * @return as linhas de sumario que alimentam esta calculadora
+     */
+    public List<MovementSummary> getSummaries() {
+        return Collections.unmodifiableList(this.summaries);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.misc;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Builder de series temporais para os graficos. Os valores sao agrupados em 
+ * uma unica passada dentro de um mapa ordenado pela data do intervalo, assim
+ * montar as series custa o mesmo independente de quantas datas o periodo tem
+ *
+ * @param <K> o tipo da chave que identifica cada serie
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public final class TimeSeriesBuilder<K> {
+
+    private final Bucket bucket;
+    private final TreeMap<LocalDate, Map<K, MoneyAccumulator>> values;
+
+    /**
+     * Cria um builder com intervalos diarios
+     */
+    public TimeSeriesBuilder() {
+        this(Bucket.DAILY);
+    }
+    
+    /**
+     * @param bucket o tamanho do intervalo de agrupamento das datas
+     */
+    public TimeSeriesBuilder(Bucket bucket) {
+        this.bucket = bucket;
+        this.values = new TreeMap<>();
+    }
+
+    /**
+     * Soma um valor na serie dentro do intervalo da data informada, valores
+     * sem data ou sem valor sao ignorados
+     * 
+     * @param serie a serie
+     * @param date a data do valor
+     * @param value o valor
+     * @return o builder
+     */
+    public TimeSeriesBuilder<K> add(K serie, LocalDate date, BigDecimal value) {
+        
+        if (date == null || value == null) {
+            return this;
+        }
+        
+        this.values.computeIfAbsent(this.bucket.truncate(date), 
+                key -> new HashMap<>(4))
+                .computeIfAbsent(serie, key -> new MoneyAccumulator())
+                .add(value);
+        return this;
+    }
+    
+    /**
+     * Soma todos os elementos de uma lista em uma serie
+     * 
+     * @param <T> o tipo dos elementos
+     * @param serie a serie
+     * @param elements os elementos
+     * @param dateMapper a funcao que extrai a data de cada elemento
+     * @param valueMapper a funcao que extrai o valor de cada elemento
+     * @return o builder
+     */
+    public <T> TimeSeriesBuilder<K> addAll(K serie, List<T> elements, 
+            Function<T, LocalDate> dateMapper, Function<T, BigDecimal> valueMapper) {
+        elements.forEach(element -> this.add(serie, 
+                dateMapper.apply(element), valueMapper.apply(element)));
+        return this;
+    }
+
+    /**
+     * @return as datas de inicio de cada intervalo, em ordem
+     */
+    public List<LocalDate> getDates() {
+        return new ArrayList<>(this.values.keySet());
+    }
+    
+    /**
+     * @return os rotulos de cada intervalo, na mesma ordem das datas
+     */
+    public List<String> getLabels() {
+        
+        final List<String> labels = new ArrayList<>(this.values.size());
+        
+        this.values.keySet().forEach(date -> 
+                labels.add(this.bucket.getFormatter().format(date)));
+        
+        return labels;
+    }
+    
+    /**
+     * Os valores de uma serie alinhados com as datas, intervalos em que a serie
+     * nao tem valor ficam zerados
+     * 
+     * @param serie a serie
+     * @return os valores da serie
+     */
+    public List<BigDecimal> getValues(K serie) {
+        
+        final List<BigDecimal> serieValues = new ArrayList<>(this.values.size());
+        
+        this.values.values().forEach(series -> {
+            final MoneyAccumulator accumulator = series.get(serie);
+            serieValues.add(accumulator != null 
+                    ? accumulator.toBigDecimal() : BigDecimal.ZERO);
+        });
+        
+        return serieValues;
+    }
+    
+    /**
+     * Os tamanhos de intervalo suportados pelo builder
+     */
+    public enum Bucket {
+        
+        DAILY("dd/MM") {
+            @Override
+            public LocalDate truncate(LocalDate date) {
+                return date;
+            }
+        },
+        WEEKLY("dd/MM") {
+            @Override
+            public LocalDate truncate(LocalDate date) {
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            }
+        },
+        MONTHLY("MM/yyyy") {
+            @Override
+            public LocalDate truncate(LocalDate date) {
+                return date.withDayOfMonth(1);
+            }
+        };
+        
+        private final DateTimeFormatter formatter;
+
+        /**
+         * @param pattern o padrao do rotulo do intervalo
+         */
+        private Bucket(String pattern) {
+            this.formatter = DateTimeFormatter.ofPattern(pattern);
+        }
+
+        /**
+         * @return o formatador dos rotulos do intervalo
+         */
+        public DateTimeFormatter getFormatter() {
+            return this.formatter;
+        }
+        
+        /**
+         * @param date a data
+         * @return a data de inicio do intervalo que contem a data informada
+         */
+        public abstract LocalDate truncate(LocalDate date);
+    }
+}
@@ -26,7 +26,10 @@ import java.lang.annotation.Target;
 import javax.inject.Qualifier;
 
 /**
- * Qualificador para indicar um evento de delecao de algum movimento
+ * Qualificador para indicar um evento de criacao de algum movimento
+ *
+ * Quem dispara depende do movimento criado dentro da sua propria transacao,
+ * entao este evento e tratado de forma sincrona
  *
  * @author Arthur Gregorio
  *
@@ -28,6 +28,9 @@ import javax.inject.Qualifier;
 /**
  * Qualificador para indicar um evento de delecao de algum movimento
  *
+ * A exclusao deve acontecer ou falhar junto com o registro que a pediu, entao
+ * este evento e tratado de forma sincrona
+ *
  * @author Arthur Gregorio
  *
  * @version 1.0.0
@@ -28,6 +28,9 @@ import javax.inject.Qualifier;
 /**
  * Qualificador para identificarmos eventos de edicao de saldo das carteiras
  *
+ * O saldo precisa mudar junto com o que causou a mudanca, por isso este evento
+ * e sempre tratado de forma sincrona, dentro da transacao de quem disparou
+ *
  * @author Arthur Gregorio
  *
  * @version 1.0.0
@@ -43,7 +43,7 @@ import org.hibernate.criterion.Restrictions;
  * @version 2.0.0
  * @since 1.0.0, 14/09/2015
  */
-@ToString
+@ToString(exclude = "candidates")
 public final class MovementFilter {
 
     @Getter
@@ -53,6 +53,10 @@ public final class MovementFilter {
     @Getter
     @Setter
     private List<FinancialPeriod> periods;
+    
+    @Getter
+    @Setter
+    private List<Long> candidates;
 
     private Optional<MovementType> movementType;
     private Optional<MovementStateType> movementStateType;
@@ -74,6 +78,22 @@ public final class MovementFilter {
         return StringUtils.isNotBlank(this.criteria);
     }
 
+    /**
+     * @return se o criterio ja foi resolvido para os ids candidatos pelo 
+     * indice de busca
+     */
+    public boolean hasCandidates() {
+        return this.candidates != null;
+    }
+    
+    /**
+     * @return se a listagem nao tem nenhum filtro aplicado, nem criterio nem 
+     * filtros customizados
+     */
+    public boolean isUnfiltered() {
+        return !this.hasCriteria() && this.getCustomFilters().length == 0;
+    }
+
     /**
      * @return os filtros customizados
      */
@@ -16,6 +16,7 @@
  */
 package br.com.webbudget.domain.model.entity;
 
+import br.com.webbudget.domain.model.Identifiable;
 import java.io.Serializable;
 
 /**
@@ -29,14 +30,7 @@ import java.io.Serializable;
  * @version 1.0.0
  * @since 1.0.0, 06/10/2013
  */
-public interface IPersistentEntity<T extends Serializable> {
-
-    /**
-     * Getter para o ID da entidade
-     *
-     * @return o id da entidade
-     */
-    public T getId();
+public interface IPersistentEntity<T extends Serializable> extends Identifiable<T> {
 
     /**
      * Metodo que indica se uma entidade ja foi ou nao persistida (salva)
@@ -33,6 +33,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 /**
  * Classe base para indicar que se trata de uma entidade, nela temos os atributos
@@ -49,10 +51,26 @@ import lombok.ToString;
 @EntityListeners(PersistentEntityListener.class)
 public abstract class PersistentEntity implements IPersistentEntity<Long>, Serializable {
 
+    /**
+     * Tabela onde ficam os proximos ids de cada entidade, os ids sao reservados
+     * em blocos para que os inserts possam ser feitos em lote
+     */
+    public static final String ID_GENERATORS_TABLE = "id_generators";
+
     @Id
     @Getter
     @Column(name = "id", unique = true, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "pooled_ids")
+    @GenericGenerator(name = "pooled_ids", 
+            strategy = "org.hibernate.id.enhanced.TableGenerator", 
+            parameters = {
+                @Parameter(name = "table_name", value = ID_GENERATORS_TABLE),
+                @Parameter(name = "segment_column_name", value = "entity"),
+                @Parameter(name = "value_column_name", value = "next_value"),
+                @Parameter(name = "prefer_entity_table_as_segment_value", value = "true"),
+                @Parameter(name = "increment_size", value = "50"),
+                @Parameter(name = "optimizer", value = "pooled-lo")
+            })
     private Long id;
 
     @Getter
@@ -19,12 +19,14 @@ package br.com.webbudget.domain.model.entity;
 
 import br.com.webbudget.domain.model.security.User;
 import java.util.Date;
+import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 import org.omnifaces.util.BeansLocal;
 import org.picketlink.Identity;
+import org.picketlink.idm.model.Account;
 
 /**
  * Listener de edicao e persistencia dos dados, com ele preenchemos os valores
@@ -37,6 +39,14 @@ import org.picketlink.Identity;
   */
 public class PersistentEntityListener {
 
+    /**
+     * Usuario registrado nas entidades alteradas fora de uma requisicao, 
+     * quando ninguem delegou a autoria
+     */
+    public static final String SYSTEM_USER = "system";
+
+    private static final ThreadLocal<String> DELEGATED_USER = new ThreadLocal<>();
+
     @Inject
     private BeanManager beanManager;
 
@@ -48,7 +58,7 @@ public class PersistentEntityListener {
     @PrePersist
     public void prePersist(PersistentEntity entity) {
         entity.setInclusion(new Date());
-        entity.setIncludedBy(this.getAuthenticated().getUsername());
+        entity.setIncludedBy(currentUsername(this.beanManager));
     }
     
     /**
@@ -59,18 +69,55 @@ public class PersistentEntityListener {
     @PreUpdate
     public void preUpdate(PersistentEntity entity) {
         entity.setLastEdition(new Date());
-        entity.setEditedBy(this.getAuthenticated().getUsername());
+        entity.setEditedBy(currentUsername(this.beanManager));
     }
     
     /**
-     * @return o usuario autenticado
+     * Executa a tarefa registrando como autor das alteracoes o usuario 
+     * informado, usado por quem roda tarefas fora da thread da requisicao
+     * 
+     * @param username o usuario que sera o autor das alteracoes
+     * @param task a tarefa
      */
-    private User getAuthenticated() {
+    public static void runAs(String username, Runnable task) {
+
+        final String previous = DELEGATED_USER.get();
 
-        final Identity identity = BeansLocal.getInstance(
-                this.beanManager, Identity.class);
-        
-        return (User) identity.getAccount();
+        DELEGATED_USER.set(username);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                DELEGATED_USER.remove();
+            } else {
+                DELEGATED_USER.set(previous);
+            }
+        }
     }
-}
 
+    /**
+     * O autor das alteracoes: o usuario delegado para a thread, o usuario 
+     * autenticado na sessao ou, sem nenhum dos dois, o usuario do sistema
+     * 
+     * @param beanManager o bean manager para buscar a identidade da sessao
+     * @return o nome do usuario
+     */
+    public static String currentUsername(BeanManager beanManager) {
+
+        final String delegated = DELEGATED_USER.get();
+
+        if (delegated != null) {
+            return delegated;
+        }
+
+        try {
+            final Account account = BeansLocal.getInstance(
+                    beanManager, Identity.class).getAccount();
+            
+            return account instanceof User 
+                    ? ((User) account).getUsername() : SYSTEM_USER;
+        } catch (ContextNotActiveException ex) {
+            return SYSTEM_USER;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package br.com.webbudget.domain.model.entity.entries;
 
 import br.com.webbudget.domain.model.entity.PersistentEntity;
 import java.math.BigDecimal;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Enumerated;
@@ -38,6 +39,7 @@ import org.hibernate.validator.constraints.NotEmpty;
  * @since 1.0.0, 03/04/2014
  */
 @Entity
+@Cacheable
 @Table(name = "cards")
 @ToString(callSuper = true, of = {"number", "cardType"})
 @EqualsAndHashCode(callSuper = true, of = {"number", "cardType"})
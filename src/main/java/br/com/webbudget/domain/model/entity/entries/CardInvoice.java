@@ -16,9 +16,11 @@
  */
 package br.com.webbudget.domain.model.entity.entries;
 
+import br.com.webbudget.domain.misc.MoneyAccumulator;
 import br.com.webbudget.domain.model.entity.PersistentEntity;
 import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
 import br.com.webbudget.domain.model.entity.financial.Movement;
+import br.com.webbudget.infraestructure.configuration.CodeGenerator;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -29,6 +31,7 @@ import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
+import javax.persistence.PrePersist;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 import lombok.EqualsAndHashCode;
@@ -49,7 +52,6 @@ import lombok.ToString;
 @EqualsAndHashCode(callSuper = true, of = {"identification", "total"})
 public class CardInvoice extends PersistentEntity {
 
-    @Getter
     @Column(name = "identification", nullable = false, length = 45, unique = true)
     private String identification;
     @Getter
@@ -84,48 +86,45 @@ public class CardInvoice extends PersistentEntity {
     }
 
     /**
-     * @return um codigo aleatorio para identificar esta fatura
+     * O set do cartao, trocando o cartao de uma fatura ainda nao salva a 
+     * identificacao e refeita para o novo cartao
+     *
+     * @param card o cartao
      */
-    private String createInvoiceCode() {
-
-        long decimalNumber = System.nanoTime();
-
-        String generated = "";
-        final String digits = "0123456789";
-
-        synchronized (this.getClass()) {
-
-            int mod;
-            int authCodeLength = 0;
-
-            while (decimalNumber != 0 && authCodeLength < 5) {
+    public void setCard(Card card) {
+        this.card = card;
 
-                mod = (int) (decimalNumber % 10);
-                generated = digits.substring(mod, mod + 1) + generated;
-                decimalNumber = decimalNumber / 10;
-                authCodeLength++;
-            }
+        if (!this.isSaved()) {
+            this.identification = null;
         }
-        return generated;
     }
 
     /**
-     * O set do cartao e a criacao da identifacacao da fatura
-     *
-     * @param card o cartao
+     * A identificacao da fatura, criada no primeiro acesso a partir do nome
+     * do cartao e de um codigo reservado
+     * 
+     * @return a identificacao da fatura
      */
-    public void setCard(Card card) {
-        this.card = card;
+    public String getIdentification() {
 
-        if (card != null) {
+        if (this.identification == null && this.card != null) {
             final StringBuilder builder = new StringBuilder();
 
-            builder.append(card.getName());
+            builder.append(this.card.getName());
             builder.append(" - ");
-            builder.append(this.createInvoiceCode());
+            builder.append(CodeGenerator.next(6, true));
 
             this.identification = builder.toString();
         }
+        return this.identification;
+    }
+
+    /**
+     * Cria a identificacao de quem e salvo sem que ninguem tenha lido ela
+     */
+    @PrePersist
+    protected void reserveIdentification() {
+        this.getIdentification();
     }
 
     /**
@@ -143,8 +142,7 @@ public class CardInvoice extends PersistentEntity {
      */
     public BigDecimal calculateTotal() {
         return this.movements.stream()
-                .map(Movement::getValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                .collect(MoneyAccumulator.summing(Movement::getValue));
     }
 
     /**
@@ -18,6 +18,7 @@ package br.com.webbudget.domain.model.entity.entries;
 
 import br.com.webbudget.domain.model.entity.PersistentEntity;
 import java.math.BigDecimal;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
@@ -39,6 +40,7 @@ import org.hibernate.validator.constraints.NotEmpty;
  * @since 1.0.0, 28/03/2014
  */
 @Entity
+@Cacheable
 @Table(name = "cost_centers")
 @ToString(callSuper = true, of = "name")
 @EqualsAndHashCode(callSuper = true, of = "name")
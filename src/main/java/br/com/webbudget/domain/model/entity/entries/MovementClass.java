@@ -19,6 +19,7 @@ package br.com.webbudget.domain.model.entity.entries;
 import br.com.webbudget.domain.model.entity.PersistentEntity;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Enumerated;
@@ -41,6 +42,7 @@ import org.hibernate.validator.constraints.NotEmpty;
  * @since 1.0.0, 04/03/2014
  */
 @Entity
+@Cacheable
 @Table(name = "movement_classes")
 @ToString(callSuper = true, of = "name")
 @EqualsAndHashCode(callSuper = true, of = "name")
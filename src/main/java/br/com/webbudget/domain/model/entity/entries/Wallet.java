@@ -20,6 +20,7 @@ import br.com.webbudget.domain.model.entity.PersistentEntity;
 import br.com.webbudget.domain.model.entity.financial.Payment;
 import java.math.BigDecimal;
 import java.util.List;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
@@ -40,6 +41,7 @@ import org.hibernate.validator.constraints.NotEmpty;
  * @since 1.0.0, 12/03/2014
  */
 @Entity
+@Cacheable
 @Table(name = "wallets")
 @ToString(callSuper = true, of = {"name", "walletType"})
 @EqualsAndHashCode(callSuper = true, of = {"name", "walletType"})
@@ -73,10 +75,15 @@ public class Wallet extends PersistentEntity {
     @Getter
     @Setter
     @NotNull(message = "{wallet.balance}")
-    @Column(name = "balance", nullable = false)
+    @Column(name = "balance", nullable = false, updatable = false)
     private BigDecimal balance;
     @Getter
     @Setter
+    @Column(name = "ledger_sequence", nullable = false, updatable = false, 
+            columnDefinition = "bigint default 0")
+    private long ledgerSequence;
+    @Getter
+    @Setter
     @Column(name = "blocked")
     private boolean blocked;
 
@@ -20,6 +20,7 @@ import br.com.webbudget.domain.model.entity.PersistentEntity;
 import java.math.BigDecimal;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -38,7 +39,10 @@ import lombok.ToString;
  */
 @Entity
 @ToString(callSuper = true)
-@Table(name = "wallet_balances")
+@Table(name = "wallet_balances", indexes = {
+    @Index(name = "idx_wallet_balances_target_inclusion", columnList = "id_target_wallet, inclusion"),
+    @Index(name = "idx_wallet_balances_target_sequence", columnList = "id_target_wallet, ledger_sequence")
+})
 @EqualsAndHashCode(callSuper = true)
 public class WalletBalance extends PersistentEntity {
 
@@ -67,6 +71,14 @@ public class WalletBalance extends PersistentEntity {
     @Setter
     @Column(name = "wallet_balance_type", nullable = false)
     private WalletBalanceType walletBalanceType;
+    @Getter
+    @Setter
+    @Column(name = "reconciliation", nullable = false, columnDefinition = "bit(1) default 0")
+    private boolean reconciliation;
+    @Getter
+    @Setter
+    @Column(name = "ledger_sequence")
+    private Long ledgerSequence;
     
     @Getter
     @Setter
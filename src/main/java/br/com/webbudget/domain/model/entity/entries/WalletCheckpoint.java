@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.entity.entries;
+
+import br.com.webbudget.domain.model.entity.PersistentEntity;
+import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
+import java.math.BigDecimal;
+import java.util.Date;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Ponto de controle do saldo de uma carteira, guarda o saldo em um instante
+ * para que o saldo em qualquer data seja calculado a partir do ponto mais 
+ * proximo somando apenas os saldos lancados depois dele
+ * 
+ * Os saldos que ja estao no ponto de controle sao separados pela posicao da
+ * carteira no razao e nao pela data, a data de inclusao tem precisao de 
+ * segundos e saldos lancados no mesmo segundo seriam contados duas vezes.
+ * Tambem nao serve o id, ele vem de blocos reservados por cada servidor e 
+ * nao cresce na ordem em que os saldos sao lancados
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@Entity
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+@Table(name = "wallet_checkpoints", indexes = {
+    @Index(name = "idx_wallet_checkpoints_wallet_date", columnList = "id_wallet, checkpoint_date")
+})
+public class WalletCheckpoint extends PersistentEntity {
+
+    @Getter
+    @Setter
+    @ManyToOne
+    @JoinColumn(name = "id_wallet", nullable = false)
+    private Wallet wallet;
+    @Getter
+    @Setter
+    @ManyToOne
+    @JoinColumn(name = "id_financial_period")
+    private FinancialPeriod financialPeriod;
+    @Getter
+    @Setter
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "checkpoint_date", nullable = false)
+    private Date checkpointDate;
+    @Getter
+    @Setter
+    @Column(name = "balance", nullable = false)
+    private BigDecimal balance;
+    @Getter
+    @Setter
+    @Column(name = "last_ledger_sequence")
+    private Long lastLedgerSequence;
+}
@@ -21,12 +21,13 @@ import br.com.webbudget.domain.model.entity.entries.CostCenter;
 import br.com.webbudget.domain.model.entity.entries.MovementClass;
 import br.com.webbudget.domain.model.entity.entries.MovementClassType;
 import br.com.webbudget.domain.model.entity.PersistentEntity;
-import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import br.com.webbudget.infraestructure.configuration.CodeGenerator;
 import java.math.BigDecimal;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PrePersist;
 import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
@@ -47,7 +48,6 @@ import lombok.ToString;
 @EqualsAndHashCode(callSuper = true, of = "code")
 public class Apportionment extends PersistentEntity {
 
-    @Getter
     @Column(name = "code", nullable = false, length = 8, unique = true)
     private String code;
     @Getter
@@ -83,7 +83,6 @@ public class Apportionment extends PersistentEntity {
      *
      */
     public Apportionment() {
-        this.code = ApplicationUtils.createRamdomCode(5, false);
     }
     
     /**
@@ -103,6 +102,24 @@ public class Apportionment extends PersistentEntity {
         }
     }
 
+    /**
+     * @return o codigo, reservado no primeiro acesso
+     */
+    public String getCode() {
+        if (this.code == null) {
+            this.code = CodeGenerator.next(6, false);
+        }
+        return this.code;
+    }
+
+    /**
+     * Reserva o codigo de quem e salvo sem que ninguem tenha lido ele antes
+     */
+    @PrePersist
+    protected void reserveCode() {
+        this.getCode();
+    }
+
     /**
      * @return se este e um rateio de receita
      */
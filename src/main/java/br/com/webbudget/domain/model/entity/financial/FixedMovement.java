@@ -19,8 +19,9 @@ package br.com.webbudget.domain.model.entity.financial;
 import br.com.webbudget.domain.model.entity.entries.MovementClassType;
 import br.com.webbudget.application.converter.JPALocalDateConverter;
 import br.com.webbudget.domain.model.entity.PersistentEntity;
+import br.com.webbudget.domain.misc.MoneyAccumulator;
 import br.com.webbudget.domain.misc.ex.InternalServiceError;
-import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import br.com.webbudget.infraestructure.configuration.CodeGenerator;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -32,6 +33,7 @@ import javax.persistence.Entity;
 import javax.persistence.Enumerated;
 import static javax.persistence.FetchType.EAGER;
 import javax.persistence.OneToMany;
+import javax.persistence.PrePersist;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 import javax.validation.constraints.NotNull;
@@ -57,7 +59,6 @@ import org.hibernate.validator.constraints.NotEmpty;
 @EqualsAndHashCode(callSuper = true, of = "code")
 public class FixedMovement extends PersistentEntity {
 
-    @Getter
     @Column(name = "code", nullable = false, length = 8, unique = true)
     private String code;
     @Getter
@@ -127,9 +128,6 @@ public class FixedMovement extends PersistentEntity {
      * Inicializamos o que for necessario
      */
     public FixedMovement() {
-
-        this.code = ApplicationUtils.createRamdomCode(5, false);
-
         this.autoLaunch = false;
         this.fixedMovementStatusType = FixedMovementStatusType.ACTIVE;
 
@@ -137,18 +135,32 @@ public class FixedMovement extends PersistentEntity {
         this.deletedApportionments = new ArrayList<>();
     }
 
+    /**
+     * @return o codigo, reservado no primeiro acesso
+     */
+    public String getCode() {
+        if (this.code == null) {
+            this.code = CodeGenerator.next(6, false);
+        }
+        return this.code;
+    }
+
+    /**
+     * Reserva o codigo de quem e salvo sem que ninguem tenha lido ele antes
+     */
+    @PrePersist
+    protected void reserveCode() {
+        this.getCode();
+    }
+
     /**
      *
      * @param apportionment
      */
     public void addApportionment(Apportionment apportionment) {
 
-        // checa se nao esta sendo inserido outro exatamente igual
-        if (this.apportionments.contains(apportionment)) {
-            throw new InternalServiceError("error.apportionment.duplicated");
-        }
-
-        // checa se nao esta inserindo outro para o mesmo CC e MC
+        // checa se nao esta inserindo outro para o mesmo CC e MC, o que pega
+        // tambem o mesmo rateio inserido duas vezes sem precisar do codigo
         for (Apportionment a : this.apportionments) {
             if (a.getCostCenter().equals(apportionment.getCostCenter())
                     && a.getMovementClass().equals(apportionment.getMovementClass())) {
@@ -212,8 +224,7 @@ public class FixedMovement extends PersistentEntity {
     public BigDecimal getApportionmentsTotal() {
         return this.apportionments
                 .stream()
-                .map(Apportionment::getValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                .collect(MoneyAccumulator.summing(Apportionment::getValue));
     }
 
     /**
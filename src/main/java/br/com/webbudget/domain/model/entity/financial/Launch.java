@@ -18,7 +18,7 @@ package br.com.webbudget.domain.model.entity.financial;
 
 import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
 import br.com.webbudget.domain.model.entity.PersistentEntity;
-import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import br.com.webbudget.infraestructure.configuration.CodeGenerator;
 import java.time.LocalDate;
 import static javax.persistence.CascadeType.REMOVE;
 import javax.persistence.Column;
@@ -26,6 +26,7 @@ import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
+import javax.persistence.PrePersist;
 import javax.persistence.Table;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -48,9 +49,8 @@ import lombok.ToString;
 @EqualsAndHashCode(callSuper = true, of = "code")
 public class Launch extends PersistentEntity {
     
-    @Getter
     @Column(name = "code", nullable = false, length = 8, unique = true)
-    private final String code;
+    private String code;
     @Getter
     @Setter
     @Column(name = "quote")
@@ -72,13 +72,6 @@ public class Launch extends PersistentEntity {
     @JoinColumn(name = "id_movement", nullable = false)
     private Movement movement;
     
-    /**
-     * Inicializamos o que for necessario
-     */
-    public Launch() {
-        this.code = ApplicationUtils.createRamdomCode(5, false);
-    }
-
     /**
      * @param period o periodo que devemos checar
      * @return se pertence ou nao ao periodo
@@ -86,6 +79,24 @@ public class Launch extends PersistentEntity {
     public boolean belongsToPeriod(FinancialPeriod period) {
         return this.financialPeriod.equals(period);
     }
+
+    /**
+     * @return o codigo, reservado no primeiro acesso
+     */
+    public String getCode() {
+        if (this.code == null) {
+            this.code = CodeGenerator.next(6, false);
+        }
+        return this.code;
+    }
+
+    /**
+     * Reserva o codigo de quem e salvo sem que ninguem tenha lido ele antes
+     */
+    @PrePersist
+    protected void reserveCode() {
+        this.getCode();
+    }
     
     /**
      * @return a data de incio do movimento fixo
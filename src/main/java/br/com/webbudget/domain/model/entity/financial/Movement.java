@@ -23,8 +23,9 @@ import br.com.webbudget.application.converter.JPALocalDateConverter;
 import br.com.webbudget.domain.model.entity.entries.Contact;
 import br.com.webbudget.domain.model.entity.PersistentEntity;
 import br.com.webbudget.domain.model.entity.entries.CardInvoice;
+import br.com.webbudget.domain.misc.MoneyAccumulator;
 import br.com.webbudget.domain.misc.ex.InternalServiceError;
-import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import br.com.webbudget.infraestructure.configuration.CodeGenerator;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -35,10 +36,12 @@ import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.Enumerated;
 import static javax.persistence.FetchType.EAGER;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
+import javax.persistence.PrePersist;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 import javax.validation.constraints.NotNull;
@@ -58,12 +61,13 @@ import org.hibernate.validator.constraints.NotEmpty;
  * @since 1.0.0, 04/03/2014
  */
 @Entity
-@Table(name = "movements")
+@Table(name = "movements", indexes = {
+    @Index(name = "idx_movements_inclusion_id", columnList = "inclusion, id")
+})
 @ToString(callSuper = true, of = "code")
 @EqualsAndHashCode(callSuper = true, of = "code")
 public class Movement extends PersistentEntity {
 
-    @Getter
     @Column(name = "code", nullable = false, length = 8, unique = true)
     private String code;
     @Getter
@@ -151,9 +155,6 @@ public class Movement extends PersistentEntity {
      *
      */
     public Movement() {
-
-        this.code = ApplicationUtils.createRamdomCode(5, false);
-
         this.apportionments = new ArrayList<>();
         this.deletedApportionments = new ArrayList<>();
 
@@ -162,6 +163,24 @@ public class Movement extends PersistentEntity {
         this.movementStateType = MovementStateType.OPEN;
     }
 
+    /**
+     * @return o codigo, reservado no primeiro acesso
+     */
+    public String getCode() {
+        if (this.code == null) {
+            this.code = CodeGenerator.next(6, false);
+        }
+        return this.code;
+    }
+
+    /**
+     * Reserva o codigo de quem e salvo sem que ninguem tenha lido ele antes
+     */
+    @PrePersist
+    protected void reserveCode() {
+        this.getCode();
+    }
+
     /**
      * Metodo para adicao de rateios ao movimento
      *
@@ -169,12 +188,8 @@ public class Movement extends PersistentEntity {
      */
     public void addApportionment(Apportionment apportionment) {
 
-        // checa se nao esta sendo inserido outro exatamente igual
-        if (this.apportionments.contains(apportionment)) {
-            throw new InternalServiceError("error.apportionment.duplicated");
-        }
-
-        // checa se nao esta inserindo outro para o mesmo CC e MC
+        // checa se nao esta inserindo outro para o mesmo CC e MC, o que pega
+        // tambem o mesmo rateio inserido duas vezes sem precisar do codigo
         for (Apportionment a : this.apportionments) {
             if (a.getCostCenter().equals(apportionment.getCostCenter())
                     && a.getMovementClass().equals(apportionment.getMovementClass())) {
@@ -245,8 +260,7 @@ public class Movement extends PersistentEntity {
     public BigDecimal getApportionmentsTotal() {
         return this.apportionments
                 .stream()
-                .map(Apportionment::getValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                .collect(MoneyAccumulator.summing(Apportionment::getValue));
     }
 
     /**
@@ -344,22 +358,14 @@ public class Movement extends PersistentEntity {
      * @return se este movimento e uma despesa
      */
     public boolean isExpense() {
-        return this.apportionments
-                .stream()
-                .findFirst()
-                .map(apportionment -> apportionment.isForExpenses())
-                .orElse(false);
+        return this.getDirection() == MovementClassType.OUT;
     }
 
     /**
      * @return se este movimento e uma receita
      */
     public boolean isRevenue() {
-        return this.apportionments
-                .stream()
-                .findFirst()
-                .map(apportionment -> apportionment.isForRevenues())
-                .orElse(false);
+        return this.getDirection() == MovementClassType.IN;
     }
 
     /**
@@ -369,6 +375,13 @@ public class Movement extends PersistentEntity {
         return this.payment.getPaymentDate();
     }
 
+    /**
+     * @return a forma de pagamento deste movimento, se ele ja foi pago
+     */
+    public PaymentMethodType getPaymentMethodType() {
+        return this.payment != null ? this.payment.getPaymentMethodType() : null;
+    }
+
     /**
      * @return todos os centros de custo que este movimento faz parte
      */
@@ -390,10 +403,8 @@ public class Movement extends PersistentEntity {
      * @return a direcao do movimento de acordo com as classes usadas
      */
     public MovementClassType getDirection() {
-        for (Apportionment apportionment : this.apportionments) {
-            return apportionment.getMovementClass().getMovementClassType();
-        }
-        return null;
+        return this.apportionments.isEmpty() ? null : this.apportionments
+                .get(0).getMovementClass().getMovementClassType();
     }
 
     /**
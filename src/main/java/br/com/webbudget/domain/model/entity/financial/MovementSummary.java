@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2015 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.entity.financial;
+
+import br.com.webbudget.application.converter.JPALocalDateConverter;
+import br.com.webbudget.domain.model.entity.PersistentEntity;
+import br.com.webbudget.domain.model.entity.entries.CostCenter;
+import br.com.webbudget.domain.model.entity.entries.MovementClass;
+import br.com.webbudget.domain.model.entity.entries.MovementClassType;
+import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Enumerated;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Linha pre-agregada dos movimentos de um periodo, cada registro guarda a
+ * somatoria dos rateios para uma combinacao de periodo, classe, centro de
+ * custo, data de pagamento, direcao, estado, tipo de movimento e forma de
+ * pagamento, alem de quantos movimentos distintos contribuem para ela. Os 
+ * graficos e a dashboard leem daqui ao inves de carregar todos os movimentos
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@Entity
+@Table(name = "movement_summaries", indexes = {
+    @Index(name = "idx_movement_summaries_period", columnList = "id_financial_period")
+})
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class MovementSummary extends PersistentEntity {
+
+    @Getter
+    @Setter
+    @ManyToOne
+    @JoinColumn(name = "id_financial_period", nullable = false)
+    private FinancialPeriod financialPeriod;
+    @Getter
+    @Setter
+    @ManyToOne
+    @JoinColumn(name = "id_movement_class", nullable = false)
+    private MovementClass movementClass;
+    @Getter
+    @Setter
+    @ManyToOne
+    @JoinColumn(name = "id_cost_center", nullable = false)
+    private CostCenter costCenter;
+    @Getter
+    @Setter
+    @Convert(converter = JPALocalDateConverter.class)
+    @Column(name = "payment_date")
+    private LocalDate paymentDate;
+    @Getter
+    @Setter
+    @Enumerated
+    @Column(name = "direction", nullable = false)
+    private MovementClassType direction;
+    @Getter
+    @Setter
+    @Enumerated
+    @Column(name = "movement_state_type", nullable = false)
+    private MovementStateType movementStateType;
+    @Getter
+    @Setter
+    @Enumerated
+    @Column(name = "movement_type", nullable = false)
+    private MovementType movementType;
+    @Getter
+    @Setter
+    @Enumerated
+    @Column(name = "payment_method_type")
+    private PaymentMethodType paymentMethodType;
+    @Getter
+    @Setter
+    @Column(name = "total", nullable = false)
+    private BigDecimal total;
+    @Getter
+    @Setter
+    @Column(name = "quantity", nullable = false)
+    private Long quantity;
+
+    /**
+     *
+     */
+    public MovementSummary() {
+        this.quantity = 0L;
+        this.total = BigDecimal.ZERO;
+    }
+
+    /**
+     * @return se esta linha agrega receitas
+     */
+    public boolean isRevenue() {
+        return this.direction == MovementClassType.IN;
+    }
+
+    /**
+     * @return se esta linha agrega despesas
+     */
+    public boolean isExpense() {
+        return this.direction == MovementClassType.OUT;
+    }
+
+    /**
+     * @return se esta linha agrega movimentos pagos no cartao de credito
+     */
+    public boolean isPaidOnCreditCard() {
+        return this.isExpense()
+                && this.paymentMethodType == PaymentMethodType.CREDIT_CARD;
+    }
+
+    /**
+     * @return se esta linha agrega movimentos pagos no cartao de debito
+     */
+    public boolean isPaidOnDebitCard() {
+        return this.isExpense()
+                && this.paymentMethodType == PaymentMethodType.DEBIT_CARD;
+    }
+
+    /**
+     * @return se esta linha agrega faturas de cartao
+     */
+    public boolean isCardInvoice() {
+        return this.movementType == MovementType.CARD_INVOICE;
+    }
+}
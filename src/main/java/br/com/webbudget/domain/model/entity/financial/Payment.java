@@ -22,7 +22,7 @@ import br.com.webbudget.domain.model.entity.PersistentEntity;
 import br.com.webbudget.domain.model.entity.entries.Wallet;
 import br.com.webbudget.domain.model.entity.entries.Card;
 import br.com.webbudget.domain.misc.ex.InternalServiceError;
-import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import br.com.webbudget.infraestructure.configuration.CodeGenerator;
 import java.time.LocalDate;
 import javax.persistence.Column;
 import javax.persistence.Convert;
@@ -30,6 +30,7 @@ import javax.persistence.Entity;
 import javax.persistence.Enumerated;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PrePersist;
 import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
@@ -50,7 +51,6 @@ import lombok.ToString;
 @EqualsAndHashCode(callSuper = true, of = "code")
 public class Payment extends PersistentEntity {
 
-    @Getter
     @Setter
     @Column(name = "code", nullable = false, length = 8, unique = true)
     private String code;
@@ -84,7 +84,24 @@ public class Payment extends PersistentEntity {
     public Payment() {
         this.paymentDate = LocalDate.now();
         this.paymentMethodType = PaymentMethodType.IN_CASH;
-        this.code = ApplicationUtils.createRamdomCode(5, false);
+    }
+
+    /**
+     * @return o codigo, reservado no primeiro acesso
+     */
+    public String getCode() {
+        if (this.code == null) {
+            this.code = CodeGenerator.next(6, false);
+        }
+        return this.code;
+    }
+
+    /**
+     * Reserva o codigo de quem e salvo sem que ninguem tenha lido ele antes
+     */
+    @PrePersist
+    protected void reserveCode() {
+        this.getCode();
     }
 
     /**
@@ -17,12 +17,13 @@
 package br.com.webbudget.domain.model.entity.logbook;
 
 import br.com.webbudget.application.converter.JPALocalDateConverter;
+import br.com.webbudget.domain.misc.MoneyAccumulator;
 import br.com.webbudget.domain.misc.ex.InternalServiceError;
 import br.com.webbudget.domain.model.entity.PersistentEntity;
 import br.com.webbudget.domain.model.entity.entries.CostCenter;
 import br.com.webbudget.domain.model.entity.entries.MovementClass;
 import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
-import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import br.com.webbudget.infraestructure.configuration.CodeGenerator;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.NumberFormat;
@@ -38,6 +39,7 @@ import static javax.persistence.FetchType.EAGER;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.PrePersist;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 import javax.validation.constraints.Min;
@@ -63,7 +65,6 @@ import org.hibernate.annotations.FetchMode;
 @EqualsAndHashCode(callSuper = true)
 public class Refueling extends PersistentEntity {
 
-    @Getter
     @Column(name = "code", length = 6, unique = true)
     private String code;
     @Getter
@@ -149,9 +150,6 @@ public class Refueling extends PersistentEntity {
      *
      */
     public Refueling() {
-        
-        this.code = ApplicationUtils.createRamdomCode(6, false);
-        
         this.fullTank = true;
         this.accounted = false;
         
@@ -164,6 +162,24 @@ public class Refueling extends PersistentEntity {
         this.fuels = new ArrayList<>();
     }
 
+    /**
+     * @return o codigo, reservado no primeiro acesso
+     */
+    public String getCode() {
+        if (this.code == null) {
+            this.code = CodeGenerator.next(5, false);
+        }
+        return this.code;
+    }
+
+    /**
+     * Reserva o codigo de quem e salvo sem que ninguem tenha lido ele antes
+     */
+    @PrePersist
+    protected void reserveCode() {
+        this.getCode();
+    }
+
     /**
      * @return uma lista nao modificavel dos combustiveis
      */
@@ -233,17 +249,17 @@ public class Refueling extends PersistentEntity {
      */
     public void totalize() {
         
-        // calcula o total em reais 
-        this.cost = this.fuels
-                .stream()
-                .map(Fuel::getCost)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        final MoneyAccumulator totalCost = new MoneyAccumulator();
+        final MoneyAccumulator totalLiters = new MoneyAccumulator();
+        
+        // calcula o total em reais e em litros abastecido na mesma passada
+        this.fuels.forEach(fuel -> {
+            totalCost.add(fuel.getCost());
+            totalLiters.add(fuel.getLiters());
+        });
         
-        // calcula o total em litros abastecido
-        this.liters = this.fuels
-                .stream()
-                .map(Fuel::getLiters)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        this.cost = totalCost.toBigDecimal();
+        this.liters = totalLiters.toBigDecimal();
         
         // calcula o custo por litro
         if (this.cost != BigDecimal.ZERO && this.liters != BigDecimal.ZERO) {
@@ -20,6 +20,7 @@ import br.com.webbudget.domain.model.entity.PersistentEntity;
 import br.com.webbudget.domain.model.entity.entries.CostCenter;
 import java.time.LocalDate;
 import java.time.temporal.ChronoField;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -42,6 +43,7 @@ import org.hibernate.validator.constraints.NotEmpty;
  * @since 2.3.0, 16/05/2016
  */
 @Entity
+@Cacheable
 @Table(name = "vehicles")
 @ToString(callSuper = true)
 @EqualsAndHashCode(callSuper = true)
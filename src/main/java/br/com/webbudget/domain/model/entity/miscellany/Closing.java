@@ -19,12 +19,13 @@ package br.com.webbudget.domain.model.entity.miscellany;
 
 import br.com.webbudget.application.converter.JPALocalDateConverter;
 import br.com.webbudget.domain.model.entity.PersistentEntity;
-import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import br.com.webbudget.infraestructure.configuration.CodeGenerator;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.PrePersist;
 import javax.persistence.Table;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -44,7 +45,6 @@ import lombok.ToString;
 @EqualsAndHashCode(callSuper = true, of = "code")
 public class Closing extends PersistentEntity {
 
-    @Getter
     @Setter
     @Column(name = "code", nullable = false, unique = true)
     private String code;
@@ -82,7 +82,6 @@ public class Closing extends PersistentEntity {
      * 
      */
     public Closing() {
-        
         this.expenses = BigDecimal.ZERO;
         this.revenues = BigDecimal.ZERO;
         
@@ -93,7 +92,23 @@ public class Closing extends PersistentEntity {
         this.accumulated = BigDecimal.ZERO;
         
         this.closingDate = LocalDate.now();
-        
-        this.code = ApplicationUtils.createRamdomCode(5, false);
+    }
+
+    /**
+     * @return o codigo, reservado no primeiro acesso
+     */
+    public String getCode() {
+        if (this.code == null) {
+            this.code = CodeGenerator.next(6, false);
+        }
+        return this.code;
+    }
+
+    /**
+     * Reserva o codigo de quem e salvo sem que ninguem tenha lido ele antes
+     */
+    @PrePersist
+    protected void reserveCode() {
+        this.getCode();
     }
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ import br.com.webbudget.domain.misc.ex.InternalServiceError;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
@@ -44,6 +45,7 @@ import org.hibernate.validator.constraints.NotEmpty;
  * @since 1.0.0, 20/03/2014
  */
 @Entity
+@Cacheable
 @Table(name = "financial_periods")
 @ToString(callSuper = true, of = "identification")
 @EqualsAndHashCode(callSuper = true, of = "identification")
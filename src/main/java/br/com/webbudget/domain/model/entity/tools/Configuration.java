@@ -19,6 +19,7 @@ package br.com.webbudget.domain.model.entity.tools;
 import br.com.webbudget.domain.model.entity.PersistentEntity;
 import br.com.webbudget.domain.model.entity.entries.CostCenter;
 import br.com.webbudget.domain.model.entity.entries.MovementClass;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
@@ -40,6 +41,7 @@ import lombok.ToString;
  * @since 1.0.0, 15/02/2015
  */
 @Entity
+@Cacheable
 @ToString(callSuper = true)
 @Table(name = "configurations")
 @EqualsAndHashCode(callSuper = true)
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.entity.tools;
+
+import br.com.webbudget.domain.model.entity.PersistentEntity;
+import br.com.webbudget.infraestructure.mail.MailMessage;
+import java.util.Date;
+import javax.mail.Address;
+import javax.mail.internet.InternetAddress;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Um e-mail na caixa de saida. As mensagens sao gravadas na transacao de quem
+ * pediu o envio e entregues depois pelo carteiro, que controla aqui as 
+ * tentativas e quando deve tentar de novo
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@Entity
+@Table(name = "outgoing_mails", indexes = {
+    @Index(name = "idx_outgoing_mails_state", columnList = "state, next_attempt")
+})
+@ToString(callSuper = true, exclude = "content")
+@EqualsAndHashCode(callSuper = true)
+public class OutgoingMail extends PersistentEntity {
+
+    @Getter
+    @Setter
+    @Column(name = "title", nullable = false)
+    private String title;
+    @Getter
+    @Setter
+    @Column(name = "content", nullable = false, columnDefinition = "TEXT")
+    private String content;
+    @Getter
+    @Setter
+    @Column(name = "sender")
+    private String sender;
+    @Getter
+    @Setter
+    @Column(name = "reply_to")
+    private String replyTo;
+    @Getter
+    @Setter
+    @Column(name = "addressees", columnDefinition = "TEXT")
+    private String addressees;
+    @Getter
+    @Setter
+    @Column(name = "ccs", columnDefinition = "TEXT")
+    private String ccs;
+    @Getter
+    @Setter
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 10)
+    private OutgoingMailState state;
+    @Getter
+    @Setter
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    @Getter
+    @Setter
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "next_attempt", nullable = false)
+    private Date nextAttempt;
+    @Getter
+    @Setter
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "sent_on")
+    private Date sentOn;
+    @Getter
+    @Setter
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /**
+     *
+     */
+    public OutgoingMail() {
+        this.attempts = 0;
+        this.nextAttempt = new Date();
+        this.state = OutgoingMailState.PENDING;
+    }
+
+    /**
+     * Copia a mensagem para a caixa de saida, os enderecos sao guardados no
+     * formato RFC 822 e lidos de volta no envio
+     * 
+     * @param mailMessage a mensagem
+     */
+    public OutgoingMail(MailMessage mailMessage) {
+        
+        this();
+        
+        this.title = mailMessage.getTitle();
+        this.content = mailMessage.getContent();
+        this.sender = this.toText(mailMessage.getFrom());
+        this.replyTo = this.toText(mailMessage.getReplyTo());
+        this.addressees = InternetAddress.toString(mailMessage.getAddressees());
+        this.ccs = InternetAddress.toString(mailMessage.getCcs());
+    }
+    
+    /**
+     * @param address o endereco
+     * @return o endereco em texto ou null se nao houver
+     */
+    private String toText(Address address) {
+        return address == null ? null : address.toString();
+    }
+}
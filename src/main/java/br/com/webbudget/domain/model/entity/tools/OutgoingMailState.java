@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.entity.tools;
+
+/**
+ * Os estados de um e-mail na caixa de saida
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public enum OutgoingMailState {
+
+    /**
+     * Aguardando o envio ou uma nova tentativa
+     */
+    PENDING,
+    /**
+     * Reservado por um carteiro para envio, se o envio nao terminar ate o 
+     * fim da reserva volta a ficar disponivel
+     */
+    SENDING,
+    /**
+     * Entregue ao servidor de e-mail
+     */
+    SENT,
+    /**
+     * Esgotou as tentativas ou falhou de forma definitiva, fica guardado para
+     * analise e nao e mais enviado
+     */
+    DEAD;
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.projection;
+
+import br.com.webbudget.domain.model.Identifiable;
+import java.io.Serializable;
+import java.util.Date;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Base das linhas projetadas para as listagens. Uma linha carrega apenas as
+ * colunas exibidas na tabela e nao e uma entidade gerenciada, assim renderizar
+ * a tabela nao dispara carga de relacionamentos
+ *
+ * As propriedades das linhas tem o mesmo nome das propriedades das entidades
+ * para que a projecao possa ser feita por alias e as paginas nao mudem
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ToString(of = "id")
+@EqualsAndHashCode(of = "id")
+public abstract class AbstractRow implements Identifiable<Long>, Serializable {
+
+    @Getter
+    @Setter
+    private Long id;
+    @Getter
+    @Setter
+    private Date inclusion;
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.projection;
+
+import br.com.webbudget.domain.model.entity.entries.CardType;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Linha da listagem de cartoes
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public class CardRow extends AbstractRow {
+
+    @Getter
+    @Setter
+    private String name;
+    @Getter
+    @Setter
+    private String number;
+    @Getter
+    @Setter
+    private String flag;
+    @Getter
+    @Setter
+    private String owner;
+    @Getter
+    @Setter
+    private boolean blocked;
+    @Getter
+    @Setter
+    private CardType cardType;
+
+    /**
+     * @return nome + 4 ultimos digitos do cartao + bandeira
+     */
+    public String getReadableName() {
+
+        final StringBuilder builder = new StringBuilder();
+
+        builder.append(this.name);
+        builder.append(" - ");
+
+        if (this.number.length() > 3) {
+            builder.append(this.number.substring(this.number.length() - 4,
+                    this.number.length()));
+        } else {
+            builder.append(this.number);
+        }
+
+        builder.append(" - ");
+        builder.append(this.flag);
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.projection;
+
+import br.com.webbudget.domain.model.entity.entries.MovementClassType;
+import br.com.webbudget.domain.model.entity.financial.MovementStateType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Linha da listagem de movimentos. A direcao vem da classe dos rateios e o 
+ * estado do periodo ja vem na consulta, assim os testes de edicao, pagamento 
+ * e exclusao nao precisam carregar rateios nem o periodo
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public class MovementRow extends AbstractRow {
+
+    @Getter
+    @Setter
+    private String code;
+    @Getter
+    @Setter
+    private String description;
+    @Getter
+    @Setter
+    private BigDecimal value;
+    @Getter
+    @Setter
+    private LocalDate dueDate;
+    @Getter
+    @Setter
+    private MovementStateType movementStateType;
+    @Getter
+    @Setter
+    private MovementClassType direction;
+    @Getter
+    @Setter
+    private boolean periodClosed;
+
+    /**
+     * @return se e um movimento de entrada
+     */
+    public boolean isRevenue() {
+        return this.direction == MovementClassType.IN;
+    }
+
+    /**
+     * @return se e um movimento de saida
+     */
+    public boolean isExpense() {
+        return this.direction == MovementClassType.OUT;
+    }
+
+    /**
+     * @return se o movimento esta pago ou nao
+     */
+    public boolean isPaid() {
+        return this.movementStateType == MovementStateType.PAID
+                || this.movementStateType == MovementStateType.CALCULATED;
+    }
+
+    /**
+     * @return se temos um movimento editavel
+     */
+    public boolean isEditable() {
+        return this.movementStateType == MovementStateType.OPEN
+                && !this.periodClosed;
+    }
+
+    /**
+     * @return se temos um movimento pagavel
+     */
+    public boolean isPayable() {
+        return this.movementStateType == MovementStateType.OPEN
+                && !this.periodClosed;
+    }
+
+    /**
+     * @return se temos um movimento deletavel
+     */
+    public boolean isDeletable() {
+        return (this.movementStateType == MovementStateType.OPEN
+                || this.movementStateType == MovementStateType.PAID)
+                && !this.periodClosed;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.projection;
+
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Linha da listagem de abastecimentos
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public class RefuelingRow extends AbstractRow {
+
+    @Getter
+    @Setter
+    private String vehicleIdentification;
+    @Getter
+    @Setter
+    private BigDecimal liters;
+    @Getter
+    @Setter
+    private BigDecimal cost;
+    @Getter
+    @Setter
+    private BigDecimal costPerLiter;
+    @Getter
+    @Setter
+    private BigDecimal averageConsumption;
+    @Getter
+    @Setter
+    private boolean fullTank;
+    @Getter
+    @Setter
+    private boolean firstRefueling;
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.projection;
+
+import br.com.webbudget.domain.model.entity.tools.MessagePriorityType;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Linha da listagem de mensagens recebidas, traz os dados da mensagem ja
+ * achatados para nao precisarmos navegar ate ela a cada linha
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public class UserMessageRow extends AbstractRow {
+
+    @Getter
+    @Setter
+    private String title;
+    @Getter
+    @Setter
+    private MessagePriorityType priorityType;
+    @Getter
+    @Setter
+    private Date messageInclusion;
+
+    /**
+     * @return a data de envio da mensagem formatada
+     */
+    public String getMessageDateAsString() {
+        return new SimpleDateFormat("dd/MM/yyyy HH:mm").format(this.messageInclusion);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.projection;
+
+import br.com.webbudget.domain.model.entity.entries.WalletType;
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Linha da listagem de carteiras
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public class WalletRow extends AbstractRow {
+
+    @Getter
+    @Setter
+    private String name;
+    @Getter
+    @Setter
+    private String bank;
+    @Getter
+    @Setter
+    private BigDecimal balance;
+    @Getter
+    @Setter
+    private boolean blocked;
+    @Getter
+    @Setter
+    private WalletType walletType;
+
+    /**
+     * @return se o saldo da carteira esta ou nao negativo
+     */
+    public boolean isBalanceNegative() {
+        return this.balance.signum() < 0;
+    }
+
+    /**
+     * @return o nome da carteira, com o banco se for uma conta bancaria
+     */
+    public String getFriendlyName() {
+        if (this.walletType == WalletType.BANK_ACCOUNT) {
+            return this.name + " - " + this.bank;
+        }
+        return this.name;
+    }
+}
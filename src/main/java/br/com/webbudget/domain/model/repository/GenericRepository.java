@@ -16,6 +16,10 @@
  */
 package br.com.webbudget.domain.model.repository;
 
+import br.com.webbudget.application.component.table.Page;
+import br.com.webbudget.application.component.table.PageRequest;
+import br.com.webbudget.application.component.table.PageRequest.SortDirection;
+import br.com.webbudget.domain.model.Identifiable;
 import br.com.webbudget.domain.model.entity.IPersistentEntity;
 import java.util.List;
 import java.io.Serializable;
@@ -28,6 +32,13 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import org.hibernate.Criteria;
 import org.hibernate.Session;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.ProjectionList;
+import org.hibernate.criterion.Projections;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.transform.Transformers;
 
 /**
  * A implementacao padrao do repositorio generico, com esta classe habilitamos o
@@ -76,6 +87,16 @@ public abstract class GenericRepository<T extends IPersistentEntity, ID extends
         return this.getSession().createCriteria(this.getPersistentClass());
     }
 
+    /**
+     * @return a {@link Criteria} do hibernate setada para a classe do
+     * repositorio com o resultado guardado no cache de consultas
+     */
+    protected Criteria createCachedCriteria() {
+        return this.createCriteria()
+                .setCacheable(true)
+                .setCacheRegion(queryCacheRegionOf(this.getPersistentClass()));
+    }
+
     /**
      * @return a {@link Session} do Hibernate para que possamos usar nossa
      * {@link Criteria} para buscas
@@ -84,6 +105,22 @@ public abstract class GenericRepository<T extends IPersistentEntity, ID extends
         return (Session) this.getEntityManager().getDelegate();
     }
 
+    /**
+     * Tamanho de busca para ler uma consulta sob demanda com o scroll, o 
+     * driver do MySQL so entrega as linhas aos poucos com 
+     * {@link Integer#MIN_VALUE}, os demais bancos aceitam apenas valores 
+     * positivos
+     * 
+     * @return o tamanho de busca para consultas lidas sob demanda
+     */
+    protected int streamingFetchSize() {
+        
+        final Dialect dialect = ((SessionFactoryImplementor) this.getSession()
+                .getSessionFactory()).getDialect();
+        
+        return dialect instanceof MySQLDialect ? Integer.MIN_VALUE : 500;
+    }
+
     /**
      * @return a classe de nossa entidade persistente
      */
@@ -91,6 +128,75 @@ public abstract class GenericRepository<T extends IPersistentEntity, ID extends
         return this.persistentClass;
     }
 
+    /**
+     * Lista paginada projetada: seleciona apenas as colunas informadas e monta
+     * com elas as linhas do tipo informado, sem carregar as entidades. Cada
+     * coluna deve ter como alias o nome da propriedade da linha
+     *
+     * @param <R> o tipo da linha
+     * @param criteria a criteria ja com os filtros da listagem
+     * @param columns as colunas a serem selecionadas
+     * @param rowClass a classe da linha
+     * @param pageRequest a pagina solicitada
+     * @return a pagina com as linhas
+     */
+    protected <R extends Identifiable> Page<R> listRows(Criteria criteria, 
+            ProjectionList columns, Class<R> rowClass, PageRequest pageRequest) {
+
+        // projetamos para pegar o total de registros possiveis
+        criteria.setProjection(Projections.countDistinct("id"));
+
+        final Long totalRows = (Long) criteria.uniqueResult();
+
+        // trocamos a projection pelas colunas da listagem
+        criteria.setProjection(columns);
+        criteria.setResultTransformer(Transformers.aliasToBean(rowClass));
+
+        // paginamos
+        criteria.setFirstResult(pageRequest.getFirstResult());
+        criteria.setMaxResults(pageRequest.getPageSize());
+
+        this.applySorting(criteria, pageRequest);
+
+        return new Page<>(criteria.list(), totalRows);
+    }
+
+    /**
+     * Aplica a ordenacao simples ou multipla da pagina solicitada na criteria
+     *
+     * @param criteria a criteria
+     * @param pageRequest a pagina solicitada
+     */
+    protected void applySorting(Criteria criteria, PageRequest pageRequest) {
+        if (pageRequest.isMultiSort()) {
+            pageRequest
+                    .getMultiSortFields()
+                    .stream()
+                    .forEach(field -> {
+                        if (field.getDirection() == SortDirection.ASC) {
+                            criteria.addOrder(Order.asc(field.getSortField()));
+                        } else if (field.getDirection() == SortDirection.DESC) {
+                            criteria.addOrder(Order.desc(field.getSortField()));
+                        }
+                    });
+        } else if (pageRequest.getSortDirection() == SortDirection.ASC) {
+            criteria.addOrder(Order.asc(pageRequest.getSortField()));
+        } else if (pageRequest.getSortDirection() == SortDirection.DESC) {
+            criteria.addOrder(Order.desc(pageRequest.getSortField()));
+        }
+    }
+
+    /**
+     * Nome da regiao do cache de consultas de uma entidade, uma regiao por 
+     * entidade para que possamos invalidar apenas as consultas do tipo alterado
+     * 
+     * @param entityClass a classe da entidade
+     * @return o nome da regiao
+     */
+    public static String queryCacheRegionOf(Class<?> entityClass) {
+        return "query." + entityClass.getName();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -20,10 +20,12 @@ import br.com.webbudget.domain.model.entity.entries.Card;
 import br.com.webbudget.domain.model.entity.entries.CardType;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
+import br.com.webbudget.domain.model.projection.CardRow;
 import br.com.webbudget.domain.model.repository.GenericRepository;
 import java.util.List;
 import org.hibernate.Criteria;
 import org.hibernate.criterion.Order;
+import org.hibernate.criterion.ProjectionList;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 
@@ -44,7 +46,7 @@ public class CardRepository extends GenericRepository<Card, Long> implements ICa
     @Override
     public List<Card> listDebit(Boolean isBlocked) {
 
-        final Criteria criteria = this.getSession().createCriteria(this.getPersistentClass());
+        final Criteria criteria = this.createCachedCriteria();
 
         if (isBlocked != null) {
             criteria.add(Restrictions.eq("blocked", isBlocked));
@@ -65,7 +67,7 @@ public class CardRepository extends GenericRepository<Card, Long> implements ICa
     @Override
     public List<Card> listCredit(Boolean isBlocked) {
 
-        final Criteria criteria = this.getSession().createCriteria(this.getPersistentClass());
+        final Criteria criteria = this.createCachedCriteria();
 
         if (isBlocked != null) {
             criteria.add(Restrictions.eq("blocked", isBlocked));
@@ -86,7 +88,7 @@ public class CardRepository extends GenericRepository<Card, Long> implements ICa
     @Override
     public List<Card> listByStatus(Boolean isBlocked) {
 
-        final Criteria criteria = this.getSession().createCriteria(this.getPersistentClass());
+        final Criteria criteria = this.createCachedCriteria();
 
         if (isBlocked != null) {
             criteria.add(Restrictions.eq("blocked", isBlocked));
@@ -121,7 +123,7 @@ public class CardRepository extends GenericRepository<Card, Long> implements ICa
      * @return 
      */
     @Override
-    public Page<Card> listByStatus(Boolean isBlocked, PageRequest pageRequest) {
+    public Page<CardRow> listByStatus(Boolean isBlocked, PageRequest pageRequest) {
         
         final Criteria criteria = this.createCriteria();
 
@@ -129,26 +131,17 @@ public class CardRepository extends GenericRepository<Card, Long> implements ICa
             criteria.add(Restrictions.eq("blocked", isBlocked));
         }
 
-        // projetamos para pegar o total de paginas possiveis
-        criteria.setProjection(Projections.count("id"));
-
-        final Long totalRows = (Long) criteria.uniqueResult();
-
-        // limpamos a projection para que a criteria seja reusada
-        criteria.setProjection(null);
-        criteria.setResultTransformer(Criteria.ROOT_ENTITY);
-
-        // paginamos
-        criteria.setFirstResult(pageRequest.getFirstResult());
-        criteria.setMaxResults(pageRequest.getPageSize());
-
-        if (pageRequest.getSortDirection() == PageRequest.SortDirection.ASC) {
-            criteria.addOrder(Order.asc(pageRequest.getSortField()));
-        } else if (pageRequest.getSortDirection() == PageRequest.SortDirection.DESC) {
-            criteria.addOrder(Order.desc(pageRequest.getSortField()));
-        }
-
-        // montamos o resultado paginado
-        return new Page<>(criteria.list(), totalRows);
+        // projetamos apenas as colunas exibidas na listagem
+        final ProjectionList columns = Projections.projectionList()
+                .add(Projections.property("id"), "id")
+                .add(Projections.property("inclusion"), "inclusion")
+                .add(Projections.property("name"), "name")
+                .add(Projections.property("number"), "number")
+                .add(Projections.property("flag"), "flag")
+                .add(Projections.property("owner"), "owner")
+                .add(Projections.property("blocked"), "blocked")
+                .add(Projections.property("cardType"), "cardType");
+
+        return this.listRows(criteria, columns, CardRow.class, pageRequest);
     }
 }
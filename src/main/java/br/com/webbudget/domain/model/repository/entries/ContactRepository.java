@@ -19,10 +19,11 @@ package br.com.webbudget.domain.model.repository.entries;
 import br.com.webbudget.domain.model.entity.entries.Contact;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
+import br.com.webbudget.domain.model.projection.ContactRow;
 import br.com.webbudget.domain.model.repository.GenericRepository;
 import java.util.List;
 import org.hibernate.Criteria;
-import org.hibernate.criterion.Order;
+import org.hibernate.criterion.ProjectionList;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 
@@ -87,7 +88,7 @@ public class ContactRepository extends GenericRepository<Contact, Long> implemen
      * @return
      */
     @Override
-    public Page<Contact> listLazilyByFilter(String filter, Boolean blocked, PageRequest pageRequest) {
+    public Page<ContactRow> listLazilyByFilter(String filter, Boolean blocked, PageRequest pageRequest) {
 
         final Criteria criteria = this.createCriteria();
 
@@ -104,26 +105,15 @@ public class ContactRepository extends GenericRepository<Contact, Long> implemen
             criteria.add(Restrictions.eq("blocked", blocked));
         }
 
-        // projetamos para pegar o total de paginas possiveis
-        criteria.setProjection(Projections.count("id"));
+        // projetamos apenas as colunas exibidas na listagem
+        final ProjectionList columns = Projections.projectionList()
+                .add(Projections.property("id"), "id")
+                .add(Projections.property("inclusion"), "inclusion")
+                .add(Projections.property("name"), "name")
+                .add(Projections.property("document"), "document")
+                .add(Projections.property("blocked"), "blocked")
+                .add(Projections.property("contactType"), "contactType");
 
-        final Long totalRows = (Long) criteria.uniqueResult();
-
-        // limpamos a projection para que a criteria seja reusada
-        criteria.setProjection(null);
-        criteria.setResultTransformer(Criteria.ROOT_ENTITY);
-
-        // paginamos
-        criteria.setFirstResult(pageRequest.getFirstResult());
-        criteria.setMaxResults(pageRequest.getPageSize());
-
-        if (pageRequest.getSortDirection() == PageRequest.SortDirection.ASC) {
-            criteria.addOrder(Order.asc(pageRequest.getSortField()));
-        } else if (pageRequest.getSortDirection() == PageRequest.SortDirection.DESC) {
-            criteria.addOrder(Order.desc(pageRequest.getSortField()));
-        }
-
-        // montamos o resultado paginado
-        return new Page<>(criteria.list(), totalRows);
+        return this.listRows(criteria, columns, ContactRow.class, pageRequest);
     }
 }
@@ -43,7 +43,7 @@ public class CostCenterRepository extends GenericRepository<CostCenter, Long> im
     @Override
     public List<CostCenter> listByStatus(Boolean isBlocked) {
 
-        final Criteria criteria = this.getSession().createCriteria(this.getPersistentClass());
+        final Criteria criteria = this.createCachedCriteria();
 
         if (isBlocked != null) {
             criteria.add(Restrictions.eq("blocked", isBlocked));
@@ -20,6 +20,7 @@ import br.com.webbudget.domain.model.entity.entries.Card;
 import br.com.webbudget.domain.model.entity.entries.CardType;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
+import br.com.webbudget.domain.model.projection.CardRow;
 import br.com.webbudget.domain.model.repository.IGenericRepository;
 import java.util.List;
 
@@ -67,5 +68,5 @@ public interface ICardRepository extends IGenericRepository<Card, Long> {
      * @param pageRequest
      * @return 
      */
-    public Page<Card> listByStatus(Boolean isBlocked, PageRequest pageRequest);
+    public Page<CardRow> listByStatus(Boolean isBlocked, PageRequest pageRequest);
 }
@@ -19,6 +19,7 @@ package br.com.webbudget.domain.model.repository.entries;
 import br.com.webbudget.domain.model.entity.entries.Contact;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
+import br.com.webbudget.domain.model.projection.ContactRow;
 import br.com.webbudget.domain.model.repository.IGenericRepository;
 import java.util.List;
 
@@ -52,5 +53,5 @@ public interface IContactRepository extends IGenericRepository<Contact, Long> {
      * @param pageRequest
      * @return 
      */
-    public Page<Contact> listLazilyByFilter(String filter, Boolean blocked, PageRequest pageRequest);
+    public Page<ContactRow> listLazilyByFilter(String filter, Boolean blocked, PageRequest pageRequest);
 }
@@ -16,10 +16,13 @@
  */
 package br.com.webbudget.domain.model.repository.entries;
 
+import br.com.webbudget.domain.misc.LedgerCheck;
 import br.com.webbudget.domain.model.entity.entries.Wallet;
 import br.com.webbudget.domain.model.entity.entries.WalletBalance;
 import br.com.webbudget.domain.model.entity.entries.WalletBalanceType;
 import br.com.webbudget.domain.model.repository.IGenericRepository;
+import java.math.BigDecimal;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -53,4 +56,34 @@ public interface IWalletBalanceRepository extends IGenericRepository<WalletBalan
      * @return
      */
     public List<WalletBalance> listByWallet(Wallet source, Wallet target, WalletBalanceType... types);
+    
+    /**
+     * Soma as variacoes de saldo da carteira lancadas depois de uma posicao 
+     * do razao, sem as reconciliacoes, como na conferencia do razao
+     * 
+     * @param wallet a carteira
+     * @param lastSequence a posicao do ultimo saldo ja somado, exclusiva, 
+     * null para desde o inicio
+     * @param to o fim do intervalo, inclusivo
+     * @return a soma das variacoes de saldo
+     */
+    public BigDecimal sumDeltasAfter(Wallet wallet, Long lastSequence, Date to);
+    
+    /**
+     * 
+     * @param wallet
+     * @param from
+     * @param to
+     * @return 
+     */
+    public List<WalletBalance> listByWalletBetween(Wallet wallet, Date from, Date to);
+    
+    /**
+     * Confere o razao da carteira lendo os historicos de saldo sob demanda, 
+     * sem carregar todos eles em memoria
+     * 
+     * @param wallet a carteira
+     * @return a conferencia do razao
+     */
+    public LedgerCheck checkLedger(Wallet wallet);
 }
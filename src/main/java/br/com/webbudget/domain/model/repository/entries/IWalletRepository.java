@@ -17,10 +17,13 @@
 package br.com.webbudget.domain.model.repository.entries;
 
 import br.com.webbudget.domain.model.entity.entries.Wallet;
+import br.com.webbudget.domain.model.entity.entries.WalletCheckpoint;
 import br.com.webbudget.domain.model.entity.entries.WalletType;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
+import br.com.webbudget.domain.model.projection.WalletRow;
 import br.com.webbudget.domain.model.repository.IGenericRepository;
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -45,7 +48,7 @@ public interface IWalletRepository extends IGenericRepository<Wallet, Long> {
      * @param pageRequest
      * @return 
      */
-    public Page<Wallet> listLazilyByStatus(Boolean isBlocked, PageRequest pageRequest);
+    public Page<WalletRow> listLazilyByStatus(Boolean isBlocked, PageRequest pageRequest);
     
     /**
      *
@@ -55,4 +58,32 @@ public interface IWalletRepository extends IGenericRepository<Wallet, Long> {
      * @return
      */
     public Wallet findByNameAndBankAndType(String name, String bank, WalletType walletType);
+    
+    /**
+     * Soma um valor ao saldo da carteira direto no banco e avanca a posicao 
+     * dela no razao, a carteira em maos recebe a posicao resultante
+     * 
+     * @param wallet a carteira
+     * @param delta o valor a somar, negativo para debitar
+     * @return o saldo da carteira apos a soma
+     */
+    public BigDecimal addToBalance(Wallet wallet, BigDecimal delta);
+    
+    /**
+     * Trava a carteira ate o fim da transacao, nenhum saldo pode ser lancado
+     * nela enquanto isso
+     * 
+     * @param wallet a carteira
+     * @return o saldo atual da carteira
+     */
+    public BigDecimal lockBalance(Wallet wallet);
+    
+    /**
+     * Trava a carteira como o {@link #lockBalance(Wallet)} e monta com o 
+     * saldo e a posicao no razao lidos sob a trava um ponto de controle
+     * 
+     * @param wallet a carteira
+     * @return o ponto de controle da carteira, ainda nao persistido
+     */
+    public WalletCheckpoint lockCheckpoint(Wallet wallet);
 }
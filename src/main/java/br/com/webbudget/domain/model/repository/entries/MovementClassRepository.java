@@ -45,7 +45,7 @@ public class MovementClassRepository extends GenericRepository<MovementClass, Lo
     @Override
     public List<MovementClass> listByStatus(Boolean isBlocked) {
 
-        final Criteria criteria = this.getSession().createCriteria(this.getPersistentClass());
+        final Criteria criteria = this.createCachedCriteria();
 
         if (isBlocked != null) {
             criteria.add(Restrictions.eq("blocked", isBlocked));
@@ -65,7 +65,7 @@ public class MovementClassRepository extends GenericRepository<MovementClass, Lo
     @Override
     public List<MovementClass> listByTypeAndStatus(MovementClassType type, Boolean blocked) {
 
-        final Criteria criteria = this.getSession().createCriteria(this.getPersistentClass());
+        final Criteria criteria = this.createCachedCriteria();
 
         criteria.add(Restrictions.eq("movementClassType", type));
 
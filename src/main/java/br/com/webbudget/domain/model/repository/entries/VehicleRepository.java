@@ -59,7 +59,7 @@ public class VehicleRepository extends GenericRepository<Vehicle, Long> implemen
     @Override
     public List<Vehicle> listByStatus(Boolean isBlocked) {
 
-        final Criteria criteria = this.getSession().createCriteria(this.getPersistentClass());
+        final Criteria criteria = this.createCachedCriteria();
 
         if (isBlocked != null) {
             criteria.add(Restrictions.eq("blocked", isBlocked));
@@ -16,12 +16,19 @@
  */
 package br.com.webbudget.domain.model.repository.entries;
 
+import br.com.webbudget.domain.misc.LedgerCheck;
+import br.com.webbudget.domain.misc.MoneyAccumulator;
 import br.com.webbudget.domain.model.entity.entries.Wallet;
 import br.com.webbudget.domain.model.entity.entries.WalletBalance;
 import br.com.webbudget.domain.model.entity.entries.WalletBalanceType;
 import br.com.webbudget.domain.model.repository.GenericRepository;
+import java.math.BigDecimal;
+import java.util.Date;
 import java.util.List;
 import org.hibernate.Criteria;
+import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.criterion.Order;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
@@ -108,4 +115,121 @@ public class WalletBalanceRepository extends GenericRepository<WalletBalance, Lo
 
         return criteria.list();
     }
+
+    /**
+     *
+     * @param wallet
+     * @param lastSequence
+     * @param to
+     * @return
+     */
+    @Override
+    public BigDecimal sumDeltasAfter(Wallet wallet, Long lastSequence, Date to) {
+
+        final StringBuilder hql = new StringBuilder()
+                .append("select sum(wb.actualBalance - wb.oldBalance) ")
+                .append("from WalletBalance wb ")
+                .append("where wb.targetWallet.id = :walletId ")
+                .append("and wb.reconciliation = false ")
+                .append("and wb.inclusion <= :to ");
+
+        if (lastSequence != null) {
+            hql.append("and wb.ledgerSequence > :lastSequence");
+        }
+
+        final Query query = this.getSession().createQuery(hql.toString())
+                .setParameter("walletId", wallet.getId())
+                .setParameter("to", to);
+
+        if (lastSequence != null) {
+            query.setParameter("lastSequence", lastSequence);
+        }
+
+        final BigDecimal total = (BigDecimal) query.uniqueResult();
+
+        return total != null ? total : BigDecimal.ZERO;
+    }
+
+    /**
+     *
+     * @param wallet
+     * @param from
+     * @param to
+     * @return
+     */
+    @Override
+    public List<WalletBalance> listByWalletBetween(Wallet wallet, Date from, Date to) {
+
+        final Criteria criteria = this.createCriteria();
+
+        criteria.add(Restrictions.eq("targetWallet.id", wallet.getId()));
+        criteria.add(Restrictions.gt("inclusion", from));
+        criteria.add(Restrictions.le("inclusion", to));
+
+        criteria.addOrder(Order.asc("inclusion"));
+
+        return criteria.list();
+    }
+
+    /**
+     *
+     * @param wallet
+     * @return
+     */
+    @Override
+    public LedgerCheck checkLedger(Wallet wallet) {
+
+        // o saldo gravado e lido na mesma transacao do razao, assim os dois 
+        // vem do mesmo retrato do banco
+        final BigDecimal storedBalance = (BigDecimal) this.getSession()
+                .createQuery("select w.balance from Wallet w where w.id = :walletId")
+                .setParameter("walletId", wallet.getId())
+                .uniqueResult();
+
+        final ScrollableResults results = this.getSession()
+                .createQuery("select wb.oldBalance, wb.actualBalance, wb.reconciliation "
+                        + "from WalletBalance wb "
+                        + "where wb.targetWallet.id = :walletId "
+                        + "order by wb.inclusion, wb.id")
+                .setParameter("walletId", wallet.getId())
+                .setReadOnly(true)
+                .setFetchSize(this.streamingFetchSize())
+                .scroll(ScrollMode.FORWARD_ONLY);
+
+        final MoneyAccumulator ledgerBalance = new MoneyAccumulator();
+
+        long entries = 0;
+        long chainBreaks = 0;
+
+        try {
+            BigDecimal lastBalance = null;
+
+            while (results.next()) {
+
+                final Object[] row = results.get();
+
+                final BigDecimal oldBalance = (BigDecimal) row[0];
+                final BigDecimal actualBalance = (BigDecimal) row[1];
+
+                // as reconciliacoes repoem no saldo o que o razao ja contava
+                if (!(Boolean) row[2]) {
+                    ledgerBalance.add(actualBalance.subtract(oldBalance));
+                }
+
+                // o saldo anterior deveria ser o saldo final do registro 
+                // anterior, quando nao e houve atualizacao concorrente
+                if (lastBalance != null && lastBalance.compareTo(oldBalance) != 0) {
+                    chainBreaks++;
+                }
+
+                lastBalance = actualBalance;
+                entries++;
+            }
+        } finally {
+            results.close();
+        }
+
+        return new LedgerCheck(wallet, storedBalance, 
+                ledgerBalance.toBigDecimal(), entries, chainBreaks);
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.repository.entries;
+
+import br.com.webbudget.domain.model.entity.entries.Wallet;
+import br.com.webbudget.domain.model.entity.entries.WalletCheckpoint;
+import br.com.webbudget.domain.model.repository.GenericRepository;
+import java.util.Date;
+import org.hibernate.Criteria;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Restrictions;
+
+/**
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public class WalletCheckpointRepository extends GenericRepository<WalletCheckpoint, Long> implements IWalletCheckpointRepository {
+
+    /**
+     *
+     * @param wallet
+     * @param instant
+     * @return
+     */
+    @Override
+    public WalletCheckpoint findLatestUntil(Wallet wallet, Date instant) {
+
+        final Criteria criteria = this.createCriteria();
+
+        criteria.add(Restrictions.eq("wallet.id", wallet.getId()));
+        criteria.add(Restrictions.le("checkpointDate", instant));
+
+        criteria.addOrder(Order.desc("checkpointDate"));
+        criteria.setMaxResults(1);
+
+        return (WalletCheckpoint) criteria.uniqueResult();
+    }
+}
@@ -17,13 +17,20 @@
 package br.com.webbudget.domain.model.repository.entries;
 
 import br.com.webbudget.domain.model.entity.entries.Wallet;
+import br.com.webbudget.domain.model.entity.entries.WalletCheckpoint;
 import br.com.webbudget.domain.model.entity.entries.WalletType;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
+import br.com.webbudget.domain.model.projection.WalletRow;
 import br.com.webbudget.domain.model.repository.GenericRepository;
+import java.math.BigDecimal;
+import java.util.Date;
 import java.util.List;
 import org.hibernate.Criteria;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
 import org.hibernate.criterion.Order;
+import org.hibernate.criterion.ProjectionList;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 
@@ -44,7 +51,7 @@ public class WalletRepository extends GenericRepository<Wallet, Long> implements
     @Override
     public List<Wallet> listByStatus(Boolean isBlocked) {
 
-        final Criteria criteria = this.getSession().createCriteria(this.getPersistentClass());
+        final Criteria criteria = this.createCachedCriteria();
 
         if (isBlocked != null) {
             criteria.add(Restrictions.eq("blocked", isBlocked));
@@ -62,7 +69,7 @@ public class WalletRepository extends GenericRepository<Wallet, Long> implements
      * @return 
      */
     @Override
-    public Page<Wallet> listLazilyByStatus(Boolean isBlocked, PageRequest pageRequest) {
+    public Page<WalletRow> listLazilyByStatus(Boolean isBlocked, PageRequest pageRequest) {
         
         final Criteria criteria = this.createCriteria();
 
@@ -70,27 +77,17 @@ public class WalletRepository extends GenericRepository<Wallet, Long> implements
             criteria.add(Restrictions.eq("blocked", isBlocked));
         }
 
-        // projetamos para pegar o total de paginas possiveis
-        criteria.setProjection(Projections.count("id"));
-
-        final Long totalRows = (Long) criteria.uniqueResult();
-
-        // limpamos a projection para que a criteria seja reusada
-        criteria.setProjection(null);
-        criteria.setResultTransformer(Criteria.ROOT_ENTITY);
-
-        // paginamos
-        criteria.setFirstResult(pageRequest.getFirstResult());
-        criteria.setMaxResults(pageRequest.getPageSize());
-
-        if (pageRequest.getSortDirection() == PageRequest.SortDirection.ASC) {
-            criteria.addOrder(Order.asc(pageRequest.getSortField()));
-        } else if (pageRequest.getSortDirection() == PageRequest.SortDirection.DESC) {
-            criteria.addOrder(Order.desc(pageRequest.getSortField()));
-        }
-
-        // montamos o resultado paginado
-        return new Page<>(criteria.list(), totalRows);
+        // projetamos apenas as colunas exibidas na listagem
+        final ProjectionList columns = Projections.projectionList()
+                .add(Projections.property("id"), "id")
+                .add(Projections.property("inclusion"), "inclusion")
+                .add(Projections.property("name"), "name")
+                .add(Projections.property("bank"), "bank")
+                .add(Projections.property("balance"), "balance")
+                .add(Projections.property("blocked"), "blocked")
+                .add(Projections.property("walletType"), "walletType");
+
+        return this.listRows(criteria, columns, WalletRow.class, pageRequest);
     }
     
     /**
@@ -114,4 +111,86 @@ public class WalletRepository extends GenericRepository<Wallet, Long> implements
 
         return (Wallet) criteria.uniqueResult();
     }
+
+    /**
+     *
+     * @param wallet
+     * @param delta
+     * @return
+     */
+    @Override
+    public BigDecimal addToBalance(Wallet wallet, BigDecimal delta) {
+
+        // o incremento e feito pelo banco, a linha fica travada ate o commit
+        // e atualizacoes concorrentes da mesma carteira nao se perdem
+        this.getSession()
+                .createQuery("update Wallet wa "
+                        + "set wa.balance = wa.balance + :delta, "
+                        + "wa.ledgerSequence = wa.ledgerSequence + 1, "
+                        + "wa.lastEdition = :lastEdition "
+                        + "where wa.id = :walletId")
+                .setParameter("delta", delta)
+                .setParameter("lastEdition", new Date())
+                .setParameter("walletId", wallet.getId())
+                .executeUpdate();
+
+        // o update em lote nao passa pelo contexto de persistencia, entao 
+        // descartamos a carteira do cache
+        this.getEntityManager().getEntityManagerFactory()
+                .getCache().evict(Wallet.class, wallet.getId());
+
+        // com a linha travada por nos, o saldo e a posicao lidos sao o 
+        // resultado do incremento
+        final Object[] ledger = (Object[]) this.getSession()
+                .createQuery("select wa.balance, wa.ledgerSequence "
+                        + "from Wallet wa where wa.id = :walletId")
+                .setParameter("walletId", wallet.getId())
+                .uniqueResult();
+        
+        wallet.setLedgerSequence((Long) ledger[1]);
+        
+        return (BigDecimal) ledger[0];
+    }
+
+    /**
+     *
+     * @param wallet
+     * @return
+     */
+    @Override
+    public BigDecimal lockBalance(Wallet wallet) {
+        // a trava vai na consulta inteira, a trava por alias so vale quando a 
+        // entidade e selecionada e aqui lemos apenas colunas
+        return (BigDecimal) this.getSession()
+                .createQuery("select wa.balance from Wallet wa where wa.id = :walletId")
+                .setParameter("walletId", wallet.getId())
+                .setLockOptions(new LockOptions(LockMode.PESSIMISTIC_WRITE))
+                .uniqueResult();
+    }
+
+    /**
+     *
+     * @param wallet
+     * @return
+     */
+    @Override
+    public WalletCheckpoint lockCheckpoint(Wallet wallet) {
+
+        // saldo e posicao na mesma leitura travada, uma leitura sem trava 
+        // depois dela poderia vir do retrato antigo da transacao
+        final Object[] ledger = (Object[]) this.getSession()
+                .createQuery("select wa.balance, wa.ledgerSequence "
+                        + "from Wallet wa where wa.id = :walletId")
+                .setParameter("walletId", wallet.getId())
+                .setLockOptions(new LockOptions(LockMode.PESSIMISTIC_WRITE))
+                .uniqueResult();
+
+        final WalletCheckpoint checkpoint = new WalletCheckpoint();
+
+        checkpoint.setWallet(wallet);
+        checkpoint.setBalance((BigDecimal) ledger[0]);
+        checkpoint.setLastLedgerSequence((Long) ledger[1]);
+
+        return checkpoint;
+    }
 }
@@ -21,9 +21,11 @@ import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
 import br.com.webbudget.domain.model.entity.financial.FixedMovement;
 import br.com.webbudget.domain.model.entity.financial.Movement;
 import br.com.webbudget.domain.model.entity.entries.MovementClass;
+import br.com.webbudget.domain.model.entity.entries.MovementClassType;
 import br.com.webbudget.domain.model.entity.financial.MovementStateType;
 import br.com.webbudget.domain.model.repository.GenericRepository;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import org.hibernate.Criteria;
 import org.hibernate.criterion.Projections;
@@ -109,4 +111,43 @@ public class ApportionmentRepository extends GenericRepository<Apportionment, Lo
 
         return (BigDecimal) criteria.uniqueResult();
     }
+
+    /**
+     * 
+     * @param period
+     * @param direction
+     * @param limit
+     * @return 
+     */
+    @Override
+    public List<MovementClass> listTopClassesByPeriodAndDirection(FinancialPeriod period, 
+            MovementClassType direction, int limit) {
+        
+        final List<Object[]> rows = this.getSession()
+                .createQuery("select mc, sum(ap.value) from Apportionment ap "
+                        + "join ap.movement mv "
+                        + "join ap.movementClass mc "
+                        + "where mv.financialPeriod.id = :periodId "
+                        + "and mv.movementStateType in (:states) "
+                        + "and mc.movementClassType = :direction "
+                        + "and mc.blocked = false "
+                        + "group by mc "
+                        + "order by sum(ap.value) desc")
+                .setParameter("periodId", period.getId())
+                .setParameterList("states", new Object[]{
+                    MovementStateType.PAID, MovementStateType.CALCULATED})
+                .setParameter("direction", direction)
+                .setMaxResults(limit)
+                .list();
+        
+        final List<MovementClass> classes = new ArrayList<>(rows.size());
+        
+        for (Object[] row : rows) {
+            final MovementClass movementClass = (MovementClass) row[0];
+            movementClass.setTotalMovements((BigDecimal) row[1]);
+            classes.add(movementClass);
+        }
+        
+        return classes;
+    }
 }
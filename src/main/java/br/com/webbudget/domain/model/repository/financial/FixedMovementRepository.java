@@ -20,13 +20,14 @@ import br.com.webbudget.domain.model.entity.financial.FixedMovement;
 import br.com.webbudget.domain.model.entity.financial.FixedMovementStatusType;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
+import br.com.webbudget.domain.model.projection.FixedMovementRow;
 import br.com.webbudget.domain.model.repository.GenericRepository;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import org.hibernate.Criteria;
 import org.hibernate.criterion.Criterion;
-import org.hibernate.criterion.Order;
+import org.hibernate.criterion.ProjectionList;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 
@@ -62,7 +63,7 @@ public class FixedMovementRepository extends GenericRepository<FixedMovement, Lo
      * @return
      */
     @Override
-    public Page<FixedMovement> listByFilter(String filter, PageRequest pageRequest) {
+    public Page<FixedMovementRow> listByFilter(String filter, PageRequest pageRequest) {
 
         final Criteria criteria = this.createCriteria();
 
@@ -83,26 +84,14 @@ public class FixedMovementRepository extends GenericRepository<FixedMovement, Lo
 
         criteria.add(Restrictions.or(criterions.toArray(new Criterion[]{})));
 
-        // projetamos para pegar o total de paginas possiveis
-        criteria.setProjection(Projections.count("id"));
+        // projetamos apenas as colunas exibidas na listagem
+        final ProjectionList columns = Projections.projectionList()
+                .add(Projections.property("id"), "id")
+                .add(Projections.property("inclusion"), "inclusion")
+                .add(Projections.property("identification"), "identification")
+                .add(Projections.property("autoLaunch"), "autoLaunch")
+                .add(Projections.property("fixedMovementStatusType"), "fixedMovementStatusType");
 
-        final Long totalRows = (Long) criteria.uniqueResult();
-
-        // limpamos a projection para que a criteria seja reusada
-        criteria.setProjection(null);
-        criteria.setResultTransformer(Criteria.ROOT_ENTITY);
-
-        // paginamos
-        criteria.setFirstResult(pageRequest.getFirstResult());
-        criteria.setMaxResults(pageRequest.getPageSize());
-
-        if (pageRequest.getSortDirection() == PageRequest.SortDirection.ASC) {
-            criteria.addOrder(Order.asc(pageRequest.getSortField()));
-        } else if (pageRequest.getSortDirection() == PageRequest.SortDirection.DESC) {
-            criteria.addOrder(Order.desc(pageRequest.getSortField()));
-        }
-
-        // montamos o resultado paginado
-        return new Page<>(criteria.list(), totalRows);
+        return this.listRows(criteria, columns, FixedMovementRow.class, pageRequest);
     }
 }
@@ -21,6 +21,7 @@ import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
 import br.com.webbudget.domain.model.entity.financial.FixedMovement;
 import br.com.webbudget.domain.model.entity.financial.Movement;
 import br.com.webbudget.domain.model.entity.entries.MovementClass;
+import br.com.webbudget.domain.model.entity.entries.MovementClassType;
 import br.com.webbudget.domain.model.repository.IGenericRepository;
 import java.math.BigDecimal;
 import java.util.List;
@@ -62,4 +63,15 @@ public interface IApportionmentRepository extends IGenericRepository<Apportionme
      * @return 
      */
     public BigDecimal totalMovementsPerClassAndPeriod(FinancialPeriod period, MovementClass movementClass);
+
+    /**
+     * Totaliza em uma unica consulta os rateios pagos do periodo agrupados por
+     * classe, ja ordenados do maior para o menor total
+     * 
+     * @param period o periodo
+     * @param direction a direcao das classes, entrada ou saida
+     * @param limit quantas classes devem ser retornadas
+     * @return as classes com o seu total movimentado setado
+     */
+    public List<MovementClass> listTopClassesByPeriodAndDirection(FinancialPeriod period, MovementClassType direction, int limit);
 }
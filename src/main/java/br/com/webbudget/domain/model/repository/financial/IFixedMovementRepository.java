@@ -19,6 +19,7 @@ package br.com.webbudget.domain.model.repository.financial;
 import br.com.webbudget.domain.model.entity.financial.FixedMovement;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
+import br.com.webbudget.domain.model.projection.FixedMovementRow;
 import br.com.webbudget.domain.model.repository.IGenericRepository;
 import java.util.List;
 
@@ -43,5 +44,5 @@ public interface IFixedMovementRepository extends IGenericRepository<FixedMoveme
      * @param pageRequest
      * @return 
      */
-    public Page<FixedMovement> listByFilter(String filter, PageRequest pageRequest);
+    public Page<FixedMovementRow> listByFilter(String filter, PageRequest pageRequest);
 }
@@ -19,6 +19,7 @@ package br.com.webbudget.domain.model.repository.financial;
 import br.com.webbudget.domain.model.entity.financial.FixedMovement;
 import br.com.webbudget.domain.model.entity.financial.Launch;
 import br.com.webbudget.domain.model.entity.financial.Movement;
+import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.repository.IGenericRepository;
@@ -54,6 +55,14 @@ public interface ILaunchRepository extends IGenericRepository<Launch, Long> {
      */
     public List<Launch> listByFixedMovement(FixedMovement fixedMovement);
     
+    /**
+     * 
+     * @param fixedMovementIds
+     * @param period
+     * @return os ids dos movimentos fixos que ja tem lancamento no periodo
+     */
+    public List<Long> listLaunchedFixedMovementIds(List<Long> fixedMovementIds, FinancialPeriod period);
+    
     /**
      * 
      * @param fixedMovement
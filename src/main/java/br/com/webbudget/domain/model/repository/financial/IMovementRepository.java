@@ -27,9 +27,11 @@ import br.com.webbudget.domain.model.entity.entries.MovementClass;
 import br.com.webbudget.domain.model.entity.entries.MovementClassType;
 import br.com.webbudget.domain.model.entity.financial.MovementStateType;
 import br.com.webbudget.domain.model.entity.financial.MovementType;
+import br.com.webbudget.domain.misc.ClosingCalculator;
 import br.com.webbudget.domain.misc.filter.MovementFilter;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
+import br.com.webbudget.domain.model.projection.MovementRow;
 import br.com.webbudget.domain.model.repository.IGenericRepository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -92,7 +94,7 @@ public interface IMovementRepository extends IGenericRepository<Movement, Long>
      * @param pageRequest
      * @return 
      */
-    public Page<Movement> listByFilter(MovementFilter filter, PageRequest pageRequest);
+    public Page<MovementRow> listByFilter(MovementFilter filter, PageRequest pageRequest);
     
     /**
      *
@@ -161,4 +163,34 @@ public interface IMovementRepository extends IGenericRepository<Movement, Long>
      * @return
      */
     public List<Movement> listByPeriodAndStateAndTypeAndDirection(FinancialPeriod period, MovementStateType state, MovementType type, MovementClassType direction);
+
+    /**
+     * Altera em lote, com um unico update, o estado dos movimentos do periodo
+     * informado que estao no estado de origem
+     *
+     * @param period o periodo
+     * @param from o estado atual dos movimentos que serao alterados
+     * @param to o novo estado dos movimentos
+     * @return quantos movimentos foram atualizados
+     */
+    public int updateStateByPeriod(FinancialPeriod period, MovementStateType from, MovementStateType to);
+
+    /**
+     * Percorre os movimentos do periodo em modo streaming, sem materializar as
+     * entidades, acumulando os totais do fechamento em uma unica passada
+     *
+     * @param period o periodo
+     * @return a calculadora com os totais do fechamento
+     */
+    public ClosingCalculator calculateClosingByPeriod(FinancialPeriod period);
+
+    /**
+     * Busca um lote de movimentos ordenados pelo id, a partir do ultimo id do 
+     * lote anterior, para percorrer a base toda sem paginar com offset
+     *
+     * @param lastId o ultimo id do lote anterior, zero para o primeiro lote
+     * @param batchSize o tamanho do lote
+     * @return os movimentos do lote
+     */
+    public List<Movement> listAfterId(long lastId, int batchSize);
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2015 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.repository.financial;
+
+import br.com.webbudget.domain.model.entity.entries.MovementClassType;
+import br.com.webbudget.domain.model.entity.financial.Movement;
+import br.com.webbudget.domain.model.entity.financial.MovementStateType;
+import br.com.webbudget.domain.model.entity.financial.MovementSummary;
+import br.com.webbudget.domain.model.entity.financial.MovementType;
+import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
+import br.com.webbudget.domain.model.repository.IGenericRepository;
+import java.util.List;
+
+/**
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public interface IMovementSummaryRepository extends IGenericRepository<MovementSummary, Long> {
+
+    /**
+     * Agrupa os rateios dos movimentos do periodo direto no banco e devolve 
+     * as linhas de sumario ainda nao persistidas
+     * 
+     * @param period o periodo
+     * @return as linhas de sumario calculadas a partir dos movimentos
+     */
+    public List<MovementSummary> aggregateByPeriod(FinancialPeriod period);
+    
+    /**
+     * Agrupa os rateios de um unico movimento, com o estado que ele tem no 
+     * banco, e devolve a contribuicao dele para as linhas de sumario
+     * 
+     * @param movement o movimento
+     * @return as contribuicoes do movimento, ainda nao persistidas
+     */
+    public List<MovementSummary> aggregateByMovement(Movement movement);
+    
+    /**
+     * Trava o periodo ate o fim da transacao, as linhas de sumario dele so 
+     * podem ser alteradas por quem tem a trava
+     * 
+     * @param period o periodo
+     */
+    public void lockPeriod(FinancialPeriod period);
+    
+    /**
+     * Soma ou subtrai a contribuicao de um movimento da linha de sumario com
+     * a mesma combinacao, criando a linha se ela ainda nao existir. Deve ser
+     * chamado com o periodo da contribuicao travado
+     * 
+     * @param contribution a contribuicao do movimento
+     * @param signal positivo para somar, negativo para subtrair
+     * @throws IllegalStateException se for subtrair e a linha nao existir
+     */
+    public void accumulate(MovementSummary contribution, int signal);
+    
+    /**
+     * Remove as linhas do periodo que ficaram sem nenhum movimento
+     * 
+     * @param period o periodo
+     */
+    public void deleteEmptyByPeriod(FinancialPeriod period);
+    
+    /**
+     *
+     * @param period
+     * @param state
+     * @param type
+     * @param direction
+     * @return
+     */
+    public List<MovementSummary> listByPeriodAndStateAndTypeAndDirection(FinancialPeriod period, MovementStateType state, MovementType type, MovementClassType direction);
+    
+    /**
+     * 
+     * @param period 
+     */
+    public void deleteByPeriod(FinancialPeriod period);
+    
+    /**
+     * Remove todas as linhas de sumario
+     */
+    public void deleteAll();
+}
@@ -19,6 +19,7 @@ package br.com.webbudget.domain.model.repository.financial;
 import br.com.webbudget.domain.model.entity.financial.FixedMovement;
 import br.com.webbudget.domain.model.entity.financial.Launch;
 import br.com.webbudget.domain.model.entity.financial.Movement;
+import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.repository.GenericRepository;
@@ -88,6 +89,28 @@ public class LaunchRepository extends GenericRepository<Launch, Long> implements
         return criteria.list();
     }
 
+    /**
+     * 
+     * @param fixedMovementIds
+     * @param period
+     * @return 
+     */
+    @Override
+    public List<Long> listLaunchedFixedMovementIds(List<Long> fixedMovementIds, FinancialPeriod period) {
+        
+        final Criteria criteria = this.createCriteria();
+        
+        criteria.createAlias("fixedMovement", "fm");
+        criteria.createAlias("financialPeriod", "fp");
+        
+        criteria.add(Restrictions.in("fm.id", fixedMovementIds));
+        criteria.add(Restrictions.eq("fp.id", period.getId()));
+        
+        criteria.setProjection(Projections.distinct(Projections.property("fm.id")));
+        
+        return criteria.list();
+    }
+
     /**
      * 
      * @param fixedMovement
@@ -20,6 +20,7 @@ import br.com.webbudget.domain.model.entity.entries.Card;
 import br.com.webbudget.domain.model.entity.entries.CardInvoice;
 import br.com.webbudget.domain.model.entity.entries.CardType;
 import br.com.webbudget.domain.model.entity.entries.Contact;
+import br.com.webbudget.domain.model.entity.PersistentEntityListener;
 import br.com.webbudget.domain.model.entity.entries.CostCenter;
 import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
 import br.com.webbudget.domain.model.entity.financial.Movement;
@@ -27,22 +28,35 @@ import br.com.webbudget.domain.model.entity.entries.MovementClass;
 import br.com.webbudget.domain.model.entity.entries.MovementClassType;
 import br.com.webbudget.domain.model.entity.financial.MovementStateType;
 import br.com.webbudget.domain.model.entity.financial.MovementType;
+import br.com.webbudget.domain.model.entity.financial.PaymentMethodType;
+import br.com.webbudget.domain.misc.ClosingCalculator;
 import br.com.webbudget.domain.misc.filter.MovementFilter;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
-import br.com.webbudget.application.component.table.PageRequest.SortDirection;
+import br.com.webbudget.domain.model.projection.MovementRow;
 import br.com.webbudget.domain.model.repository.GenericRepository;
 import java.math.BigDecimal;
 import java.text.ParseException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
 import org.hibernate.Criteria;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.Order;
+import org.hibernate.criterion.ProjectionList;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 import org.hibernate.sql.JoinType;
+import org.hibernate.transform.Transformers;
 
 /**
  *
@@ -54,6 +68,9 @@ import org.hibernate.sql.JoinType;
 public class MovementRepository extends GenericRepository<Movement, Long>
         implements IMovementRepository {
 
+    @Inject
+    private BeanManager beanManager;
+
     /**
      * 
      * @param movementCode
@@ -146,7 +163,7 @@ public class MovementRepository extends GenericRepository<Movement, Long>
      * @return
      */
     @Override
-    public Page<Movement> listByFilter(MovementFilter filter, PageRequest pageRequest) {
+    public Page<MovementRow> listByFilter(MovementFilter filter, PageRequest pageRequest) {
 
         final Criteria criteria = this.createCriteria();
 
@@ -158,8 +175,16 @@ public class MovementRepository extends GenericRepository<Movement, Long>
         criteria.createAlias("ap.costCenter", "cc");
         criteria.createAlias("financialPeriod", "fp");
 
-        // montramos os criterios de filtragem geral
-        if (filter.hasCriteria()) {
+        // se o indice ja resolveu o criterio, filtramos apenas pelos ids
+        // encontrados, senao montramos os criterios de filtragem geral
+        if (filter.hasCriteria() && filter.hasCandidates()) {
+            
+            if (filter.getCandidates().isEmpty()) {
+                return new Page<>(new ArrayList<>(), 0L);
+            }
+            
+            criterions.add(Restrictions.in("id", filter.getCandidates()));
+        } else if (filter.hasCriteria()) {
             criterions.add(Restrictions.eq("code", filter.getCriteria()));
             criterions.add(Restrictions.ilike(
                     "description", "%" + filter.getCriteria() + "%"));
@@ -180,39 +205,144 @@ public class MovementRepository extends GenericRepository<Movement, Long>
         criteria.add(Restrictions.or(criterions.toArray(new Criterion[]{})));
         criteria.add(Restrictions.and(filter.getCustomFilters()));
 
-        // projetamos para pegar o total de paginas possiveis
-        criteria.setProjection(Projections.count("id"));
-
-        final Long totalRows = (Long) criteria.uniqueResult();
-
-        // limpamos a projection para que a criteria seja reusada
-        criteria.setProjection(null);
-        criteria.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY);
+        // sem filtro deixamos a contagem no cache de consultas, que o 
+        // hibernate invalida sozinho a cada escrita em movimentos ou rateios.
+        // O join com os rateios multiplica as linhas, entao contamos os ids
+        // distintos
+        final Long totalRows;
+        
+        if (filter.isUnfiltered()) {
+            totalRows = this.countAll();
+        } else {
+            criteria.setProjection(Projections.countDistinct("id"));
+            totalRows = (Long) criteria.uniqueResult();
+        }
+        
+        if (totalRows == 0) {
+            return new Page<>(new ArrayList<>(), 0L);
+        }
 
-        // paginamos
-        criteria.setFirstResult(pageRequest.getFirstResult());
+        // primeira fase: apenas as chaves da pagina, os campos de ordenacao
+        // entram na projecao para que o distinct possa ser ordenado por eles
+        final ProjectionList keys = Projections.projectionList()
+                .add(Projections.property("id"), "id")
+                .add(Projections.property("inclusion"), "inclusion");
+        
+        pageRequest.getSortFields()
+                .stream()
+                .filter(field -> !"id".equals(field) && !"inclusion".equals(field))
+                .forEach(field -> keys.add(Projections.property(field)));
+        
+        criteria.setProjection(Projections.distinct(keys));
+
+        // paginamos, se temos a chave da pagina anterior usamos ela como 
+        // predicado de range para nao varrer os registros ja exibidos
+        if (pageRequest.isSeeking()) {
+            criteria.add(Restrictions.or(
+                    Restrictions.lt("inclusion", pageRequest.getLastInclusion()),
+                    Restrictions.and(
+                            Restrictions.eq("inclusion", pageRequest.getLastInclusion()),
+                            Restrictions.lt("id", pageRequest.getLastId()))));
+            criteria.setFirstResult(0);
+        } else {
+            criteria.setFirstResult(pageRequest.getFirstResult());
+        }
+        
         criteria.setMaxResults(pageRequest.getPageSize());
 
         // aplica o multisort dos campos
-        if (pageRequest.isMultiSort()) {
-            pageRequest
-                    .getMultiSortFields()
-                    .stream()
-                    .forEach(field -> {
-                        if (field.getDirection() == SortDirection.ASC) {
-                            criteria.addOrder(Order.asc(field.getSortField()));
-                        } else if (field.getDirection() == SortDirection.DESC) {
-                            criteria.addOrder(Order.desc(field.getSortField()));
-                        }
-                    });
-        } else if (pageRequest.getSortDirection() == SortDirection.ASC) {
-            criteria.addOrder(Order.asc(pageRequest.getSortField()));
-        } else if (pageRequest.getSortDirection() == SortDirection.DESC) {
-            criteria.addOrder(Order.desc(pageRequest.getSortField()));
+        if (pageRequest.isSeeking()) {
+            criteria.addOrder(Order.desc("inclusion"));
+        } else {
+            this.applySorting(criteria, pageRequest);
         }
+        
+        // desempata pelo id para que a ordem seja estavel entre as paginas
+        criteria.addOrder(Order.desc("id"));
 
+        final List<Object[]> pageKeys = criteria.list();
+        
+        final List<Long> ids = pageKeys.stream()
+                .map(key -> (Long) key[0])
+                .collect(Collectors.toList());
+
+        // segunda fase: as linhas apenas dos ids da pagina, ja sem filtros
+        final List<MovementRow> movements = this.listRowsByIds(ids);
+        
         // montamos o resultado paginado
-        return new Page<>(criteria.list(), totalRows);
+        final Page<MovementRow> page = new Page<>(movements, totalRows);
+        
+        if (!pageKeys.isEmpty()) {
+            final Object[] last = pageKeys.get(pageKeys.size() - 1);
+            page.setLastKey((Date) last[1], (Long) last[0]);
+        }
+        
+        return page;
+    }
+    
+    /**
+     * @return o total de movimentos listaveis, com os mesmos joins da 
+     * listagem, vindo do cache de consultas se nao houve escrita nas tabelas
+     * desde a ultima contagem
+     */
+    private Long countAll() {
+        
+        final Criteria criteria = this.createCachedCriteria();
+        
+        criteria.createAlias("apportionments", "ap");
+        criteria.createAlias("financialPeriod", "fp");
+        
+        criteria.setProjection(Projections.countDistinct("id"));
+        
+        return (Long) criteria.uniqueResult();
+    }
+    
+    /**
+     * Projeta as linhas da listagem para os ids informados mantendo a ordem 
+     * em que os ids foram passados. Um movimento excluido entre a busca dos 
+     * ids e esta consulta fica de fora da pagina
+     * 
+     * @param ids os ids dos movimentos da pagina
+     * @return as linhas da listagem
+     */
+    private List<MovementRow> listRowsByIds(List<Long> ids) {
+        
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        final Criteria criteria = this.createCriteria();
+        
+        criteria.createAlias("apportionments", "ap");
+        criteria.createAlias("ap.movementClass", "mc");
+        criteria.createAlias("financialPeriod", "fp");
+        
+        criteria.add(Restrictions.in("id", ids));
+
+        // a direcao e a mesma em todos os rateios entao o distinct colapsa 
+        // o join em uma linha por movimento
+        criteria.setProjection(Projections.distinct(Projections.projectionList()
+                .add(Projections.property("id"), "id")
+                .add(Projections.property("inclusion"), "inclusion")
+                .add(Projections.property("code"), "code")
+                .add(Projections.property("description"), "description")
+                .add(Projections.property("value"), "value")
+                .add(Projections.property("dueDate"), "dueDate")
+                .add(Projections.property("movementStateType"), "movementStateType")
+                .add(Projections.property("mc.movementClassType"), "direction")
+                .add(Projections.property("fp.closed"), "periodClosed")));
+        criteria.setResultTransformer(Transformers.aliasToBean(MovementRow.class));
+        
+        final List<MovementRow> rows = criteria.list();
+        
+        final Map<Long, MovementRow> byId = rows.stream()
+                .collect(Collectors.toMap(MovementRow::getId, 
+                        Function.identity(), (first, second) -> first));
+        
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -422,4 +552,99 @@ public class MovementRepository extends GenericRepository<Movement, Long>
 
         return criteria.list();
     }
+
+    /**
+     *
+     * @param period
+     * @param from
+     * @param to
+     * @return
+     */
+    @Override
+    public int updateStateByPeriod(FinancialPeriod period, MovementStateType from, MovementStateType to) {
+        
+        // o update em lote nao passa pelo listener das entidades, entao 
+        // preenchemos a auditoria aqui
+        return this.getSession()
+                .createQuery("update Movement mv "
+                        + "set mv.movementStateType = :to, "
+                        + "mv.lastEdition = :lastEdition, "
+                        + "mv.editedBy = :editedBy "
+                        + "where mv.financialPeriod.id = :periodId "
+                        + "and mv.movementStateType = :from")
+                .setParameter("to", to)
+                .setParameter("from", from)
+                .setParameter("lastEdition", new Date())
+                .setParameter("editedBy", PersistentEntityListener
+                        .currentUsername(this.beanManager))
+                .setParameter("periodId", period.getId())
+                .executeUpdate();
+    }
+
+    /**
+     *
+     * @param period
+     * @return
+     */
+    @Override
+    public ClosingCalculator calculateClosingByPeriod(FinancialPeriod period) {
+
+        final ClosingCalculator calculator = new ClosingCalculator();
+
+        // buscamos apenas os valores necessarios, ordenados pelo movimento
+        // para que cada movimento seja contado uma unica vez mesmo tendo
+        // mais de um rateio. O fetch size minimo faz o driver do MySQL trazer
+        // as linhas sob demanda ao inves de carregar todo o resultado
+        final ScrollableResults results = this.getSession()
+                .createQuery("select mv.id, mv.value, mv.movementType, "
+                        + "py.paymentMethodType, mc.movementClassType "
+                        + "from Movement mv "
+                        + "left join mv.payment py "
+                        + "left join mv.apportionments ap "
+                        + "left join ap.movementClass mc "
+                        + "where mv.financialPeriod.id = :periodId "
+                        + "order by mv.id, ap.id")
+                .setParameter("periodId", period.getId())
+                .setReadOnly(true)
+                .setFetchSize(this.streamingFetchSize())
+                .scroll(ScrollMode.FORWARD_ONLY);
+
+        try {
+            Long lastId = null;
+            
+            while (results.next()) {
+
+                final Object[] row = results.get();
+                final Long id = (Long) row[0];
+
+                if (!id.equals(lastId)) {
+                    calculator.add((BigDecimal) row[1], (MovementType) row[2],
+                            (PaymentMethodType) row[3], (MovementClassType) row[4]);
+                    lastId = id;
+                }
+            }
+        } finally {
+            results.close();
+        }
+
+        return calculator;
+    }
+
+    /**
+     *
+     * @param lastId
+     * @param batchSize
+     * @return
+     */
+    @Override
+    public List<Movement> listAfterId(long lastId, int batchSize) {
+
+        final Criteria criteria = this.createCriteria();
+
+        criteria.add(Restrictions.gt("id", lastId));
+        criteria.addOrder(Order.asc("id"));
+        criteria.setMaxResults(batchSize);
+
+        return criteria.list();
+    }
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2015 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.repository.financial;
+
+import br.com.webbudget.domain.model.entity.entries.CostCenter;
+import br.com.webbudget.domain.model.entity.entries.MovementClass;
+import br.com.webbudget.domain.model.entity.entries.MovementClassType;
+import br.com.webbudget.domain.model.entity.financial.Movement;
+import br.com.webbudget.domain.model.entity.financial.MovementStateType;
+import br.com.webbudget.domain.model.entity.financial.MovementSummary;
+import br.com.webbudget.domain.model.entity.financial.MovementType;
+import br.com.webbudget.domain.model.entity.financial.PaymentMethodType;
+import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
+import br.com.webbudget.domain.model.repository.GenericRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.Criteria;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Query;
+import org.hibernate.criterion.Restrictions;
+
+/**
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public class MovementSummaryRepository extends GenericRepository<MovementSummary, Long> 
+        implements IMovementSummaryRepository {
+
+    /**
+     * 
+     * @param period
+     * @return 
+     */
+    @Override
+    public List<MovementSummary> aggregateByPeriod(FinancialPeriod period) {
+        return this.aggregate("mv.financialPeriod.id = :id", period.getId());
+    }
+
+    /**
+     * 
+     * @param movement
+     * @return 
+     */
+    @Override
+    public List<MovementSummary> aggregateByMovement(Movement movement) {
+        return this.aggregate("mv.id = :id", movement.getId());
+    }
+
+    /**
+     * 
+     * @param period 
+     */
+    @Override
+    public void lockPeriod(FinancialPeriod period) {
+        this.getSession()
+                .createQuery("select fp.id from FinancialPeriod fp where fp.id = :periodId")
+                .setParameter("periodId", period.getId())
+                .setLockOptions(new LockOptions(LockMode.PESSIMISTIC_WRITE))
+                .uniqueResult();
+    }
+
+    /**
+     * 
+     * @param contribution
+     * @param signal 
+     */
+    @Override
+    public void accumulate(MovementSummary contribution, int signal) {
+        
+        final BigDecimal total = signal < 0 
+                ? contribution.getTotal().negate() : contribution.getTotal();
+        final long quantity = signal < 0 
+                ? -contribution.getQuantity() : contribution.getQuantity();
+        
+        // data e forma de pagamento sao nulas nos movimentos em aberto e o 
+        // igual do sql nao casa nulos
+        final StringBuilder hql = new StringBuilder("update MovementSummary ms "
+                + "set ms.total = ms.total + :total, "
+                + "ms.quantity = ms.quantity + :quantity "
+                + "where ms.financialPeriod.id = :periodId "
+                + "and ms.movementClass.id = :movementClassId "
+                + "and ms.costCenter.id = :costCenterId "
+                + "and ms.direction = :direction "
+                + "and ms.movementStateType = :state "
+                + "and ms.movementType = :type ");
+        
+        hql.append(contribution.getPaymentDate() == null 
+                ? "and ms.paymentDate is null " 
+                : "and ms.paymentDate = :paymentDate ");
+        hql.append(contribution.getPaymentMethodType() == null 
+                ? "and ms.paymentMethodType is null" 
+                : "and ms.paymentMethodType = :paymentMethod");
+
+        final Query query = this.getSession()
+                .createQuery(hql.toString())
+                .setParameter("total", total)
+                .setParameter("quantity", quantity)
+                .setParameter("periodId", contribution.getFinancialPeriod().getId())
+                .setParameter("movementClassId", contribution.getMovementClass().getId())
+                .setParameter("costCenterId", contribution.getCostCenter().getId())
+                .setParameter("direction", contribution.getDirection())
+                .setParameter("state", contribution.getMovementStateType())
+                .setParameter("type", contribution.getMovementType());
+        
+        if (contribution.getPaymentDate() != null) {
+            query.setParameter("paymentDate", contribution.getPaymentDate());
+        }
+        
+        if (contribution.getPaymentMethodType() != null) {
+            query.setParameter("paymentMethod", contribution.getPaymentMethodType());
+        }
+        
+        // com o periodo travado ninguem cria a mesma linha ao mesmo tempo, 
+        // entao sem linha para a combinacao a contribuicao vira uma linha nova
+        if (query.executeUpdate() == 0) {
+            if (signal < 0) {
+                throw new IllegalStateException(String.format(
+                        "No summary row to withdraw from in period %d", 
+                        contribution.getFinancialPeriod().getId()));
+            }
+            this.save(contribution);
+        }
+    }
+
+    /**
+     * 
+     * @param period 
+     */
+    @Override
+    public void deleteEmptyByPeriod(FinancialPeriod period) {
+        this.getSession()
+                .createQuery("delete from MovementSummary ms "
+                        + "where ms.financialPeriod.id = :periodId "
+                        + "and ms.quantity <= 0")
+                .setParameter("periodId", period.getId())
+                .executeUpdate();
+    }
+
+    /**
+     * Agrupa os rateios dos movimentos que atendem a restricao, cada linha 
+     * conta os movimentos distintos que contribuem para ela
+     * 
+     * @param restriction a restricao sobre o movimento
+     * @param id o valor do parametro da restricao
+     * @return as linhas de sumario ainda nao persistidas
+     */
+    private List<MovementSummary> aggregate(String restriction, Long id) {
+        
+        final List<Object[]> rows = this.getSession()
+                .createQuery("select mc.id, cc.id, py.paymentDate, "
+                        + "mc.movementClassType, mv.movementStateType, "
+                        + "mv.movementType, py.paymentMethodType, "
+                        + "sum(ap.value), count(distinct mv.id), fp.id "
+                        + "from Apportionment ap "
+                        + "join ap.movement mv "
+                        + "join mv.financialPeriod fp "
+                        + "join ap.movementClass mc "
+                        + "join ap.costCenter cc "
+                        + "left join mv.payment py "
+                        + "where " + restriction + " "
+                        + "group by fp.id, mc.id, cc.id, py.paymentDate, "
+                        + "mc.movementClassType, mv.movementStateType, "
+                        + "mv.movementType, py.paymentMethodType")
+                .setParameter("id", id)
+                .list();
+        
+        final List<MovementSummary> summaries = new ArrayList<>(rows.size());
+        
+        for (Object[] row : rows) {
+            
+            final MovementSummary summary = new MovementSummary();
+            
+            summary.setFinancialPeriod((FinancialPeriod) this.getSession()
+                    .load(FinancialPeriod.class, (Long) row[9]));
+            summary.setMovementClass((MovementClass) this.getSession()
+                    .load(MovementClass.class, (Long) row[0]));
+            summary.setCostCenter((CostCenter) this.getSession()
+                    .load(CostCenter.class, (Long) row[1]));
+            summary.setPaymentDate((LocalDate) row[2]);
+            summary.setDirection((MovementClassType) row[3]);
+            summary.setMovementStateType((MovementStateType) row[4]);
+            summary.setMovementType((MovementType) row[5]);
+            summary.setPaymentMethodType((PaymentMethodType) row[6]);
+            summary.setTotal((BigDecimal) row[7]);
+            summary.setQuantity((Long) row[8]);
+            
+            summaries.add(summary);
+        }
+        
+        return summaries;
+    }
+
+    /**
+     * 
+     * @param period
+     * @param state
+     * @param type
+     * @param direction
+     * @return 
+     */
+    @Override
+    public List<MovementSummary> listByPeriodAndStateAndTypeAndDirection(FinancialPeriod period, 
+            MovementStateType state, MovementType type, MovementClassType direction) {
+        
+        if (period == null) {
+            throw new NullPointerException("Period can't be null");
+        }
+        
+        final Criteria criteria = this.createCriteria();
+
+        criteria.createAlias("financialPeriod", "fp");
+        criteria.add(Restrictions.eq("fp.id", period.getId()));
+        
+        if (state != null) {
+            criteria.add(Restrictions.eq("movementStateType", state));
+        }
+        
+        if (type != null) {
+            criteria.add(Restrictions.eq("movementType", type));
+        }
+        
+        if (direction != null) {
+            criteria.add(Restrictions.eq("direction", direction));
+        }
+
+        return criteria.list();
+    }
+
+    /**
+     * 
+     * @param period 
+     */
+    @Override
+    public void deleteByPeriod(FinancialPeriod period) {
+        this.getSession()
+                .createQuery("delete from MovementSummary ms "
+                        + "where ms.financialPeriod.id = :periodId")
+                .setParameter("periodId", period.getId())
+                .executeUpdate();
+    }
+
+    /**
+     * 
+     */
+    @Override
+    public void deleteAll() {
+        this.getSession()
+                .createQuery("delete from MovementSummary")
+                .executeUpdate();
+    }
+}
@@ -20,6 +20,7 @@ import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.entity.logbook.Refueling;
 import br.com.webbudget.domain.model.entity.logbook.Vehicle;
+import br.com.webbudget.domain.model.projection.RefuelingRow;
 import br.com.webbudget.domain.model.repository.IGenericRepository;
 import java.util.List;
 
@@ -73,5 +74,5 @@ public interface IRefuelingRepository extends IGenericRepository<Refueling, Long
      * @param pageRequest
      * @return 
      */
-    public Page<Refueling> listLazily(String filter, PageRequest pageRequest);
+    public Page<RefuelingRow> listLazily(String filter, PageRequest pageRequest);
 }
@@ -20,11 +20,12 @@ import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.entity.logbook.Refueling;
 import br.com.webbudget.domain.model.entity.logbook.Vehicle;
+import br.com.webbudget.domain.model.projection.RefuelingRow;
 import br.com.webbudget.domain.model.repository.GenericRepository;
 import java.util.List;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.Criteria;
-import org.hibernate.criterion.Order;
+import org.hibernate.criterion.ProjectionList;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 
@@ -136,7 +137,7 @@ public class RefuelingRepository extends GenericRepository<Refueling, Long> impl
      * @return
      */
     @Override
-    public Page<Refueling> listLazily(String filter, PageRequest pageRequest) {
+    public Page<RefuelingRow> listLazily(String filter, PageRequest pageRequest) {
 
         final Criteria criteria = this.createCriteria();
 
@@ -144,26 +145,20 @@ public class RefuelingRepository extends GenericRepository<Refueling, Long> impl
             // TODO colocar os filtros aqui
         }
 
-        // projetamos para pegar o total de paginas possiveis
-        criteria.setProjection(Projections.count("id"));
-
-        final Long totalRows = (Long) criteria.uniqueResult();
-
-        // limpamos a projection para que a criteria seja reusada
-        criteria.setProjection(null);
-        criteria.setResultTransformer(Criteria.ROOT_ENTITY);
-
-        // paginamos
-        criteria.setFirstResult(pageRequest.getFirstResult());
-        criteria.setMaxResults(pageRequest.getPageSize());
-
-        if (pageRequest.getSortDirection() == PageRequest.SortDirection.ASC) {
-            criteria.addOrder(Order.asc(pageRequest.getSortField()));
-        } else if (pageRequest.getSortDirection() == PageRequest.SortDirection.DESC) {
-            criteria.addOrder(Order.desc(pageRequest.getSortField()));
-        }
+        criteria.createAlias("vehicle", "ve");
 
-        // montamos o resultado paginado
-        return new Page<>(criteria.list(), totalRows);
+        // projetamos apenas as colunas exibidas na listagem
+        final ProjectionList columns = Projections.projectionList()
+                .add(Projections.property("id"), "id")
+                .add(Projections.property("inclusion"), "inclusion")
+                .add(Projections.property("ve.identification"), "vehicleIdentification")
+                .add(Projections.property("liters"), "liters")
+                .add(Projections.property("cost"), "cost")
+                .add(Projections.property("costPerLiter"), "costPerLiter")
+                .add(Projections.property("averageConsumption"), "averageConsumption")
+                .add(Projections.property("fullTank"), "fullTank")
+                .add(Projections.property("firstRefueling"), "firstRefueling");
+
+        return this.listRows(criteria, columns, RefuelingRow.class, pageRequest);
     }
 }
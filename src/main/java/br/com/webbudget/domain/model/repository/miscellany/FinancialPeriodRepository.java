@@ -45,7 +45,7 @@ public class FinancialPeriodRepository extends GenericRepository<FinancialPeriod
     @Override
     public List<FinancialPeriod> listOpen() {
 
-        final Criteria criteria = this.getSession().createCriteria(this.getPersistentClass());
+        final Criteria criteria = this.createCachedCriteria();
 
         criteria.add(Restrictions.eq("closed", false));
         criteria.add(Restrictions.isNull("closing"));
@@ -63,7 +63,7 @@ public class FinancialPeriodRepository extends GenericRepository<FinancialPeriod
     @Override
     public List<FinancialPeriod> listByStatus(Boolean isClosed) {
 
-        final Criteria criteria = this.getSession().createCriteria(this.getPersistentClass());
+        final Criteria criteria = this.createCachedCriteria();
 
         if (isClosed != null) {
             criteria.add(Restrictions.eq("closed", isClosed));
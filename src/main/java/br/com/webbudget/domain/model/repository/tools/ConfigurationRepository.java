@@ -36,7 +36,7 @@ public class ConfigurationRepository extends GenericRepository<Configuration, Lo
     @Override
     public Configuration findDefault() {
 
-        final Criteria criteria = this.getSession().createCriteria(this.getPersistentClass());
+        final Criteria criteria = this.createCachedCriteria();
 
         return (Configuration) criteria.uniqueResult();
     }
@@ -19,6 +19,7 @@ package br.com.webbudget.domain.model.repository.tools;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.entity.tools.Message;
+import br.com.webbudget.domain.model.projection.MessageRow;
 import br.com.webbudget.domain.model.repository.IGenericRepository;
 import br.com.webbudget.domain.model.security.User;
 
@@ -38,5 +39,5 @@ public interface IMessageRepository extends IGenericRepository<Message, Long> {
      * @param pageRequest
      * @return 
      */
-    Page<Message> listSent(User sender, String filter, PageRequest pageRequest);
+    Page<MessageRow> listSent(User sender, String filter, PageRequest pageRequest);
 }
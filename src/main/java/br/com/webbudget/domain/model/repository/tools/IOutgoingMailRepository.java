@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.repository.tools;
+
+import br.com.webbudget.domain.model.entity.tools.OutgoingMail;
+import br.com.webbudget.domain.model.entity.tools.OutgoingMailState;
+import br.com.webbudget.domain.model.repository.IGenericRepository;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public interface IOutgoingMailRepository extends IGenericRepository<OutgoingMail, Long> {
+    
+    /**
+     * Busca e trava os e-mails que podem ser enviados, os pendentes e os que
+     * tiveram a reserva para envio vencida
+     * 
+     * @param now a data de referencia
+     * @param limit quantos e-mails buscar no maximo
+     * @return os e-mails prontos para envio, na ordem em que entraram na 
+     * caixa de saida
+     */
+    List<OutgoingMail> listReadyToSend(Date now, int limit);
+    
+    /**
+     * Devolve para a caixa os e-mails reservados que nao chegaram a ser 
+     * marcados, os ja marcados como enviados ou falhos nao sao tocados
+     * 
+     * @param mails os e-mails reservados
+     * @param now a partir de quando podem ser enviados de novo
+     */
+    void release(List<OutgoingMail> mails, Date now);
+    
+    /**
+     * @param mail o e-mail entregue
+     * @param sentOn quando foi entregue
+     */
+    void markSent(OutgoingMail mail, Date sentOn);
+    
+    /**
+     * Registra uma tentativa que falhou
+     * 
+     * @param mail o e-mail
+     * @param state o novo estado, pendente para tentar de novo ou morto
+     * @param nextAttempt quando tentar de novo
+     * @param error a causa da falha
+     */
+    void markFailed(OutgoingMail mail, OutgoingMailState state, Date nextAttempt, String error);
+}
@@ -20,6 +20,7 @@ import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.entity.tools.Message;
 import br.com.webbudget.domain.model.entity.tools.UserMessage;
+import br.com.webbudget.domain.model.projection.UserMessageRow;
 import br.com.webbudget.domain.model.repository.IGenericRepository;
 import br.com.webbudget.domain.model.security.User;
 import java.util.List;
@@ -61,5 +62,5 @@ public interface IUserMessageRepository extends IGenericRepository<UserMessage,
      * @param pageRequest
      * @return 
      */
-    Page<UserMessage> listReceived(User recipient, String filter, PageRequest pageRequest);
+    Page<UserMessageRow> listReceived(User recipient, String filter, PageRequest pageRequest);
 }
@@ -19,11 +19,12 @@ package br.com.webbudget.domain.model.repository.tools;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.entity.tools.Message;
+import br.com.webbudget.domain.model.projection.MessageRow;
 import br.com.webbudget.domain.model.repository.GenericRepository;
 import br.com.webbudget.domain.model.security.User;
 import javax.enterprise.context.Dependent;
 import org.hibernate.Criteria;
-import org.hibernate.criterion.Order;
+import org.hibernate.criterion.ProjectionList;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 
@@ -45,7 +46,7 @@ public class MessageRepository extends GenericRepository<Message, Long> implemen
      * @return 
      */
     @Override
-    public Page<Message> listSent(User sender, String filter, PageRequest pageRequest) {
+    public Page<MessageRow> listSent(User sender, String filter, PageRequest pageRequest) {
 
         final Criteria criteria = this.createCriteria();
 
@@ -59,27 +60,14 @@ public class MessageRepository extends GenericRepository<Message, Long> implemen
         criteria.add(Restrictions.eq("deleted", false));
         criteria.add(Restrictions.eq("sender", sender));
         
-        // projetamos para pegar o total de paginas possiveis
-        criteria.setProjection(Projections.count("id"));
+        // projetamos apenas as colunas exibidas na listagem
+        final ProjectionList columns = Projections.projectionList()
+                .add(Projections.property("id"), "id")
+                .add(Projections.property("inclusion"), "inclusion")
+                .add(Projections.property("title"), "title")
+                .add(Projections.property("priorityType"), "priorityType");
 
-        final Long totalRows = (Long) criteria.uniqueResult();
-
-        // limpamos a projection para que a criteria seja reusada
-        criteria.setProjection(null);
-        criteria.setResultTransformer(Criteria.ROOT_ENTITY);
-        
-        // paginamos
-        criteria.setFirstResult(pageRequest.getFirstResult());
-        criteria.setMaxResults(pageRequest.getPageSize());
-
-        if (pageRequest.getSortDirection() == PageRequest.SortDirection.ASC) {
-            criteria.addOrder(Order.asc(pageRequest.getSortField()));
-        } else if (pageRequest.getSortDirection() == PageRequest.SortDirection.DESC) {
-            criteria.addOrder(Order.desc(pageRequest.getSortField()));
-        }
-
-        // montamos o resultado paginado
-        return new Page<>(criteria.list(), totalRows);
+        return this.listRows(criteria, columns, MessageRow.class, pageRequest);
     }
     
     
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.repository.tools;
+
+import br.com.webbudget.domain.model.entity.tools.OutgoingMail;
+import br.com.webbudget.domain.model.entity.tools.OutgoingMailState;
+import br.com.webbudget.domain.model.repository.GenericRepository;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.enterprise.context.Dependent;
+import org.hibernate.Criteria;
+import org.hibernate.LockMode;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Restrictions;
+
+/**
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@Dependent
+public class OutgoingMailRepository extends GenericRepository<OutgoingMail, Long> implements IOutgoingMailRepository {
+
+    /**
+     * 
+     * @param now
+     * @param limit
+     * @return 
+     */
+    @Override
+    public List<OutgoingMail> listReadyToSend(Date now, int limit) {
+        
+        final Criteria criteria = this.createCriteria();
+        
+        criteria.add(Restrictions.in("state", 
+                OutgoingMailState.PENDING, OutgoingMailState.SENDING));
+        criteria.add(Restrictions.le("nextAttempt", now));
+        
+        criteria.addOrder(Order.asc("id"));
+        criteria.setMaxResults(limit);
+        
+        // select for update, outro carteiro buscando ao mesmo tempo espera a
+        // nossa reserva e ja nao encontra estes e-mails
+        criteria.setLockMode(LockMode.PESSIMISTIC_WRITE);
+        
+        return criteria.list();
+    }
+
+    /**
+     * 
+     * @param mails
+     * @param now 
+     */
+    @Override
+    public void release(List<OutgoingMail> mails, Date now) {
+        this.getSession()
+                .createQuery("update OutgoingMail om "
+                        + "set om.state = :pending, "
+                        + "om.nextAttempt = :now "
+                        + "where om.id in (:mailIds) "
+                        + "and om.state = :sending")
+                .setParameter("pending", OutgoingMailState.PENDING)
+                .setParameter("sending", OutgoingMailState.SENDING)
+                .setParameter("now", now)
+                .setParameterList("mailIds", mails.stream()
+                        .map(OutgoingMail::getId)
+                        .collect(Collectors.toList()))
+                .executeUpdate();
+    }
+
+    /**
+     * 
+     * @param mail
+     * @param sentOn 
+     */
+    @Override
+    public void markSent(OutgoingMail mail, Date sentOn) {
+        
+        // update direto, o carteiro roda fora de requisicao e nao precisa
+        // carregar a mensagem inteira de novo so para trocar o estado
+        this.getSession()
+                .createQuery("update OutgoingMail om "
+                        + "set om.state = :state, "
+                        + "om.attempts = om.attempts + 1, "
+                        + "om.sentOn = :sentOn, "
+                        + "om.lastError = null, "
+                        + "om.lastEdition = :sentOn "
+                        + "where om.id = :mailId")
+                .setParameter("state", OutgoingMailState.SENT)
+                .setParameter("sentOn", sentOn)
+                .setParameter("mailId", mail.getId())
+                .executeUpdate();
+    }
+
+    /**
+     * 
+     * @param mail
+     * @param state
+     * @param nextAttempt
+     * @param error 
+     */
+    @Override
+    public void markFailed(OutgoingMail mail, OutgoingMailState state, Date nextAttempt, String error) {
+        this.getSession()
+                .createQuery("update OutgoingMail om "
+                        + "set om.state = :state, "
+                        + "om.attempts = om.attempts + 1, "
+                        + "om.nextAttempt = :nextAttempt, "
+                        + "om.lastError = :error, "
+                        + "om.lastEdition = :lastEdition "
+                        + "where om.id = :mailId")
+                .setParameter("state", state)
+                .setParameter("nextAttempt", nextAttempt)
+                .setParameter("error", error)
+                .setParameter("lastEdition", new Date())
+                .setParameter("mailId", mail.getId())
+                .executeUpdate();
+    }
+}
@@ -20,12 +20,14 @@ import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.entity.tools.Message;
 import br.com.webbudget.domain.model.entity.tools.UserMessage;
+import br.com.webbudget.domain.model.projection.UserMessageRow;
 import br.com.webbudget.domain.model.repository.GenericRepository;
 import br.com.webbudget.domain.model.security.User;
 import java.util.List;
 import javax.enterprise.context.Dependent;
 import org.hibernate.Criteria;
 import org.hibernate.criterion.Order;
+import org.hibernate.criterion.ProjectionList;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 
@@ -100,12 +102,13 @@ public class UserMessageRepository extends GenericRepository<UserMessage, Long>
      * @return 
      */
     @Override
-    public Page<UserMessage> listReceived(User recipient, String filter, PageRequest pageRequest) {
+    public Page<UserMessageRow> listReceived(User recipient, String filter, PageRequest pageRequest) {
        
         final Criteria criteria = this.createCriteria();
 
+        criteria.createAlias("message", "ms");
+
         if (filter != null) {
-            criteria.createAlias("message", "ms");
             criteria.add(Restrictions.or(
                     Restrictions.ilike("ms.title", "%" + filter + "%"),
                     Restrictions.ilike("ms.content", "%" + filter + "%")
@@ -115,26 +118,14 @@ public class UserMessageRepository extends GenericRepository<UserMessage, Long>
         criteria.add(Restrictions.eq("deleted", false));
         criteria.add(Restrictions.eq("recipient", recipient));
         
-        // projetamos para pegar o total de paginas possiveis
-        criteria.setProjection(Projections.count("id"));
-
-        final Long totalRows = (Long) criteria.uniqueResult();
-
-        // limpamos a projection para que a criteria seja reusada
-        criteria.setProjection(null);
-        criteria.setResultTransformer(Criteria.ROOT_ENTITY);
-        
-        // paginamos
-        criteria.setFirstResult(pageRequest.getFirstResult());
-        criteria.setMaxResults(pageRequest.getPageSize());
-
-        if (pageRequest.getSortDirection() == PageRequest.SortDirection.ASC) {
-            criteria.addOrder(Order.asc(pageRequest.getSortField()));
-        } else if (pageRequest.getSortDirection() == PageRequest.SortDirection.DESC) {
-            criteria.addOrder(Order.desc(pageRequest.getSortField()));
-        }
+        // projetamos apenas as colunas exibidas na listagem
+        final ProjectionList columns = Projections.projectionList()
+                .add(Projections.property("id"), "id")
+                .add(Projections.property("inclusion"), "inclusion")
+                .add(Projections.property("ms.title"), "title")
+                .add(Projections.property("ms.priorityType"), "priorityType")
+                .add(Projections.property("ms.inclusion"), "messageInclusion");
 
-        // montamos o resultado paginado
-        return new Page<>(criteria.list(), totalRows);
+        return this.listRows(criteria, columns, UserMessageRow.class, pageRequest);
     }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.service;
+
+import br.com.webbudget.domain.misc.CacheStatistics;
+import br.com.webbudget.domain.misc.events.ReferenceChanged;
+import br.com.webbudget.domain.model.entity.IPersistentEntity;
+import br.com.webbudget.domain.model.repository.GenericRepository;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Service que cuida do cache de segundo nivel das entidades de cadastro,
+ * invalidando as regioes quando algo muda e expondo as estatisticas de uso
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ApplicationScoped
+public class CacheService {
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Remove do cache a entidade alterada e as consultas cacheadas do seu tipo.
+     * So executa apos o commit para que outra transacao nao volte a colocar no
+     * cache o estado antigo
+     *
+     * @param entity a entidade alterada
+     */
+    public void whenReferenceChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS)
+            @ReferenceChanged IPersistentEntity entity) {
+
+        final Class<?> entityClass = Hibernate.getClass(entity);
+
+        if (entity.getId() != null) {
+            this.entityManagerFactory.getCache().evict(entityClass, entity.getId());
+        } else {
+            this.entityManagerFactory.getCache().evict(entityClass);
+        }
+
+        this.getSessionFactory().getCache().evictQueryRegion(
+                GenericRepository.queryCacheRegionOf(entityClass));
+    }
+
+    /**
+     * Limpa todo o cache de segundo nivel, entidades e consultas
+     */
+    public void evictAll() {
+        this.entityManagerFactory.getCache().evictAll();
+        this.getSessionFactory().getCache().evictQueryRegions();
+    }
+
+    /**
+     * @return as estatisticas de acertos e falhas de cada regiao do cache
+     */
+    public List<CacheStatistics> listStatistics() {
+
+        final Statistics statistics = this.getSessionFactory().getStatistics();
+
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .map(region -> {
+                    final SecondLevelCacheStatistics regionStatistics = 
+                            statistics.getSecondLevelCacheStatistics(region);
+                    return new CacheStatistics(region,
+                            regionStatistics.getHitCount(),
+                            regionStatistics.getMissCount(),
+                            regionStatistics.getPutCount(),
+                            regionStatistics.getElementCountInMemory());
+                })
+                .sorted(Comparator.comparing(CacheStatistics::getRegion))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return a session factory do hibernate por tras do nosso PU
+     */
+    private SessionFactory getSessionFactory() {
+        return this.entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
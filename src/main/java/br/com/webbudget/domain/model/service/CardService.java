@@ -24,6 +24,7 @@ import br.com.webbudget.domain.model.entity.financial.Movement;
 import br.com.webbudget.domain.model.entity.financial.MovementStateType;
 import br.com.webbudget.domain.model.entity.financial.MovementType;
 import br.com.webbudget.domain.model.entity.tools.Configuration;
+import br.com.webbudget.domain.misc.events.MovementSaved;
 import br.com.webbudget.domain.misc.ex.InternalServiceError;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
@@ -32,8 +33,12 @@ import br.com.webbudget.domain.model.repository.entries.ICardRepository;
 import br.com.webbudget.domain.model.repository.financial.IApportionmentRepository;
 import br.com.webbudget.domain.model.repository.financial.IMovementRepository;
 import br.com.webbudget.domain.model.repository.tools.IConfigurationRepository;
+import br.com.webbudget.domain.misc.events.ReferenceChanged;
+import br.com.webbudget.domain.model.entity.IPersistentEntity;
+import br.com.webbudget.domain.model.projection.CardRow;
 import java.util.List;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 
@@ -59,6 +64,13 @@ public class CardService {
     private IApportionmentRepository apportionmentRepository;
     @Inject
     private IConfigurationRepository configurationRepository;
+    
+    @Inject
+    @MovementSaved
+    private Event<String> movementSavedEvent;
+    @Inject
+    @ReferenceChanged
+    private Event<IPersistentEntity> referenceChangedEvent;
 
     /**
      *
@@ -79,6 +91,8 @@ public class CardService {
         }
 
         this.cardRepository.save(card);
+
+        this.referenceChangedEvent.fire(card);
     }
 
     /**
@@ -100,6 +114,8 @@ public class CardService {
             throw new InternalServiceError("error.card.no-debit-wallet");
         }
 
+        this.referenceChangedEvent.fire(card);
+
         return this.cardRepository.save(card);
     }
 
@@ -110,6 +126,7 @@ public class CardService {
     @Transactional
     public void deleteCard(Card card) {
         this.cardRepository.delete(card);
+        this.referenceChangedEvent.fire(card);
     }
 
     /**
@@ -167,6 +184,9 @@ public class CardService {
         // atualizamos a fatura com o movimento correspondente a ela
         cardInvoice.setMovement(movement);
         this.cardInvoiceRepository.save(cardInvoice);
+        
+        // dispara um evento informando que o movimento da fatura foi salvo
+        this.movementSavedEvent.fire(movement.getCode());
     }
 
     /**
@@ -193,7 +213,7 @@ public class CardService {
      * @param pageRequest
      * @return
      */
-    public Page<Card> listCards(Boolean isBlocked, PageRequest pageRequest) {
+    public Page<CardRow> listCards(Boolean isBlocked, PageRequest pageRequest) {
         return this.cardRepository.listByStatus(isBlocked, pageRequest);
     }
 
@@ -16,7 +16,7 @@
  */
 package br.com.webbudget.domain.model.service;
 
-import br.com.webbudget.domain.misc.MovementCalculator;
+import br.com.webbudget.domain.misc.ClosingCalculator;
 import br.com.webbudget.domain.model.entity.entries.Card;
 import br.com.webbudget.domain.model.entity.miscellany.Closing;
 import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
@@ -28,6 +28,9 @@ import br.com.webbudget.domain.model.repository.entries.ICardRepository;
 import br.com.webbudget.domain.model.repository.miscellany.IClosingRepository;
 import br.com.webbudget.domain.model.repository.miscellany.IFinancialPeriodRepository;
 import br.com.webbudget.domain.model.repository.financial.IMovementRepository;
+import br.com.webbudget.domain.model.repository.financial.IMovementSummaryRepository;
+import br.com.webbudget.domain.misc.events.ReferenceChanged;
+import br.com.webbudget.domain.model.entity.IPersistentEntity;
 import java.math.BigDecimal;
 import java.util.List;
 import javax.enterprise.context.ApplicationScoped;
@@ -53,11 +56,16 @@ public class ClosingService {
     @Inject
     private IMovementRepository movementRepository;
     @Inject
+    private IMovementSummaryRepository movementSummaryRepository;
+    @Inject
     private IFinancialPeriodRepository financialPeriodRepository;
 
     @Inject
     @PeriodClosed
     private Event<FinancialPeriod> periodClosedEvent;
+    @Inject
+    @ReferenceChanged
+    private Event<IPersistentEntity> referenceChangedEvent;
 
     /**
      * Processa o fechamento do mes, verificando por incosistencias de
@@ -67,7 +75,7 @@ public class ClosingService {
      * @return o resumo do fechamento
      */
     @Transactional
-    public List<Movement> process(FinancialPeriod period) {
+    public ClosingCalculator process(FinancialPeriod period) {
 
         if (period == null) {
             throw new InternalServiceError("error.closing.no-period");
@@ -98,26 +106,53 @@ public class ClosingService {
                     "error.closing.open-movements", movements.size());
         }
 
-        return this.movementRepository.listByPeriod(period);
+        // acumula os totais percorrendo os movimentos sem carregar o periodo
+        return this.movementRepository.calculateClosingByPeriod(period);
     }
 
     /**
      * Realiza o encerramento do periodo informado
      * 
+     * Os totais sao calculados de novo com o periodo travado, os mesmos 
+     * movimentos que entram nos totais sao os que passam para calculado. Se 
+     * eles mudaram desde o processamento o encerramento e recusado para que o
+     * usuario confira os totais novos
+     * 
      * @param financialPeriod o periodo a ser encerrado
-     * @param calculator a calculadora com os movimentos a serem processados
+     * @param calculator a calculadora com os totais exibidos ao usuario
      */
     @Transactional
-    public void close(FinancialPeriod financialPeriod, MovementCalculator calculator) {
+    public void close(FinancialPeriod financialPeriod, ClosingCalculator calculator) {
+
+        // a mesma trava dos sumarios, nenhum movimento do periodo e incluido,
+        // pago, editado ou excluido ate o fim do encerramento
+        this.movementSummaryRepository.lockPeriod(financialPeriod);
+        
+        // um movimento em aberto incluido depois do processamento nao esta 
+        // nos totais calculados, entao o encerramento nao pode seguir
+        final List<Movement> movements = this.movementRepository
+                .listByPeriodAndState(financialPeriod, MovementStateType.OPEN);
+
+        if (!movements.isEmpty()) {
+            throw new InternalServiceError(
+                    "error.closing.open-movements", movements.size());
+        }
+        
+        final ClosingCalculator current = 
+                this.movementRepository.calculateClosingByPeriod(financialPeriod);
+        
+        if (!current.hasSameTotals(calculator)) {
+            throw new InternalServiceError("error.closing.changed-movements");
+        }
 
         // criamos e salvamos o fechamento
         Closing closing = new Closing();
 
-        closing.setBalance(calculator.getBalance());
-        closing.setRevenues(calculator.getRevenuesTotal());
-        closing.setExpenses(calculator.getExpensesTotal());
-        closing.setDebitCardExpenses(calculator.getTotalPaidOnDebitCard());
-        closing.setCreditCardExpenses(calculator.getTotalPaidOnCreditCard());
+        closing.setBalance(current.getBalance());
+        closing.setRevenues(current.getRevenuesTotal());
+        closing.setExpenses(current.getExpensesTotal());
+        closing.setDebitCardExpenses(current.getTotalPaidOnDebitCard());
+        closing.setCreditCardExpenses(current.getTotalPaidOnCreditCard());
         
         final BigDecimal accumulated = 
                 this.closingRepository.findLastAccumulated();
@@ -131,14 +166,10 @@ public class ClosingService {
 
         closing = this.closingRepository.save(closing);        
         
-        // atualiza o status dos movimentos
-        calculator.getMovements().stream()
-                .map(movement -> { 
-                    movement.setMovementStateType(MovementStateType.CALCULATED);
-                    return movement;
-                }).forEach(movement -> {
-                    this.movementRepository.save(movement);
-                });
+        // passa os movimentos pagos, os que entraram no calculo, para 
+        // calculado em um unico update
+        this.movementRepository.updateStateByPeriod(financialPeriod, 
+                MovementStateType.PAID, MovementStateType.CALCULATED);
 
         // atualizamos o periodo para encerrado
         financialPeriod.setClosed(true);
@@ -147,6 +178,7 @@ public class ClosingService {
         // salva e dispara o evento informando que o periodo foi encerrado
         this.periodClosedEvent.fire(
                 this.financialPeriodRepository.save(financialPeriod));
+        this.referenceChangedEvent.fire(financialPeriod);
     }
 
     /**
@@ -18,7 +18,10 @@ package br.com.webbudget.domain.model.service;
 
 import br.com.webbudget.domain.model.entity.tools.Configuration;
 import br.com.webbudget.domain.model.repository.tools.IConfigurationRepository;
+import br.com.webbudget.domain.misc.events.ReferenceChanged;
+import br.com.webbudget.domain.model.entity.IPersistentEntity;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 
@@ -36,6 +39,10 @@ public class ConfigurationService {
     @Inject
     private IConfigurationRepository configurationRepository;
 
+    @Inject
+    @ReferenceChanged
+    private Event<IPersistentEntity> referenceChangedEvent;
+
     /**
      * 
      * @param configuration
@@ -43,6 +50,7 @@ public class ConfigurationService {
      */
     @Transactional
     public Configuration saveConfiguration(Configuration configuration) {
+        this.referenceChangedEvent.fire(configuration);
         return this.configurationRepository.save(configuration);
     }
     
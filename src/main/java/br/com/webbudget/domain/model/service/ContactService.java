@@ -25,6 +25,7 @@ import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.model.repository.entries.IContactRepository;
 import br.com.webbudget.domain.model.repository.entries.ITelephoneRepository;
 import br.com.webbudget.domain.model.repository.financial.IMovementRepository;
+import br.com.webbudget.domain.model.projection.ContactRow;
 import java.util.List;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -140,7 +141,7 @@ public class ContactService {
      * @param pageRequest
      * @return 
      */
-    public Page<Contact> listContactsLazilyByFilter(String filter, Boolean blocked, PageRequest pageRequest) {
+    public Page<ContactRow> listContactsLazilyByFilter(String filter, Boolean blocked, PageRequest pageRequest) {
         return this.contactRepository.listLazilyByFilter(filter, blocked, pageRequest);
     }
     
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.service;
+
+import br.com.webbudget.domain.misc.BalanceBuilder;
+import br.com.webbudget.domain.misc.CacheStatistics;
+import br.com.webbudget.domain.misc.DashboardSnapshot;
+import br.com.webbudget.domain.misc.events.MovementDeleted;
+import br.com.webbudget.domain.misc.events.MovementPaid;
+import br.com.webbudget.domain.misc.events.MovementSaved;
+import br.com.webbudget.domain.misc.events.MovementUpdated;
+import br.com.webbudget.domain.misc.events.PeriodClosed;
+import br.com.webbudget.domain.misc.events.PeriodOpened;
+import br.com.webbudget.domain.misc.events.ReferenceChanged;
+import br.com.webbudget.domain.misc.events.UpdateBalance;
+import br.com.webbudget.domain.model.entity.IPersistentEntity;
+import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+
+/**
+ * Cache dos numeros da dashboard, um retrato para cada conjunto de periodos
+ * em aberto. Qualquer evento que altere movimentos, periodos ou saldos limpa o
+ * cache apos o commit
+ * 
+ * Cada limpeza avanca a geracao do cache, um retrato montado com dados lidos 
+ * antes da limpeza nao e guardado, assim uma dashboard que estava sendo 
+ * montada durante uma alteracao nao coloca de volta no cache os numeros antigos
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ApplicationScoped
+public class DashboardService {
+    
+    private static final String REGION = "dashboard-snapshots";
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Set<Long>, DashboardSnapshot> snapshots = new ConcurrentHashMap<>();
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder totalBuildTime = new LongAdder();
+    private final AtomicLong lastBuildTime = new AtomicLong();
+    
+    @Inject
+    private Logger logger;
+
+    /**
+     * Busca o retrato da dashboard para os periodos em aberto
+     * 
+     * @param openPeriods os periodos em aberto
+     * @return o retrato ou null se ele ainda nao foi montado
+     */
+    public DashboardSnapshot findSnapshot(List<FinancialPeriod> openPeriods) {
+        
+        final DashboardSnapshot snapshot = this.snapshots.get(this.keyOf(openPeriods));
+        
+        if (snapshot != null) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Guarda o retrato montado, se o cache foi limpo enquanto os dados eram 
+     * lidos o retrato e descartado
+     * 
+     * @param openPeriods os periodos em aberto
+     * @param snapshot o retrato
+     */
+    public void storeSnapshot(List<FinancialPeriod> openPeriods, DashboardSnapshot snapshot) {
+        
+        this.lastBuildTime.set(snapshot.getBuildTime());
+        this.totalBuildTime.add(snapshot.getBuildTime());
+        this.puts.increment();
+        
+        this.logger.debug("Dashboard snapshot built in {}ms", snapshot.getBuildTime());
+        
+        if (snapshot.getGeneration() != this.generation.get()) {
+            return;
+        }
+        
+        final Set<Long> key = this.keyOf(openPeriods);
+        
+        this.snapshots.put(key, snapshot);
+        
+        // se a limpeza aconteceu entre a checagem e o put, desfaz o put
+        if (snapshot.getGeneration() != this.generation.get()) {
+            this.snapshots.remove(key, snapshot);
+        }
+    }
+
+    /**
+     * @return a geracao atual do cache, deve ser lida antes de ler os dados
+     */
+    public long getGeneration() {
+        return this.generation.get();
+    }
+    
+    /**
+     * Limpa todos os retratos
+     */
+    public void invalidate() {
+        this.generation.incrementAndGet();
+        this.snapshots.clear();
+    }
+    
+    /**
+     * @return as estatisticas de uso do cache
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(REGION, this.hits.sum(), this.misses.sum(), 
+                this.puts.sum(), this.snapshots.size());
+    }
+    
+    /**
+     * @return quanto tempo levou a ultima montagem de um retrato, em milisegundos
+     */
+    public long getLastBuildTime() {
+        return this.lastBuildTime.get();
+    }
+    
+    /**
+     * @return o tempo medio de montagem dos retratos, em milisegundos
+     */
+    public long getAverageBuildTime() {
+        final long count = this.puts.sum();
+        return count == 0 ? 0 : this.totalBuildTime.sum() / count;
+    }
+
+    /**
+     * @param code o codigo do movimento
+     */
+    public void whenMovementSaved(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @MovementSaved String code) {
+        this.invalidate();
+    }
+
+    /**
+     * @param code o codigo do movimento
+     */
+    public void whenMovementPaid(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @MovementPaid String code) {
+        this.invalidate();
+    }
+
+    /**
+     * @param code o codigo do movimento
+     */
+    public void whenMovementUpdated(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @MovementUpdated String code) {
+        this.invalidate();
+    }
+
+    /**
+     * @param code o codigo do movimento
+     */
+    public void whenMovementDeleted(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @MovementDeleted String code) {
+        this.invalidate();
+    }
+
+    /**
+     * @param period o periodo aberto
+     */
+    public void whenPeriodOpened(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @PeriodOpened FinancialPeriod period) {
+        this.invalidate();
+    }
+
+    /**
+     * @param period o periodo encerrado
+     */
+    public void whenPeriodClosed(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @PeriodClosed FinancialPeriod period) {
+        this.invalidate();
+    }
+
+    /**
+     * @param builder o builder do saldo alterado
+     */
+    public void whenBalanceUpdated(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @UpdateBalance BalanceBuilder builder) {
+        this.invalidate();
+    }
+
+    /**
+     * As metas da dashboard vem dos periodos, entao qualquer alteracao nos
+     * periodos tambem limpa o cache
+     * 
+     * @param entity a entidade alterada
+     */
+    public void whenReferenceChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @ReferenceChanged IPersistentEntity entity) {
+        if (Hibernate.getClass(entity) == FinancialPeriod.class) {
+            this.invalidate();
+        }
+    }
+    
+    /**
+     * @param openPeriods os periodos em aberto
+     * @return a chave do cache, os ids dos periodos
+     */
+    private Set<Long> keyOf(List<FinancialPeriod> openPeriods) {
+        return openPeriods.stream()
+                .map(FinancialPeriod::getId)
+                .collect(Collectors.toSet());
+    }
+}
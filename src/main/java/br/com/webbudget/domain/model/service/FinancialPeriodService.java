@@ -30,6 +30,8 @@ import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import br.com.webbudget.domain.misc.events.PeriodOpened;
+import br.com.webbudget.domain.misc.events.ReferenceChanged;
+import br.com.webbudget.domain.model.entity.IPersistentEntity;
 
 /**
  *
@@ -49,6 +51,9 @@ public class FinancialPeriodService {
     @Inject
     @PeriodOpened
     private Event<FinancialPeriod> periodOpenEvent;
+    @Inject
+    @ReferenceChanged
+    private Event<IPersistentEntity> referenceChangedEvent;
     
     /**
      *
@@ -81,6 +86,7 @@ public class FinancialPeriodService {
 
         final FinancialPeriod opened = 
                 this.financialPeriodRepository.save(financialPeriod);
+        this.referenceChangedEvent.fire(opened);
         
         // disparamos o evento para notificar os interessados
         this.periodOpenEvent.fire(opened);
@@ -104,6 +110,7 @@ public class FinancialPeriodService {
         
         // nao tem movimentos entao deleta
         this.financialPeriodRepository.delete(financialPeriod);
+        this.referenceChangedEvent.fire(financialPeriod);
     }
 
     /**
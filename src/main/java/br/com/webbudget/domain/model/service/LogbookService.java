@@ -19,6 +19,7 @@ package br.com.webbudget.domain.model.service;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.domain.misc.ApportionmentBuilder;
+import br.com.webbudget.domain.misc.MoneyAccumulator;
 import br.com.webbudget.domain.misc.MovementBuilder;
 import br.com.webbudget.domain.misc.events.CreateMovement;
 import br.com.webbudget.domain.misc.events.DeleteMovement;
@@ -34,11 +35,16 @@ import br.com.webbudget.domain.model.repository.logbook.IEntryRepository;
 import br.com.webbudget.domain.model.repository.entries.IVehicleRepository;
 import br.com.webbudget.domain.model.repository.logbook.IFuelRepository;
 import br.com.webbudget.domain.model.repository.logbook.IRefuelingRepository;
+import br.com.webbudget.domain.misc.events.ReferenceChanged;
+import br.com.webbudget.domain.model.entity.IPersistentEntity;
+import br.com.webbudget.domain.model.projection.RefuelingRow;
+import br.com.webbudget.infraestructure.events.EventDispatcher;
 import java.math.BigDecimal;
 import java.util.List;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import org.apache.commons.lang3.StringUtils;
@@ -54,6 +60,11 @@ import org.apache.commons.lang3.StringUtils;
 @ApplicationScoped
 public class LogbookService {
 
+    private static final String EVENT_LANE = "logbook";
+    
+    @Inject
+    private EventDispatcher eventDispatcher;
+    
     @Inject
     private IFuelRepository fuelRepository;
     @Inject
@@ -71,6 +82,9 @@ public class LogbookService {
     @Inject
     @CreateMovement
     private Event<MovementBuilder> createMovementEvent;
+    @Inject
+    @ReferenceChanged
+    private Event<IPersistentEntity> referenceChangedEvent;
 
     /**
      *
@@ -79,6 +93,7 @@ public class LogbookService {
     @Transactional
     public void saveVehicle(Vehicle vehicle) {
         this.vehicleRepository.save(vehicle);
+        this.referenceChangedEvent.fire(vehicle);
     }
 
     /**
@@ -88,6 +103,7 @@ public class LogbookService {
      */
     @Transactional
     public Vehicle updateVehicle(Vehicle vehicle) {
+        this.referenceChangedEvent.fire(vehicle);
         return this.vehicleRepository.save(vehicle);
     }
 
@@ -98,6 +114,7 @@ public class LogbookService {
     @Transactional
     public void deleteVehicle(Vehicle vehicle) {
         this.vehicleRepository.delete(vehicle);
+        this.referenceChangedEvent.fire(vehicle);
     }
 
     /**
@@ -142,6 +159,7 @@ public class LogbookService {
 
             // salvamos o carro
             this.vehicleRepository.save(entry.getVehicle());
+            this.referenceChangedEvent.fire(entry.getVehicle());
         }
 
         // salva o registro
@@ -211,8 +229,7 @@ public class LogbookService {
 
                 // pega o total de litros utilizados 
                 final BigDecimal liters = unaccounteds.stream()
-                        .map(Refueling::getLiters)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add)
+                        .collect(MoneyAccumulator.summing(Refueling::getLiters))
                         .add(refueling.getLiters());
 
                 // adiciona os litros atuais e manda calcular a media
@@ -269,6 +286,7 @@ public class LogbookService {
         if (refueling.getOdometer() > lastVehicleOdometer) {
             refueling.updateVehicleOdometer();
             this.vehicleRepository.save(refueling.getVehicle());
+            this.referenceChangedEvent.fire(refueling.getVehicle());
         }
     }
 
@@ -308,24 +326,30 @@ public class LogbookService {
     /**
      * Quando um movimento for deletado este evento escurtara por uma possivel
      * delecao de um evento vinculado com um registro do logbook
+     * 
+     * A limpeza acontece depois do commit, fora da requisicao do usuario
      *
      * @param code o codigo do movimento
      */
-    public void whenEntryMovementDeleted(@Observes @MovementDeleted String code) {
+    public void whenEntryMovementDeleted(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @MovementDeleted String code) {
+        
+        this.eventDispatcher.dispatch(EVENT_LANE, () -> {
 
-        // procura pelo registro
-        final Entry entry = this.entryRepository.findByMovementCode(code);
+            // procura pelo registro
+            final Entry entry = this.entryRepository.findByMovementCode(code);
 
-        // se encontrar, limpa as flags de movimentacao financeira
-        if (entry != null) {
+            // se encontrar, limpa as flags de movimentacao financeira
+            if (entry != null) {
 
-            entry.setFinancial(false);
-            entry.setMovementClass(null);
-            entry.setFinancialPeriod(null);
-            entry.setMovementCode(null);
+                entry.setFinancial(false);
+                entry.setMovementClass(null);
+                entry.setFinancialPeriod(null);
+                entry.setMovementCode(null);
 
-            this.entryRepository.save(entry);
-        }
+                this.entryRepository.save(entry);
+            }
+        });
     }
     
     /**
@@ -335,15 +359,19 @@ public class LogbookService {
      * 
      * @param code o codigo do movimento deletado
      */
-    public void whenRefuelingMovementDeleted(@Observes @MovementDeleted String code) {
-        
-        final Refueling refueling = this.refuelingRepository.findByMovementCode(code);
+    public void whenRefuelingMovementDeleted(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @MovementDeleted String code) {
         
-        // se achar, limpa a flag e salva
-        if (refueling != null) {
-            refueling.setMovementCode(null);
-            this.refuelingRepository.save(refueling);
-        }        
+        this.eventDispatcher.dispatch(EVENT_LANE, () -> {
+            
+            final Refueling refueling = this.refuelingRepository.findByMovementCode(code);
+
+            // se achar, limpa a flag e salva
+            if (refueling != null) {
+                refueling.setMovementCode(null);
+                this.refuelingRepository.save(refueling);
+            }
+        });
     }
 
     /**
@@ -427,7 +455,7 @@ public class LogbookService {
      * @param pageRequest
      * @return
      */
-    public Page<Refueling> listRefuelingsLazily(String filter, PageRequest pageRequest) {
+    public Page<RefuelingRow> listRefuelingsLazily(String filter, PageRequest pageRequest) {
         return this.refuelingRepository.listLazily(filter, pageRequest);
     }
 }
@@ -16,19 +16,22 @@
  */
 package br.com.webbudget.domain.model.service;
 
-import br.com.webbudget.application.channels.WebSocketSessions;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
 import br.com.webbudget.application.producer.qualifier.AuthenticatedUser;
+import br.com.webbudget.domain.misc.events.MessageSent;
 import br.com.webbudget.domain.misc.ex.InternalServiceError;
 import br.com.webbudget.domain.model.entity.tools.Message;
 import br.com.webbudget.domain.model.entity.tools.UserMessage;
 import br.com.webbudget.domain.model.repository.tools.IMessageRepository;
 import br.com.webbudget.domain.model.repository.tools.IUserMessageRepository;
 import br.com.webbudget.domain.model.security.User;
+import br.com.webbudget.domain.model.projection.MessageRow;
+import br.com.webbudget.domain.model.projection.UserMessageRow;
 import java.util.ArrayList;
 import java.util.List;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 
@@ -50,7 +53,8 @@ public class MessagingService {
     private AccountService accountService;
 
     @Inject
-    private WebSocketSessions sessions;
+    @MessageSent
+    private Event<Message> messageSentEvent;
     
     @Inject
     private IMessageRepository messageRepository;
@@ -81,8 +85,11 @@ public class MessagingService {
             this.userMessageRepository.save(new UserMessage(recipient, message));
         }
         
-        // notifica todas as sessoes abertas 
-        this.sessions.notifyOpenSessions();
+        // o save devolve outra instancia, sem os destinatarios transientes
+        message.setRecipients(recipients);
+        
+        // notifica os destinatarios depois do commit
+        this.messageSentEvent.fire(message);
     }
 
     /**
@@ -173,6 +180,14 @@ public class MessagingService {
         return this.userMessageRepository.countUnread(this.authenticatedUser);
     }
     
+    /**
+     * @param userId o id do usuario
+     * @return o total de mensagens nao lidas do usuario
+     */
+    public long countNewMessages(String userId) {
+        return this.userMessageRepository.countUnread(this.fillUserData(userId));
+    }
+    
     /**
      * 
      * @return 
@@ -187,7 +202,7 @@ public class MessagingService {
      * @param pageRequest
      * @return
      */
-    public Page<Message> listSentMessages(String filter, PageRequest pageRequest) {
+    public Page<MessageRow> listSentMessages(String filter, PageRequest pageRequest) {
         return this.messageRepository.listSent(this.authenticatedUser, filter, pageRequest);
     }
 
@@ -197,7 +212,7 @@ public class MessagingService {
      * @param pageRequest
      * @return
      */
-    public Page<UserMessage> listReceivedMessages(String filter, PageRequest pageRequest) {
+    public Page<UserMessageRow> listReceivedMessages(String filter, PageRequest pageRequest) {
         return this.userMessageRepository.listReceived(this.authenticatedUser, filter, pageRequest);
     }
 
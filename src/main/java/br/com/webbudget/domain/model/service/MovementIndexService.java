@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.service;
+
+import br.com.webbudget.domain.misc.events.MovementDeleted;
+import br.com.webbudget.domain.misc.events.MovementSaved;
+import br.com.webbudget.domain.misc.events.MovementUpdated;
+import br.com.webbudget.domain.misc.filter.MovementFilter;
+import br.com.webbudget.domain.model.entity.financial.Movement;
+import br.com.webbudget.domain.model.repository.financial.IMovementRepository;
+import br.com.webbudget.infraestructure.events.EventDispatcher;
+import br.com.webbudget.infraestructure.events.TransactionalHandler;
+import br.com.webbudget.infraestructure.search.MovementIndex;
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+
+/**
+ * Mantem o indice full-text dos movimentos em dia conforme os eventos de
+ * movimentacao acontecem e resolve o criterio de busca da listagem para os 
+ * ids dos movimentos candidatos
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ApplicationScoped
+public class MovementIndexService {
+
+    private static final int REBUILD_BATCH_SIZE = 200;
+    private static final int MAX_CANDIDATES = 5000;
+    
+    private static final String EVENT_LANE = "movement-index";
+
+    @Inject
+    private MovementIndex movementIndex;
+    @Inject
+    private EventDispatcher eventDispatcher;
+    @Inject
+    private TransactionalHandler transactionalHandler;
+
+    @Inject
+    private IMovementRepository movementRepository;
+
+    /**
+     * Resolve o criterio do filtro para os ids candidatos usando o indice. Se
+     * o indice nao estiver disponivel ou encontrar candidatos demais, o filtro
+     * fica sem candidatos e a listagem usa a busca tradicional
+     *
+     * @param filter o filtro da listagem
+     */
+    public void resolveCandidates(MovementFilter filter) {
+
+        filter.setCandidates(null);
+
+        if (!filter.hasCriteria()) {
+            return;
+        }
+
+        BigDecimal value;
+
+        try {
+            value = filter.criteriaToBigDecimal();
+        } catch (ParseException ex) {
+            value = null;
+        }
+
+        final Optional<List<Long>> candidates = this.movementIndex.search(
+                filter.getCriteria(), value, MAX_CANDIDATES + 1);
+
+        candidates
+                .filter(ids -> ids.size() <= MAX_CANDIDATES)
+                .ifPresent(filter::setCandidates);
+    }
+
+    /**
+     * O indice e atualizado depois do commit, todos os eventos passam pela
+     * mesma fila para que uma exclusao nunca seja tratada antes da inclusao
+     * 
+     * @param code o codigo do movimento salvo
+     */
+    public void whenMovementSaved(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @MovementSaved String code) {
+        this.eventDispatcher.dispatch(EVENT_LANE, () -> this.indexMovement(code));
+    }
+
+    /**
+     * @param code o codigo do movimento editado
+     */
+    public void whenMovementUpdated(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @MovementUpdated String code) {
+        this.eventDispatcher.dispatch(EVENT_LANE, () -> this.indexMovement(code));
+    }
+
+    /**
+     * @param code o codigo do movimento excluido
+     */
+    public void whenMovementDeleted(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @MovementDeleted String code) {
+        this.eventDispatcher.dispatch(EVENT_LANE, () -> this.movementIndex.delete(code));
+    }
+
+    /**
+     * Reconstroi o indice do zero com todos os movimentos da base, ate que 
+     * termine a listagem usa a busca tradicional. Cada lote e lido na sua 
+     * propria transacao para que uma base grande nao estoure o tempo limite
+     * de uma transacao so
+     */
+    public void rebuild() {
+
+        this.movementIndex.clear();
+
+        final AtomicLong lastId = new AtomicLong();
+        final AtomicInteger loaded = new AtomicInteger();
+
+        do {
+            this.transactionalHandler.handle(() -> {
+
+                final List<Movement> batch = this.movementRepository
+                        .listAfterId(lastId.get(), REBUILD_BATCH_SIZE);
+
+                this.movementIndex.addAll(batch);
+
+                loaded.set(batch.size());
+
+                if (!batch.isEmpty()) {
+                    lastId.set(batch.get(batch.size() - 1).getId());
+                }
+            });
+        } while (loaded.get() == REBUILD_BATCH_SIZE);
+
+        this.movementIndex.markAsBuilt();
+    }
+
+    /**
+     * @param code o codigo do movimento a ser indexado
+     */
+    private void indexMovement(String code) {
+
+        final Movement movement = this.movementRepository.findByCode(code);
+
+        if (movement != null) {
+            this.movementIndex.update(movement);
+        }
+    }
+}
@@ -33,6 +33,7 @@ import br.com.webbudget.domain.model.entity.financial.PaymentMethodType;
 import br.com.webbudget.domain.model.entity.entries.Wallet;
 import br.com.webbudget.domain.model.entity.entries.WalletBalanceType;
 import br.com.webbudget.domain.misc.BalanceBuilder;
+import br.com.webbudget.domain.misc.MoneyAccumulator;
 import br.com.webbudget.domain.misc.MovementBuilder;
 import br.com.webbudget.domain.misc.filter.MovementFilter;
 import br.com.webbudget.domain.misc.events.UpdateBalance;
@@ -57,12 +58,19 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import br.com.webbudget.domain.misc.events.PeriodOpened;
+import br.com.webbudget.domain.misc.events.ReferenceChanged;
+import br.com.webbudget.domain.model.entity.IPersistentEntity;
+import br.com.webbudget.domain.model.projection.FixedMovementRow;
+import br.com.webbudget.domain.model.projection.MovementRow;
+import br.com.webbudget.infraestructure.events.EventDispatcher;
 
 /**
  *
@@ -91,6 +99,12 @@ public class MovementService {
     @Inject
     private IMovementClassRepository movementClassRepository;
 
+    @Inject
+    private EventDispatcher eventDispatcher;
+    @Inject
+    private MovementSummaryService movementSummaryService;
+    @Inject
+    private MovementIndexService movementIndexService;
     @Inject
     private FinancialPeriodService financialPeriodService;
     
@@ -110,6 +124,9 @@ public class MovementService {
     @Inject
     @UpdateBalance
     private Event<BalanceBuilder> updateBalanceEvent;
+    @Inject
+    @ReferenceChanged
+    private Event<IPersistentEntity> referenceChangedEvent;
 
     /**
      *
@@ -131,6 +148,8 @@ public class MovementService {
         this.hasValidBudget(clazz);
 
         this.movementClassRepository.save(clazz);
+
+        this.referenceChangedEvent.fire(clazz);
     }
 
     /**
@@ -151,6 +170,8 @@ public class MovementService {
         // valida o orcamento, se estiver ok, salva!
         this.hasValidBudget(movementClass);
 
+        this.referenceChangedEvent.fire(movementClass);
+
         return this.movementClassRepository.save(movementClass);
     }
 
@@ -171,8 +192,7 @@ public class MovementService {
 
             final BigDecimal consumed = classes.stream()
                     .filter(mc -> !mc.equals(movementClass))
-                    .map(MovementClass::getBudget)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    .collect(MoneyAccumulator.summing(MovementClass::getBudget));
 
             BigDecimal available;
 
@@ -198,6 +218,7 @@ public class MovementService {
     @Transactional
     public void deleteMovementClass(MovementClass movementClass) {
         this.movementClassRepository.delete(movementClass);
+        this.referenceChangedEvent.fire(movementClass);
     }
 
     /**
@@ -256,6 +277,9 @@ public class MovementService {
         
         // validamos se os rateios estao corretos
         movement.validateApportionments();
+        
+        // tira do sumario o que o movimento era antes da edicao
+        this.movementSummaryService.withdraw(movement);
 
         // deleta os rateios ja deletados na view
         final List<Apportionment> deleteds = movement.getDeletedApportionments();
@@ -302,6 +326,9 @@ public class MovementService {
         // validamos se os rateios estao corretos
         movement.validateApportionments();
         
+        // tira do sumario o que o movimento era antes do pagamento
+        this.movementSummaryService.withdraw(movement);
+        
         // se nao foi informada a data de vencimento, seta a data atual
         if (!movement.hasDueDate()) {
             movement.setDueDate(LocalDate.now());
@@ -434,7 +461,8 @@ public class MovementService {
             this.updateBalanceEvent.fire(builder);
         }
 
-        // deleta o movimento
+        // tira o movimento do sumario e deleta ele
+        this.movementSummaryService.withdraw(movement);
         this.movementRepository.delete(movement);
         
         // dispara o evento indicando que o movimento foi deletado
@@ -512,11 +540,15 @@ public class MovementService {
             this.updateBalanceEvent.fire(builder);
         }
 
-        // deletamos a movimentacao da invoice
+        // deletamos a movimentacao da invoice, tirando ela do sumario
+        this.movementSummaryService.withdraw(movement);
         this.movementRepository.delete(movement);
 
         // deletamos a invoice
         this.cardInvoiceRepository.delete(cardInvoice);
+        
+        // dispara o evento indicando que o movimento da fatura foi deletado
+        this.movementDeletedEvent.fire(movement.getCode());
     }
 
     /**
@@ -534,6 +566,8 @@ public class MovementService {
         }
 
         this.costCenterRepository.save(costCenter);
+
+        this.referenceChangedEvent.fire(costCenter);
     }
 
     /**
@@ -551,6 +585,8 @@ public class MovementService {
             throw new InternalServiceError("error.cost-center.duplicated");
         }
 
+        this.referenceChangedEvent.fire(costCenter);
+
         return this.costCenterRepository.save(costCenter);
     }
 
@@ -561,6 +597,7 @@ public class MovementService {
     @Transactional
     public void deleteCostCenter(CostCenter costCenter) {
         this.costCenterRepository.delete(costCenter);
+        this.referenceChangedEvent.fire(costCenter);
     }
 
     /**
@@ -686,15 +723,21 @@ public class MovementService {
     }
 
     /**
-     *
+     * Lanca os movimentos fixos automaticos no periodo aberto, depois do 
+     * commit da abertura e fora da requisicao do usuario
+     * 
      * @param period
      */
-    public void autoLaunchFixedMovements(@Observes @PeriodOpened FinancialPeriod period) {
+    public void autoLaunchFixedMovements(@Observes(during = TransactionPhase.AFTER_SUCCESS) 
+            @PeriodOpened FinancialPeriod period) {
 
-        final List<FixedMovement> fixedMovements
-                = this.fixedMovementRepository.listAutoLaunch();
+        this.eventDispatcher.dispatch("fixed-movements", () -> {
 
-        this.launchFixedMovements(fixedMovements, period);
+            final List<FixedMovement> fixedMovements
+                    = this.fixedMovementRepository.listAutoLaunch();
+
+            this.launchFixedMovements(fixedMovements, period);
+        });
     }
 
     /**
@@ -881,7 +924,8 @@ public class MovementService {
      * @param pageRequest
      * @return
      */
-    public Page<Movement> listMovementsByFilter(MovementFilter filter, PageRequest pageRequest) {
+    public Page<MovementRow> listMovementsByFilter(MovementFilter filter, PageRequest pageRequest) {
+        this.movementIndexService.resolveCandidates(filter);
         return this.movementRepository.listByFilter(filter, pageRequest);
     }
 
@@ -891,27 +935,27 @@ public class MovementService {
      * @param pageRequest
      * @return
      */
-    public Page<FixedMovement> listFixedMovementsByFilter(String filter, PageRequest pageRequest) {
+    public Page<FixedMovementRow> listFixedMovementsByFilter(String filter, PageRequest pageRequest) {
 
-        final Page<FixedMovement> page
+        final Page<FixedMovementRow> page
                 = this.fixedMovementRepository.listByFilter(filter, pageRequest);
 
         final FinancialPeriod period
                 = this.financialPeriodService.findActiveFinancialPeriod();
 
-        page.getContent()
-                .forEach(fixedMovement -> {
+        if (period == null || page.getContent().isEmpty()) {
+            return page;
+        }
 
-                    final List<Launch> launches = this.launchRepository
-                            .listByFixedMovement(fixedMovement);
+        // uma unica consulta para marcar os ja lancados no periodo ativo
+        final List<Long> launched = this.launchRepository
+                .listLaunchedFixedMovementIds(page.getContent()
+                        .stream()
+                        .map(FixedMovementRow::getId)
+                        .collect(Collectors.toList()), period);
 
-                    for (Launch launch : launches) {
-                        if (launch.belongsToPeriod(period)) {
-                            fixedMovement.setAlreadyLaunched(true);
-                            break;
-                        }
-                    }
-                });
+        page.getContent().forEach(fixedMovement -> fixedMovement
+                .setAlreadyLaunched(launched.contains(fixedMovement.getId())));
 
         return page;
     }
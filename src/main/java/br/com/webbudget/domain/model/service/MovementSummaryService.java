@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2015 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.service;
+
+import br.com.webbudget.domain.misc.SummaryCalculator;
+import br.com.webbudget.domain.misc.events.MovementPaid;
+import br.com.webbudget.domain.misc.events.MovementSaved;
+import br.com.webbudget.domain.misc.events.MovementUpdated;
+import br.com.webbudget.domain.misc.events.PeriodClosed;
+import br.com.webbudget.domain.model.entity.entries.MovementClassType;
+import br.com.webbudget.domain.model.entity.financial.Movement;
+import br.com.webbudget.domain.model.entity.financial.MovementStateType;
+import br.com.webbudget.domain.model.entity.financial.MovementSummary;
+import br.com.webbudget.domain.model.entity.financial.MovementType;
+import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
+import br.com.webbudget.domain.model.repository.financial.IMovementRepository;
+import br.com.webbudget.domain.model.repository.financial.IMovementSummaryRepository;
+import br.com.webbudget.domain.model.repository.miscellany.IFinancialPeriodRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+/**
+ * Mantem a tabela de sumarios dos movimentos atualizada de forma incremental,
+ * cada alteracao aplica nas linhas de sumario apenas a diferenca causada pelo
+ * movimento alterado
+ * 
+ * Antes de alterar ou excluir um movimento, o {@link MovementService} retira 
+ * a contribuicao que ele tem no banco e os eventos de inclusao, pagamento e 
+ * edicao somam a contribuicao nova. So o encerramento, que troca o estado de
+ * todos os movimentos do periodo de uma vez, recalcula o periodo encerrado
+ * 
+ * Toda escrita nas linhas de sumario de um periodo acontece com o periodo 
+ * travado, assim duas transacoes nunca criam a mesma linha em duplicidade
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ApplicationScoped
+public class MovementSummaryService {
+
+    @Inject
+    private IMovementRepository movementRepository;
+    @Inject
+    private IMovementSummaryRepository movementSummaryRepository;
+    @Inject
+    private IFinancialPeriodRepository financialPeriodRepository;
+
+    /**
+     * Recalcula as linhas de sumario de um periodo
+     *
+     * @param period o periodo a ser recalculado
+     */
+    @Transactional
+    public void refreshPeriod(FinancialPeriod period) {
+
+        this.movementSummaryRepository.lockPeriod(period);
+        this.movementSummaryRepository.deleteByPeriod(period);
+
+        this.movementSummaryRepository.aggregateByPeriod(period)
+                .stream()
+                .forEach(summary -> {
+                    this.movementSummaryRepository.save(summary);
+                });
+    }
+
+    /**
+     * Descarta todo o sumario e recalcula ele do zero para todos os periodos
+     */
+    @Transactional
+    public void rebuild() {
+
+        final List<FinancialPeriod> periods = this.financialPeriodRepository.listAll();
+        
+        // sempre na ordem dos ids, como no lancamento das contribuicoes
+        periods.stream()
+                .sorted(Comparator.comparing(FinancialPeriod::getId))
+                .forEach(this.movementSummaryRepository::lockPeriod);
+        
+        this.movementSummaryRepository.deleteAll();
+
+        periods.stream()
+                .forEach(period -> {
+                    this.movementSummaryRepository.aggregateByPeriod(period)
+                            .stream()
+                            .forEach(summary -> {
+                                this.movementSummaryRepository.save(summary);
+                            });
+                });
+    }
+
+    /**
+     * Retira do sumario a contribuicao que o movimento tem no banco, deve ser
+     * chamado antes de o movimento ser alterado ou excluido
+     *
+     * @param movement o movimento
+     */
+    @Transactional
+    public void withdraw(Movement movement) {
+        
+        if (movement == null || !movement.isSaved()) {
+            return;
+        }
+        
+        final List<MovementSummary> contributions = 
+                this.movementSummaryRepository.aggregateByMovement(movement);
+        
+        this.lockPeriodsOf(contributions);
+        
+        contributions.stream().forEach(contribution -> {
+            this.movementSummaryRepository.accumulate(contribution, -1);
+        });
+        
+        contributions.stream()
+                .map(MovementSummary::getFinancialPeriod)
+                .distinct()
+                .forEach(this.movementSummaryRepository::deleteEmptyByPeriod);
+    }
+
+    /**
+     * Quando um movimento e incluido, soma a contribuicao dele
+     *
+     * @param code o codigo do movimento
+     */
+    @Transactional
+    public void whenMovementSaved(@Observes @MovementSaved String code) {
+        this.contribute(code);
+    }
+
+    /**
+     * Quando um movimento e pago, soma a contribuicao dele ja pago
+     *
+     * @param code o codigo do movimento
+     */
+    @Transactional
+    public void whenMovementPaid(@Observes @MovementPaid String code) {
+        this.contribute(code);
+    }
+
+    /**
+     * Quando um movimento e editado, soma a contribuicao dele com os dados 
+     * novos, inclusive se ele trocou de periodo
+     *
+     * @param code o codigo do movimento
+     */
+    @Transactional
+    public void whenMovementUpdated(@Observes @MovementUpdated String code) {
+        this.contribute(code);
+    }
+
+    /**
+     * No encerramento os movimentos passam para calculado, entao recalculamos
+     * o periodo encerrado
+     *
+     * @param period o periodo encerrado
+     */
+    @Transactional
+    public void whenPeriodClosed(@Observes @PeriodClosed FinancialPeriod period) {
+        this.refreshPeriod(period);
+    }
+
+    /**
+     * Lista as linhas de sumario de movimentos (sem faturas) efetivados no 
+     * periodo considerando se ele esta ou nao encerrado
+     *
+     * @param period o periodo
+     * @param direction a direcao, entrada ou saida, ou nulo para ambas
+     * @return as linhas de sumario
+     */
+    public List<MovementSummary> listEffectiveByPeriod(FinancialPeriod period, 
+            MovementClassType direction) {
+
+        MovementStateType state = MovementStateType.PAID;
+
+        if (period.isClosed()) {
+            state = MovementStateType.CALCULATED;
+        }
+
+        return this.movementSummaryRepository
+                .listByPeriodAndStateAndTypeAndDirection(
+                        period, state, MovementType.MOVEMENT, direction);
+    }
+
+    /**
+     * Monta uma calculadora com os sumarios efetivados dos periodos informados
+     *
+     * @param periods os periodos
+     * @return a calculadora
+     */
+    public SummaryCalculator calculatorFor(List<FinancialPeriod> periods) {
+
+        final List<MovementSummary> summaries = new ArrayList<>();
+
+        periods.stream().forEach(period -> {
+            summaries.addAll(this.listEffectiveByPeriod(period, null));
+        });
+
+        return new SummaryCalculator(summaries);
+    }
+
+    /**
+     * Busca o movimento pelo codigo e soma a contribuicao dele no sumario
+     *
+     * @param code o codigo do movimento
+     */
+    private void contribute(String code) {
+
+        final Movement movement = this.movementRepository.findByCode(code);
+
+        if (movement != null) {
+            
+            final List<MovementSummary> contributions = 
+                    this.movementSummaryRepository.aggregateByMovement(movement);
+            
+            this.lockPeriodsOf(contributions);
+            
+            contributions.stream().forEach(contribution -> {
+                this.movementSummaryRepository.accumulate(contribution, 1);
+            });
+        }
+    }
+
+    /**
+     * Trava os periodos das contribuicoes na ordem dos ids, quem precisa de 
+     * mais de um periodo trava sempre na mesma ordem e nao entra em deadlock
+     *
+     * @param contributions as contribuicoes que serao lancadas
+     */
+    private void lockPeriodsOf(List<MovementSummary> contributions) {
+        contributions.stream()
+                .map(MovementSummary::getFinancialPeriod)
+                .collect(Collectors.toMap(FinancialPeriod::getId, 
+                        Function.identity(), (first, second) -> first, TreeMap::new))
+                .values()
+                .forEach(this.movementSummaryRepository::lockPeriod);
+    }
+}
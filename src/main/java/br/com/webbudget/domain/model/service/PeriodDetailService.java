@@ -16,31 +16,24 @@
  */
 package br.com.webbudget.domain.model.service;
 
+import br.com.webbudget.domain.misc.CostCenterGrouping;
+import br.com.webbudget.domain.misc.TimeSeriesBuilder;
 import br.com.webbudget.domain.model.entity.entries.CostCenter;
 import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
-import br.com.webbudget.domain.model.entity.financial.Movement;
+import br.com.webbudget.domain.model.entity.financial.MovementSummary;
 import br.com.webbudget.domain.model.entity.entries.MovementClass;
 import br.com.webbudget.domain.model.entity.entries.MovementClassType;
-import br.com.webbudget.domain.model.entity.financial.MovementStateType;
-import br.com.webbudget.domain.model.entity.financial.MovementType;
 import br.com.webbudget.application.component.chart.donut.DonutChartDataset;
 import br.com.webbudget.application.component.chart.donut.DonutChartModel;
 import br.com.webbudget.application.component.chart.line.LineChartDatasetBuilder;
 import br.com.webbudget.application.component.chart.line.LineChartModel;
 import br.com.webbudget.domain.model.repository.financial.IApportionmentRepository;
-import br.com.webbudget.domain.model.repository.entries.IMovementClassRepository;
-import br.com.webbudget.domain.model.repository.financial.IMovementRepository;
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
-import org.apache.commons.collections.ListUtils;
 
 /**
  * Classe que representa a montagem da tela de detalhes do periodo financeiro
@@ -53,12 +46,11 @@ import org.apache.commons.collections.ListUtils;
 @ApplicationScoped
 public class PeriodDetailService {
 
-    @Inject
-    private IMovementRepository movementRepository;
     @Inject
     private IApportionmentRepository apportionmentRepository;
+    
     @Inject
-    private IMovementClassRepository movementClassRepository;
+    private MovementSummaryService movementSummaryService;
 
     /**
      * Metodo que busca as classes de movimentacao e seu respectivo valor 
@@ -70,31 +62,9 @@ public class PeriodDetailService {
      */
     public List<MovementClass> fetchTopClassesAndValues(
             FinancialPeriod period, MovementClassType direction) {
-
-        final List<MovementClass> withValues = new ArrayList<>();
-
-        // lista as classes sem pegar as bloqueadas
-        final List<MovementClass> classes = this.movementClassRepository
-                .listByTypeAndStatus(direction, Boolean.FALSE);
-
-        // para cada classe pegamos o seu total em movimentacao
-        classes.stream().forEach(clazz -> {
-
-            final BigDecimal total = this.apportionmentRepository
-                    .totalMovementsPerClassAndPeriod(period, clazz);
-
-            if (total != null) {
-                clazz.setTotalMovements(total);
-                withValues.add(clazz);
-            }
-        });
-
-        // ordena do maior para o menor
-        withValues.sort((c1, c2)
-                -> c2.getTotalMovements().compareTo(c1.getTotalMovements()));
-
-        // retorna somente os 10 primeiros resultados
-        return withValues.size() > 10 ? withValues.subList(0, 10) : withValues;
+        // agrupa, ordena e limita aos 10 maiores direto no banco
+        return this.apportionmentRepository
+                .listTopClassesByPeriodAndDirection(period, direction, 10);
     }
 
     /**
@@ -106,30 +76,18 @@ public class PeriodDetailService {
      */
     public DonutChartModel buidCostCenterChart(FinancialPeriod period, MovementClassType direction) {
 
-        final List<Movement> movements;
-
-        // pela direcao, decide qual lista de movimentos usar
-        if (direction == MovementClassType.OUT) {
-            movements = this.getExpensesFor(period);
-        } else {
-            movements = this.getRevenuesFor(period);
-        }
+        // pega os sumarios ja agregados do periodo na direcao desejada
+        final List<MovementSummary> summaries = this.movementSummaryService
+                .listEffectiveByPeriod(period, direction);
 
-        // mapeia para cada centro de custo, seus movimentos
-        final Map<CostCenter, List<Movement>> costCentersAndMovements
-                = this.mapCostCenterAndMovements(movements);
+        // soma os sumarios direto no total de cada centro de custo
+        final Map<CostCenter, BigDecimal> costCentersAndTotals = CostCenterGrouping
+                .group(summaries, MovementSummary::getCostCenter, MovementSummary::getTotal);
 
         final DonutChartModel donutChartModel = new DonutChartModel();
 
         // para cada CC adiciona os dados do grafico
-        costCentersAndMovements.keySet().stream().forEach(costCenter -> {
-
-            final List<Movement> grouped
-                    = costCentersAndMovements.get(costCenter);
-
-            BigDecimal total = grouped.stream()
-                    .map(Movement::getValue)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        costCentersAndTotals.forEach((costCenter, total) -> {
 
             final String color = this.createRandomColor();
             
@@ -148,13 +106,19 @@ public class PeriodDetailService {
      */
     public LineChartModel bulidDailyChart(FinancialPeriod period) {
 
-        // lista receitas e despesas do periodo
-        final List<Movement> revenues = this.getRevenuesFor(period);
-        final List<Movement> expenses = this.getExpensesFor(period);
+        // lista os sumarios de receitas e despesas do periodo
+        final List<MovementSummary> revenues = this.movementSummaryService
+                .listEffectiveByPeriod(period, MovementClassType.IN);
+        final List<MovementSummary> expenses = this.movementSummaryService
+                .listEffectiveByPeriod(period, MovementClassType.OUT);
 
-        // agrupamos pelas datas das despesas e receitas
-        final List<LocalDate> payDates = this.groupPaymentDates(
-                ListUtils.union(revenues, expenses));
+        // agrupa os totais por dia em uma unica passada
+        final TimeSeriesBuilder<MovementClassType> series = new TimeSeriesBuilder<>();
+        
+        series.addAll(MovementClassType.IN, revenues, 
+                MovementSummary::getPaymentDate, MovementSummary::getTotal);
+        series.addAll(MovementClassType.OUT, expenses, 
+                MovementSummary::getPaymentDate, MovementSummary::getTotal);
 
         // monta o grafico de linhas
         final LineChartModel model = new LineChartModel();
@@ -179,25 +143,11 @@ public class PeriodDetailService {
                 .withPointHighlightFillColor("#fff")
                 .withPointHighlightStroke("rgba(45,134,45,1)");
 
-        // para cada data de pagamento, printa o valor no dataset
-        payDates.stream().forEach(payDate -> {
-
-            model.addLabel(DateTimeFormatter
-                    .ofPattern("dd/MM").format(payDate));
-
-            final BigDecimal expensesTotal = expenses.stream()
-                    .filter(movement -> movement.getPaymentDate().equals(payDate))
-                    .map(Movement::getValue)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // printa os rotulos e os valores de cada dia nos datasets
+        series.getLabels().forEach(model::addLabel);
 
-            final BigDecimal revenuesTotal = revenues.stream()
-                    .filter(movement -> movement.getPaymentDate().equals(payDate))
-                    .map(Movement::getValue)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            expensesBuilder.andData(expensesTotal);
-            revenuesBuilder.andData(revenuesTotal);
-        });
+        expensesBuilder.andData(series.getValues(MovementClassType.OUT));
+        revenuesBuilder.andData(series.getValues(MovementClassType.IN));
 
         // joga os datasets no model
         model.addDataset(revenuesBuilder.build());
@@ -206,65 +156,6 @@ public class PeriodDetailService {
         return model;
     }
 
-    /**
-     * Agrupa todas as datas de pagamento dos movimentos pagos no periodo
-     *
-     * @param movements a lista de movimentos
-     * @return a lista de datas
-     */
-    private List<LocalDate> groupPaymentDates(List<Movement> movements) {
-
-        final List<LocalDate> dates = new ArrayList<>();
-
-        movements.stream().forEach(movement -> {
-            if (!dates.contains(movement.getPaymentDate())) {
-                dates.add(movement.getPaymentDate());
-            }
-        });
-
-        dates.sort((d1, d2) -> d1.compareTo(d2));
-
-        return dates;
-    }
-
-    /**
-     * Pega todas as receitas para um determinado periodo considerando se ele
-     * esta ou nao encerrado
-     *
-     * @param period o periodo
-     * @return a lista de movimentos
-     */
-    private List<Movement> getRevenuesFor(FinancialPeriod period) {
-
-        MovementStateType state = MovementStateType.PAID;
-
-        if (period.isClosed()) {
-            state = MovementStateType.CALCULATED;
-        }
-
-        return this.movementRepository.listByPeriodAndStateAndTypeAndDirection(
-                period, state, MovementType.MOVEMENT, MovementClassType.IN);
-    }
-
-    /**
-     * Pega todas as despesas para um determinado periodo considerando se ele
-     * esta ou nao encerrado
-     *
-     * @param period o periodo
-     * @return a lista de movimentos
-     */
-    private List<Movement> getExpensesFor(FinancialPeriod period) {
-
-        MovementStateType state = MovementStateType.PAID;
-
-        if (period.isClosed()) {
-            state = MovementStateType.CALCULATED;
-        }
-
-        return this.movementRepository.listByPeriodAndStateAndTypeAndDirection(
-                period, state, MovementType.MOVEMENT, MovementClassType.OUT);
-    }
-
     /**
      * @return gera uma cor hex randomica para o grafico
      */
@@ -281,42 +172,4 @@ public class PeriodDetailService {
         
         return builder.toString();
     }
-
-    /**
-     * Mapeia os movimentos para dentro de seu respectivo centro de custo
-     * 
-     * @param movements o movimentos
-     * @return o mapa de CC X movimentos
-     */
-    private Map<CostCenter, List<Movement>> mapCostCenterAndMovements(List<Movement> movements) {
-
-        final Map<CostCenter, List<Movement>> result = new HashMap<>();
-
-        // mapeia apenas os centros de custo
-        final List<CostCenter> costCenters = new ArrayList<>();
-
-        movements.stream().forEach(movement -> {
-            movement.getCostCenters().stream().forEach(costCenter -> {
-                if (!costCenters.contains(costCenter)) {
-                    costCenters.add(costCenter);
-                }
-            });
-        });
-
-        // mapeia os movimentos para cada centro de custo
-        costCenters.stream().forEach(costCenter -> {
-
-            final List<Movement> grouped = new ArrayList<>();
-
-            movements.stream().forEach(movement -> {
-                if (movement.getCostCenters().contains(costCenter)) {
-                    grouped.add(movement);
-                }
-            });
-
-            result.put(costCenter, grouped);
-        });
-
-        return result;
-    }
 }
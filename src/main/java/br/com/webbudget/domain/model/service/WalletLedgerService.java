@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.service;
+
+import br.com.webbudget.domain.misc.LedgerCheck;
+import br.com.webbudget.domain.misc.LedgerReport;
+import br.com.webbudget.domain.misc.ex.InternalServiceError;
+import br.com.webbudget.domain.model.entity.entries.Wallet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import org.slf4j.Logger;
+
+/**
+ * Confere se o saldo gravado de cada carteira bate com o seu razao, os 
+ * historicos de saldo. As carteiras sao conferidas em paralelo no pool 
+ * gerenciado pelo container e cada razao e lido sob demanda, sem carregar 
+ * todos os historicos em memoria
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ApplicationScoped
+public class WalletLedgerService {
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private WalletService walletService;
+
+    @Resource(lookup = "java:comp/DefaultManagedExecutorService")
+    private ManagedExecutorService executorService;
+
+    /**
+     * Confere o razao de todas as carteiras
+     * 
+     * @param correct se as carteiras inconsistentes devem ser corrigidas
+     * @param reason o motivo gravado nas correcoes
+     * @return o relatorio da conferencia
+     */
+    public LedgerReport verify(boolean correct, String reason) {
+
+        final long start = System.nanoTime();
+
+        final List<Future<LedgerCheck>> futures = new ArrayList<>();
+
+        this.walletService.listWallets(null).forEach(wallet -> futures.add(
+                this.executorService.submit(() -> this.verify(wallet, correct, reason))));
+
+        final List<LedgerCheck> checks = new ArrayList<>();
+
+        try {
+            for (Future<LedgerCheck> future : futures) {
+                checks.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new InternalServiceError("error.undefined-error", ex, ex.getMessage());
+        } catch (ExecutionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            throw new InternalServiceError("error.undefined-error", 
+                    ex.getCause(), ex.getCause().getMessage());
+        }
+
+        final LedgerReport report = new LedgerReport(checks, TimeUnit.NANOSECONDS
+                .toMillis(System.nanoTime() - start));
+
+        this.logger.info("Wallet ledgers verified: {} wallets, {} entries, "
+                + "{} inconsistent, {} corrected in {} ms", checks.size(), 
+                report.getTotalEntries(), report.getInconsistencies().size(), 
+                report.getCorrections(), report.getElapsedTime());
+
+        return report;
+    }
+
+    /**
+     * Confere o razao de uma carteira e se preciso corrige o saldo gravado
+     * 
+     * A correcao usa a diferenca encontrada e nao o saldo do razao, entao um 
+     * saldo lancado entre a conferencia e a correcao nao se perde, ele mexe no
+     * razao e no saldo gravado pelo mesmo valor
+     * 
+     * @param wallet a carteira
+     * @param correct se deve corrigir
+     * @param reason o motivo da correcao
+     * @return a conferencia do razao
+     */
+    private LedgerCheck verify(Wallet wallet, boolean correct, String reason) {
+
+        final LedgerCheck check = this.walletService.checkLedger(wallet);
+
+        if (check.isConsistent()) {
+            return check;
+        }
+
+        this.logger.warn("Wallet {} ledger mismatch: stored {}, ledger {}, "
+                + "{} chain breaks", wallet.getId(), check.getStoredBalance(), 
+                check.getLedgerBalance(), check.getChainBreaks());
+
+        if (correct) {
+            this.walletService.reconcileBalance(wallet, check.getDifference(), reason);
+            return check.asCorrected();
+        }
+        return check;
+    }
+}
@@ -19,20 +19,37 @@ package br.com.webbudget.domain.model.service;
 import br.com.webbudget.domain.model.entity.entries.Wallet;
 import br.com.webbudget.domain.model.entity.entries.WalletBalance;
 import br.com.webbudget.domain.model.entity.entries.WalletBalanceType;
+import br.com.webbudget.domain.model.entity.entries.WalletCheckpoint;
 import br.com.webbudget.domain.model.entity.entries.WalletType;
 import br.com.webbudget.domain.misc.BalanceBuilder;
+import br.com.webbudget.domain.misc.LedgerCheck;
+import br.com.webbudget.domain.misc.TimeSeriesBuilder;
 import br.com.webbudget.domain.misc.ex.InternalServiceError;
 import br.com.webbudget.domain.model.repository.entries.IWalletBalanceRepository;
+import br.com.webbudget.domain.model.repository.entries.IWalletCheckpointRepository;
 import br.com.webbudget.domain.model.repository.entries.IWalletRepository;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import br.com.webbudget.domain.misc.events.UpdateBalance;
 import br.com.webbudget.application.component.table.Page;
 import br.com.webbudget.application.component.table.PageRequest;
+import br.com.webbudget.domain.misc.events.PeriodClosed;
+import br.com.webbudget.domain.misc.events.ReferenceChanged;
+import br.com.webbudget.domain.model.entity.IPersistentEntity;
+import br.com.webbudget.domain.model.entity.miscellany.FinancialPeriod;
+import br.com.webbudget.domain.model.projection.WalletRow;
 
 /**
  * Serice para manutencao dos processos relacionados a carteiras e saldos 
@@ -49,6 +66,12 @@ public class WalletService {
     private IWalletRepository walletRepository;
     @Inject
     private IWalletBalanceRepository walletBalanceRepository;
+    @Inject
+    private IWalletCheckpointRepository walletCheckpointRepository;
+
+    @Inject
+    @ReferenceChanged
+    private Event<IPersistentEntity> referenceChangedEvent;
 
     /**
      *
@@ -64,18 +87,25 @@ public class WalletService {
             throw new InternalServiceError("error.wallet.duplicated");
         }
 
+        // a carteira nasce zerada, o saldo inicial entra pelo ajuste abaixo
+        final BigDecimal initialBalance = wallet.getBalance();
+        
+        wallet.setBalance(BigDecimal.ZERO);
+        
         wallet = this.walletRepository.save(wallet);
 
+        this.referenceChangedEvent.fire(wallet);
+
         // se a carteira teve um saldo inicial != 0, entao ajustamos ela para o
         // saldo informado pelo usuario no momento da criacao
-        if (wallet.getBalance().compareTo(BigDecimal.ZERO) != 0) {
+        if (initialBalance.compareTo(BigDecimal.ZERO) != 0) {
 
             final BalanceBuilder builder = new BalanceBuilder();
             
             builder.forWallet(wallet)
                     .withOldBalance(BigDecimal.ZERO)
-                    .withActualBalance(wallet.getBalance())
-                    .withMovementedValue(wallet.getBalance())
+                    .withActualBalance(initialBalance)
+                    .withMovementedValue(initialBalance)
                     .andType(WalletBalanceType.ADJUSTMENT);
 
             this.updateBalance(builder);
@@ -97,6 +127,8 @@ public class WalletService {
             throw new InternalServiceError("error.wallet.duplicated");
         }
 
+        this.referenceChangedEvent.fire(wallet);
+
         return this.walletRepository.save(wallet);
     }
 
@@ -120,6 +152,8 @@ public class WalletService {
         });
 
         this.walletRepository.delete(wallet);
+
+        this.referenceChangedEvent.fire(wallet);
     }
 
     /**
@@ -149,8 +183,6 @@ public class WalletService {
                 .withMovementedValue(walletBalance.getMovementedValue())
                 .byTheReason(walletBalance.getReason())
                 .andType(WalletBalanceType.TRANSFERENCE);
-        
-        this.updateBalance(builderTarget);
 
         // atualizamos a origem
         final BalanceBuilder builderSource = new BalanceBuilder();
@@ -167,7 +199,15 @@ public class WalletService {
                 .withMovementedValue(walletBalance.getMovementedValue())
                 .andType(WalletBalanceType.TRANSFER_ADJUSTMENT);
         
-        this.updateBalance(builderSource);
+        // as carteiras sao sempre travadas na ordem dos ids, assim duas 
+        // transferencias em sentidos opostos nao entram em deadlock
+        if (source.getId() < target.getId()) {
+            this.updateBalance(builderSource);
+            this.updateBalance(builderTarget);
+        } else {
+            this.updateBalance(builderTarget);
+            this.updateBalance(builderSource);
+        }
     }
 
     /**
@@ -177,21 +217,57 @@ public class WalletService {
      */
     @Transactional
     public void adjustBalance(Wallet wallet) {
+        this.updateBalance(this.createAdjustment(wallet));
+    }
+    
+    /**
+     * Corrige o saldo gravado da carteira para que ele volte a bater com o 
+     * razao, a correcao segue o fluxo do ajuste mas fica marcada como 
+     * reconciliacao para nao entrar no recalculo do razao
+     * 
+     * @param wallet a carteira a ser corrigida
+     * @param difference a diferenca entre o razao e o saldo gravado
+     * @param reason o motivo da correcao
+     */
+    @Transactional
+    public void reconcileBalance(Wallet wallet, BigDecimal difference, String reason) {
+        
+        wallet.setAdjustmentValue(difference);
+        wallet.setReason(reason);
+        
+        this.updateBalance(this.createAdjustment(wallet).asReconciliation());
+    }
+    
+    /**
+     * Confere o saldo gravado da carteira contra o seu razao
+     * 
+     * @param wallet a carteira
+     * @return a conferencia do razao
+     */
+    @Transactional
+    public LedgerCheck checkLedger(Wallet wallet) {
+        return this.walletBalanceRepository.checkLedger(wallet);
+    }
+    
+    /**
+     * @param wallet a carteira a ser ajustada, dentro dela os dados do ajuste
+     * @return o builder do saldo de ajuste
+     */
+    private BalanceBuilder createAdjustment(Wallet wallet) {
 
-        // atualizamos o novo saldo
-        final BigDecimal oldBalance = wallet.getBalance();
+        // o saldo em maos pode estar velho, lemos o saldo atual com a linha 
+        // travada para que o ajuste parta do valor real da carteira
+        final BigDecimal oldBalance = this.walletRepository.lockBalance(wallet);
         final BigDecimal newBalance = oldBalance.add(wallet.getAdjustmentValue());
         
         final BalanceBuilder builder = new BalanceBuilder();
 
-        builder.forWallet(wallet)
+        return builder.forWallet(wallet)
                 .withOldBalance(oldBalance)
                 .withActualBalance(newBalance)
                 .withMovementedValue(wallet.getAdjustmentValue())
                 .byTheReason(wallet.getReason())
                 .andType(WalletBalanceType.ADJUSTMENT);
-        
-        this.updateBalance(builder);
     }
 
     /**
@@ -201,6 +277,12 @@ public class WalletService {
      * OBS: todas as atualizacoes de saldo dentro do sistema DEVEM seguir o 
      * fluxo de evento chegando ate este metodo
      * 
+     * O saldo que veio no builder foi calculado sobre a carteira que o 
+     * chamador tinha em maos e pode estar velho, por isso usamos so a 
+     * diferenca entre os saldos e o banco faz a soma sobre o valor atual. O 
+     * historico e gravado com os saldos reais de antes e depois da soma e 
+     * com a posicao que a soma ocupa no razao da carteira
+     * 
      * @param builder o builder para contrucao do saldo
      */
     @Transactional
@@ -210,16 +292,133 @@ public class WalletService {
         
         final Wallet wallet = walletBalance.getTargetWallet();
         
-        // seta o saldo na carteira
-        wallet.setBalance(walletBalance.getActualBalance());
+        final BigDecimal delta = walletBalance.getActualBalance()
+                .subtract(walletBalance.getOldBalance());
+        
+        final BigDecimal actualBalance = 
+                this.walletRepository.addToBalance(wallet, delta);
+        
+        walletBalance.setOldBalance(actualBalance.subtract(delta));
+        walletBalance.setActualBalance(actualBalance);
+        walletBalance.setLedgerSequence(wallet.getLedgerSequence());
+        
+        // atualiza a carteira em maos para quem chamou
+        wallet.setBalance(actualBalance);
 
-        // salva carteira
-        this.walletRepository.save(wallet);
+        this.referenceChangedEvent.fire(wallet);
 
         // salva o saldo
         this.walletBalanceRepository.save(walletBalance);
     }
     
+    /**
+     * Ao encerrar um periodo grava um ponto de controle com o saldo de cada 
+     * carteira. A carteira fica travada enquanto o saldo e lido, assim nenhum
+     * saldo lancado ao mesmo tempo fica de fora do ponto de controle
+     * 
+     * Junto do saldo guardamos a posicao da carteira no razao, ela so avanca
+     * com a carteira travada, entao todo historico gravado depois do ponto de
+     * controle tem uma posicao maior que a dele. O id do historico nao serve,
+     * cada servidor reserva o seu bloco de ids e grava fora de ordem
+     * 
+     * @param period o periodo encerrado
+     */
+    @Transactional
+    public void createCheckpoints(@Observes @PeriodClosed FinancialPeriod period) {
+        
+        // travamos na ordem dos ids, como na transferencia
+        final List<Wallet> wallets = this.walletRepository.listByStatus(null);
+        
+        wallets.sort(Comparator.comparing(Wallet::getId));
+        
+        wallets.forEach(wallet -> {
+            
+            final WalletCheckpoint checkpoint = 
+                    this.walletRepository.lockCheckpoint(wallet);
+            
+            checkpoint.setCheckpointDate(new Date());
+            checkpoint.setFinancialPeriod(period);
+            
+            this.walletCheckpointRepository.save(checkpoint);
+        });
+    }
+    
+    /**
+     * Calcula o saldo da carteira em um instante a partir do ponto de controle
+     * mais proximo, somando apenas os saldos lancados depois dele. As 
+     * reconciliacoes ficam de fora da soma, como na conferencia do razao
+     * 
+     * @param wallet a carteira
+     * @param instant o instante
+     * @return o saldo da carteira naquele instante
+     */
+    public BigDecimal findBalanceAt(Wallet wallet, Date instant) {
+        
+        final WalletCheckpoint checkpoint = 
+                this.walletCheckpointRepository.findLatestUntil(wallet, instant);
+        
+        if (checkpoint == null) {
+            // as carteiras nascem zeradas, sem ponto de controle somamos tudo
+            return this.walletBalanceRepository
+                    .sumDeltasAfter(wallet, null, instant);
+        }
+        
+        return checkpoint.getBalance().add(this.walletBalanceRepository
+                .sumDeltasAfter(wallet, checkpoint.getLastLedgerSequence(), instant));
+    }
+    
+    /**
+     * Monta a evolucao do saldo da carteira no intervalo, o saldo inicial vem
+     * do ponto de controle e depois apenas os saldos do intervalo sao lidos
+     * 
+     * @param wallet a carteira
+     * @param from a data inicial
+     * @param to a data final
+     * @param bucket o tamanho do intervalo de agrupamento
+     * @return o saldo ao final de cada intervalo em que a carteira movimentou
+     */
+    public Map<LocalDate, BigDecimal> listBalancesOverTime(Wallet wallet, 
+            LocalDate from, LocalDate to, TimeSeriesBuilder.Bucket bucket) {
+        
+        final Date start = this.toDate(from);
+        final Date end = this.toDate(to.plusDays(1));
+        
+        final TimeSeriesBuilder<Wallet> series = new TimeSeriesBuilder<>(bucket);
+        
+        // as reconciliacoes repoem no saldo o que o razao ja contava, somar 
+        // elas aqui contaria a mesma diferenca duas vezes
+        final List<WalletBalance> entries = this.walletBalanceRepository
+                .listByWalletBetween(wallet, start, end)
+                .stream()
+                .filter(balance -> !balance.isReconciliation())
+                .collect(Collectors.toList());
+        
+        series.addAll(wallet, entries, 
+                WalletBalance::getInclusionAsLocalDate, 
+                balance -> balance.getActualBalance().subtract(balance.getOldBalance()));
+        
+        final Map<LocalDate, BigDecimal> balances = new LinkedHashMap<>();
+        
+        final List<LocalDate> dates = series.getDates();
+        final List<BigDecimal> deltas = series.getValues(wallet);
+        
+        BigDecimal balance = this.findBalanceAt(wallet, start);
+        
+        for (int i = 0; i < dates.size(); i++) {
+            balance = balance.add(deltas.get(i));
+            balances.put(dates.get(i), balance);
+        }
+        return balances;
+    }
+    
+    /**
+     * @param date a data
+     * @return o inicio do dia da data
+     */
+    private Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+    
     /**
      *
      * @param walletId
@@ -246,7 +445,7 @@ public class WalletService {
      * @param pageRequest
      * @return 
      */
-    public Page<Wallet> listWalletsLazily(Boolean isBlocked, PageRequest pageRequest) {
+    public Page<WalletRow> listWalletsLazily(Boolean isBlocked, PageRequest pageRequest) {
         return this.walletRepository.listLazilyByStatus(isBlocked, pageRequest);
     }
     
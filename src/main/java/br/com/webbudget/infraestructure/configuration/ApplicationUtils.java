@@ -80,38 +80,4 @@ public class ApplicationUtils {
         return FacesContext.getCurrentInstance()
                 .isProjectStage(projectStage);
     }
-
-    /**
-     * Gera um codigo aleatorio baseado em marcas do tempo
-     *
-     * @param size o tamanho
-     * @param onlyNumbers se deve ou nao usar somente numeros
-     * @return o codigo
-     */
-    public static String createRamdomCode(int size, boolean onlyNumbers) {
-
-        final String digits;
-        
-        if (onlyNumbers) {
-            digits = "0123456789";
-        } else {
-            digits = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-        }
-        
-        long decimalNumber = System.nanoTime();
-
-        String generated = "";
-
-        int mod;
-        int authCodeLength = 0;
-
-        while (decimalNumber != 0 && authCodeLength < size) {
-            mod = (int) (decimalNumber % digits.length());
-            generated = digits.substring(mod, mod + 1) + generated;
-            decimalNumber = decimalNumber / digits.length();
-            authCodeLength++;
-        }
-        
-        return generated;
-    }
 }
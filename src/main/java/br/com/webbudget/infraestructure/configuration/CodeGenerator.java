@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infraestructure.configuration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador dos codigos de negocio das entidades (movimentos, pagamentos, 
+ * abastecimentos e etc.)
+ * 
+ * Cada tamanho de codigo tem a sua sequencia e os valores sao reservados em 
+ * blocos no banco, assim cada no do cluster recebe blocos que nunca se 
+ * repetem e dentro do bloco os codigos saem de um contador atomico, sem 
+ * travas. O banco so e consultado quando o bloco acaba
+ * 
+ * Para nao parecerem sequenciais os valores sao embaralhados por uma funcao
+ * que leva cada valor do espaco de codigos em um unico outro valor do mesmo
+ * espaco, entao o embaralhamento tambem nunca gera repeticoes
+ * 
+ * As entidades pedem o codigo no primeiro acesso ou antes de serem salvas e 
+ * nunca no construtor, o Hibernate instancia entidades antes do gerador ser 
+ * instalado e as que vem do banco ja tem o seu codigo
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public final class CodeGenerator {
+
+    private static final String ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String NUMERIC = "0123456789";
+    
+    // primo, nao divide nem 36 nem 10, entao e inversivel no espaco de codigos
+    private static final long MULTIPLIER = 1_000_003L;
+    
+    // cada bloco reserva uma fracao do espaco, no minimo alguns codigos
+    private static final long BLOCKS_PER_SPACE = 100_000L;
+    private static final long MINIMUM_BLOCK_SIZE = 10L;
+
+    private static final Map<String, Sequence> SEQUENCES = new ConcurrentHashMap<>();
+    
+    private static volatile BlockReserver reserver;
+
+    /**
+     * 
+     */
+    private CodeGenerator() { }
+
+    /**
+     * Instala quem reserva os blocos de valores no banco, feito na subida da
+     * aplicacao pelo {@link CodeGeneratorInitializer}
+     * 
+     * @param blockReserver quem reserva os blocos
+     */
+    static void install(BlockReserver blockReserver) {
+        reserver = blockReserver;
+    }
+    
+    /**
+     * Gera um novo codigo
+     * 
+     * @param size o tamanho do codigo
+     * @param onlyNumbers se deve ou nao usar somente numeros
+     * @return o codigo
+     */
+    public static String next(int size, boolean onlyNumbers) {
+        
+        final String digits = onlyNumbers ? NUMERIC : ALPHANUMERIC;
+        
+        final Sequence sequence = SEQUENCES.computeIfAbsent("codes_" 
+                + digits.length() + "_" + size, name -> new Sequence(name, 
+                        pow(digits.length(), size)));
+
+        return format(sequence.scramble(sequence.next()), digits, size);
+    }
+    
+    /**
+     * @param value o valor
+     * @param digits os digitos do codigo
+     * @param size o tamanho do codigo
+     * @return o valor no formato do codigo, completado a esquerda com zeros
+     */
+    private static String format(long value, String digits, int size) {
+        
+        final char[] code = new char[size];
+        
+        for (int i = size - 1; i >= 0; i--) {
+            code[i] = digits.charAt((int) (value % digits.length()));
+            value /= digits.length();
+        }
+        return new String(code);
+    }
+    
+    /**
+     * @param base a base
+     * @param exponent o expoente
+     * @return a potencia
+     */
+    private static long pow(int base, int exponent) {
+        
+        long result = 1;
+        
+        for (int i = 0; i < exponent; i++) {
+            result = Math.multiplyExact(result, base);
+        }
+        return result;
+    }
+    
+    /**
+     * Reserva no banco os blocos de valores das sequencias
+     */
+    @FunctionalInterface
+    interface BlockReserver {
+        
+        /**
+         * @param segment o nome da sequencia
+         * @param size o tamanho do bloco
+         * @return o primeiro valor do bloco reservado
+         */
+        long reserve(String segment, long size);
+    }
+    
+    /**
+     * Um bloco de valores reservado, os valores vao de start ate end - 1
+     */
+    private static final class Block {
+        
+        private static final Block EMPTY = new Block(0, 0);
+        
+        private final AtomicLong cursor;
+        private final long end;
+
+        /**
+         * @param start o primeiro valor do bloco
+         * @param end o limite do bloco, exclusivo
+         */
+        Block(long start, long end) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+    
+    /**
+     * A sequencia de um tamanho de codigo
+     */
+    private static final class Sequence {
+        
+        private final String segment;
+        private final long space;
+        private final long blockSize;
+        private final long offset;
+        
+        private volatile Block block;
+
+        /**
+         * @param segment o nome da sequencia no banco
+         * @param space quantos codigos cabem no tamanho
+         */
+        Sequence(String segment, long space) {
+            this.segment = segment;
+            this.space = space;
+            this.blockSize = Math.max(MINIMUM_BLOCK_SIZE, space / BLOCKS_PER_SPACE);
+            this.offset = space / 7;
+            this.block = Block.EMPTY;
+        }
+        
+        /**
+         * @return o proximo valor da sequencia
+         */
+        long next() {
+            
+            while (true) {
+                
+                final Block current = this.block;
+                final long value = current.cursor.getAndIncrement();
+                
+                if (value < current.end) {
+                    return value;
+                }
+                this.refill(current);
+            }
+        }
+        
+        /**
+         * @param value o valor da sequencia
+         * @return o valor embaralhado dentro do espaco de codigos
+         */
+        long scramble(long value) {
+            // ate 8 digitos o espaco fica abaixo de 2^42, entao nao estoura
+            return (value * MULTIPLIER + this.offset) % this.space;
+        }
+        
+        /**
+         * Reserva um novo bloco, apenas a primeira thread que encontrar o 
+         * bloco esgotado vai ao banco, as outras usam o bloco que ela trouxer
+         * 
+         * @param exhausted o bloco que esgotou
+         */
+        private synchronized void refill(Block exhausted) {
+            
+            if (this.block != exhausted) {
+                return;
+            }
+            
+            final BlockReserver blockReserver = reserver;
+            
+            if (blockReserver == null) {
+                throw new IllegalStateException("Code generator not initialized");
+            }
+            
+            final long start = blockReserver.reserve(this.segment, this.blockSize);
+            
+            if (start + this.blockSize > this.space) {
+                throw new IllegalStateException("No codes left for " + this.segment);
+            }
+            
+            this.block = new Block(start, start + this.blockSize);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infraestructure.configuration;
+
+import br.com.webbudget.domain.model.entity.PersistentEntity;
+import java.math.BigInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.SessionContext;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.slf4j.Logger;
+
+/**
+ * Liga o {@link CodeGenerator} ao banco. Os blocos de codigos sao reservados 
+ * na mesma tabela dos ids das entidades, cada sequencia de codigos e uma 
+ * linha da tabela
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@Startup
+@Singleton
+public class CodeGeneratorInitializer {
+
+    @Inject
+    private Logger logger;
+
+    @Resource
+    private SessionContext sessionContext;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Instala a reserva de blocos no gerador, passando pelo proxy do EJB para
+     * que cada reserva rode na sua propria transacao
+     */
+    @PostConstruct
+    protected void initialize() {
+        
+        final CodeGeneratorInitializer self = this.sessionContext
+                .getBusinessObject(CodeGeneratorInitializer.class);
+        
+        CodeGenerator.install(self::reserveBlock);
+    }
+
+    /**
+     * Reserva um bloco de valores para a sequencia, o update e atomico no 
+     * banco entao dois nos nunca recebem o mesmo bloco. A transacao e propria
+     * para que a linha fique travada apenas durante a reserva
+     *
+     * @param segment o nome da sequencia
+     * @param size o tamanho do bloco
+     * @return o primeiro valor do bloco
+     */
+    @Lock(LockType.READ)
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public long reserveBlock(String segment, long size) {
+        
+        // garante que a sequencia exista, sem mexer se ela ja existir
+        this.entityManager.createNativeQuery(
+                "insert ignore into " + PersistentEntity.ID_GENERATORS_TABLE 
+                + " (entity, next_value) values (:entity, 0)")
+                .setParameter("entity", segment)
+                .executeUpdate();
+        
+        this.entityManager.createNativeQuery(
+                "update " + PersistentEntity.ID_GENERATORS_TABLE + " "
+                + "set next_value = last_insert_id(next_value + :size) "
+                + "where entity = :entity")
+                .setParameter("size", size)
+                .setParameter("entity", segment)
+                .executeUpdate();
+        
+        // o last_insert_id e por conexao, entao le o valor que este update gravou
+        final long next = ((BigInteger) this.entityManager
+                .createNativeQuery("select last_insert_id()")
+                .getSingleResult()).longValue();
+        
+        this.logger.debug("Code block reserved for {}, {} to {}", segment, next - size, next - 1);
+        
+        return next - size;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infraestructure.configuration;
+
+import br.com.webbudget.domain.model.entity.PersistentEntity;
+import javax.annotation.PostConstruct;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Table;
+import javax.persistence.metamodel.EntityType;
+import org.slf4j.Logger;
+
+/**
+ * Inicializa a tabela de geracao de ids das entidades. Para cada entidade o
+ * proximo id e colocado acima do maior id ja gravado, assim os registros que
+ * vieram da epoca do auto incremento continuam com os mesmos ids e os novos
+ * nunca colidem com eles
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@Startup
+@Singleton
+public class IdGeneratorInitializer {
+
+    @Inject
+    private Logger logger;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Ajusta o proximo id de todas as entidades persistentes
+     */
+    @PostConstruct
+    protected void initialize() {
+        this.entityManager.getMetamodel()
+                .getEntities()
+                .stream()
+                .map(EntityType::getJavaType)
+                .filter(PersistentEntity.class::isAssignableFrom)
+                .map(type -> type.getAnnotation(Table.class))
+                .filter(table -> table != null)
+                .map(Table::name)
+                .forEach(this::adjustNextValue);
+    }
+
+    /**
+     * Coloca o proximo id da tabela acima do maior id existente, nunca
+     * diminuindo um valor que o gerador ja tenha reservado
+     *
+     * @param table a tabela da entidade
+     */
+    private void adjustNextValue(String table) {
+
+        final int updated = this.entityManager.createNativeQuery(
+                "insert into " + PersistentEntity.ID_GENERATORS_TABLE + " (entity, next_value) "
+                + "select :entity, coalesce(max(id), 0) + 1 from " + table + " "
+                + "on duplicate key update next_value = greatest(next_value, values(next_value))")
+                .setParameter("entity", table)
+                .executeUpdate();
+
+        this.logger.debug("Id generator for {} adjusted, {} row(s) affected", table, updated);
+    }
+}
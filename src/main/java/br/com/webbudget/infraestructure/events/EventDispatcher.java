@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infraestructure.events;
+
+import br.com.webbudget.domain.misc.EventLaneStatistics;
+import br.com.webbudget.domain.model.entity.PersistentEntityListener;
+import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+import org.slf4j.Logger;
+
+/**
+ * Despacha para o pool gerenciado pelo container os efeitos colaterais dos 
+ * eventos que nao precisam acontecer dentro da transacao de quem disparou
+ * 
+ * Os tratadores sao agrupados em filas nomeadas, cada fila e limitada e 
+ * processada por no maximo uma thread por vez, assim os eventos de uma mesma
+ * fila sao tratados na ordem em que foram disparados. Os observadores devem
+ * despachar a partir de observers transacionais (AFTER_SUCCESS) para que nada
+ * seja tratado antes do commit ou depois de um rollback
+ * 
+ * Eventos que precisam ficar na transacao de quem disparou, como a 
+ * atualizacao de saldos, continuam com observers sincronos comuns
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ApplicationScoped
+public class EventDispatcher {
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private BeanManager beanManager;
+    @Inject
+    private TransactionalHandler transactionalHandler;
+
+    @Resource(lookup = "java:comp/DefaultManagedExecutorService")
+    private ManagedExecutorService executorService;
+
+    private int queueCapacity;
+    private long offerTimeout;
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    /**
+     * Le os limites das filas da configuracao da aplicacao
+     */
+    @PostConstruct
+    protected void initialize() {
+        this.queueCapacity = Integer.parseInt(
+                ApplicationUtils.getConfiguration("events.queue-capacity"));
+        this.offerTimeout = Long.parseLong(
+                ApplicationUtils.getConfiguration("events.offer-timeout"));
+    }
+
+    /**
+     * Coloca o tratador na fila e agenda o processamento dela. Com a fila 
+     * cheia quem disparou espera um pouco por espaco, se ainda assim nao 
+     * couber o tratador roda na thread de quem disparou para nao se perder, 
+     * mas sem a garantia de ordem da fila
+     * 
+     * O usuario de quem disparou e capturado aqui, no pool nao existe sessao
+     * e as alteracoes feitas pelo tratador ficam registradas em nome dele
+     *
+     * @param lane o nome da fila
+     * @param handler o tratador do evento
+     */
+    public void dispatch(String lane, Runnable handler) {
+
+        final Lane target = this.lanes.computeIfAbsent(
+                lane, name -> new Lane(name, this.queueCapacity));
+
+        final String username = PersistentEntityListener
+                .currentUsername(this.beanManager);
+        
+        // o usuario fica delegado por fora da transacao, o flush que dispara
+        // os listeners das entidades acontece no commit
+        final Runnable audited = () -> PersistentEntityListener.runAs(
+                username, () -> this.transactionalHandler.handle(handler));
+
+        boolean queued;
+
+        try {
+            queued = target.queue.offer(audited, this.offerTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+
+        if (queued) {
+            this.schedule(target);
+        } else {
+            this.logger.warn("Event lane {} is full, handling on the caller thread", lane);
+            target.inlined.increment();
+            this.handle(target, audited);
+        }
+    }
+
+    /**
+     * @return as estatisticas de todas as filas
+     */
+    public List<EventLaneStatistics> listStatistics() {
+        return this.lanes.values()
+                .stream()
+                .map(Lane::toStatistics)
+                .sorted((s1, s2) -> s1.getLane().compareTo(s2.getLane()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Agenda o processamento da fila caso ninguem esteja processando ela
+     *
+     * @param lane a fila
+     */
+    private void schedule(Lane lane) {
+
+        if (!lane.draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            this.executorService.submit(() -> this.drain(lane));
+        } catch (RejectedExecutionException ex) {
+            // o pool esta saturado, o proximo despacho agenda de novo
+            lane.draining.set(false);
+            this.logger.warn("Event lane {} could not be scheduled: {}", lane.name, ex.getMessage());
+        }
+    }
+
+    /**
+     * Processa a fila ate ela esvaziar, no fim confere se algo chegou depois
+     * da ultima leitura e que ficaria sem ninguem para processar
+     *
+     * @param lane a fila
+     */
+    private void drain(Lane lane) {
+        try {
+            Runnable handler;
+            while ((handler = lane.queue.poll()) != null) {
+                this.handle(lane, handler);
+            }
+        } finally {
+            lane.draining.set(false);
+            if (!lane.queue.isEmpty()) {
+                this.schedule(lane);
+            }
+        }
+    }
+
+    /**
+     * Executa o tratador, ja embrulhado na sua transacao, e registra o tempo 
+     * gasto, uma falha no tratador fica no log e nao interrompe a fila
+     *
+     * @param lane a fila
+     * @param handler o tratador
+     */
+    private void handle(Lane lane, Runnable handler) {
+
+        final long start = System.nanoTime();
+
+        try {
+            handler.run();
+            lane.handled.increment();
+        } catch (Exception ex) {
+            lane.failed.increment();
+            this.logger.error("Event handler failed on lane " + lane.name, ex);
+        } finally {
+            lane.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Uma fila de tratadores e suas metricas
+     */
+    private static final class Lane {
+
+        private final String name;
+        private final BlockingQueue<Runnable> queue;
+        private final AtomicBoolean draining;
+
+        private final LongAdder handled;
+        private final LongAdder failed;
+        private final LongAdder inlined;
+        private final LongAdder totalTime;
+        private final AtomicLong maxTime;
+
+        /**
+         * @param name o nome da fila
+         * @param capacity quantos tratadores cabem na fila
+         */
+        Lane(String name, int capacity) {
+            this.name = name;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.draining = new AtomicBoolean();
+            this.handled = new LongAdder();
+            this.failed = new LongAdder();
+            this.inlined = new LongAdder();
+            this.totalTime = new LongAdder();
+            this.maxTime = new AtomicLong();
+        }
+
+        /**
+         * @param elapsed o tempo gasto no tratador, em nanos
+         */
+        void record(long elapsed) {
+            this.totalTime.add(elapsed);
+            this.maxTime.accumulateAndGet(elapsed, Math::max);
+        }
+
+        /**
+         * @return as estatisticas da fila, com os tempos em milisegundos
+         */
+        EventLaneStatistics toStatistics() {
+
+            final long handledCount = this.handled.sum();
+            final long executions = handledCount + this.failed.sum();
+
+            final long average = executions == 0 ? 0 
+                    : this.totalTime.sum() / executions;
+
+            return new EventLaneStatistics(this.name, this.queue.size(), 
+                    handledCount, this.failed.sum(), this.inlined.sum(), 
+                    TimeUnit.NANOSECONDS.toMillis(average), 
+                    TimeUnit.NANOSECONDS.toMillis(this.maxTime.get()));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infraestructure.events;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.transaction.Transactional;
+
+/**
+ * Executa os tratadores de eventos despachados pelo {@link EventDispatcher},
+ * e tarefas longas que trabalham em lotes, cada um na sua propria transacao
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ApplicationScoped
+public class TransactionalHandler {
+
+    /**
+     * A transacao e sempre nova porque no fallback o tratador roda na thread
+     * de quem disparou o evento, que pode ainda estar terminando a sua
+     * 
+     * @param handler o tratador do evento
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void handle(Runnable handler) {
+        handler.run();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infraestructure.mail;
+
+import br.com.webbudget.domain.model.entity.tools.OutgoingMail;
+import br.com.webbudget.domain.model.entity.tools.OutgoingMailState;
+import br.com.webbudget.domain.model.repository.tools.IOutgoingMailRepository;
+import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+
+/**
+ * A caixa de saida dos e-mails. Quem quiser enviar uma mensagem dispara um
+ * evento com ela, a mensagem e gravada na transacao de quem disparou e so 
+ * existe para o {@link Postman} se essa transacao for confirmada
+ * 
+ * Aqui tambem fica a politica de retentativas: cada falha adia o proximo 
+ * envio com uma espera que dobra a cada tentativa e, esgotadas as tentativas
+ * ou em falhas que nao se resolvem tentando de novo, o e-mail fica morto na 
+ * caixa para analise
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ApplicationScoped
+public class MailOutbox {
+
+    private static final long MAX_RETRY_DELAY = TimeUnit.HOURS.toMillis(6);
+    
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private IOutgoingMailRepository outgoingMailRepository;
+
+    private int batchSize;
+    private int maxAttempts;
+    private long retryDelay;
+    private long claimTimeout;
+
+    /**
+     * Le os limites de envio da configuracao da aplicacao
+     */
+    @PostConstruct
+    protected void initialize() {
+        this.batchSize = Integer.parseInt(
+                ApplicationUtils.getConfiguration("mail.outbox-batch-size"));
+        this.maxAttempts = Integer.parseInt(
+                ApplicationUtils.getConfiguration("mail.max-attempts"));
+        this.retryDelay = Long.parseLong(
+                ApplicationUtils.getConfiguration("mail.retry-delay"));
+        this.claimTimeout = Long.parseLong(
+                ApplicationUtils.getConfiguration("mail.claim-timeout"));
+    }
+
+    /**
+     * Escuta por eventos de envio de e-mail e coloca a mensagem na caixa
+     * 
+     * @param mailMessage a mensagem a ser enviada
+     */
+    @Transactional
+    public void enqueue(@Observes MailMessage mailMessage) {
+        this.outgoingMailRepository.save(new OutgoingMail(mailMessage));
+    }
+
+    /**
+     * Reserva o proximo lote de e-mails prontos para envio, os e-mails ficam
+     * como enviando ate a reserva vencer e nenhum outro carteiro pega eles
+     * nesse meio tempo. Se o carteiro cair no meio do lote o que nao foi 
+     * marcado volta para a caixa quando a reserva vence
+     * 
+     * @return o lote reservado
+     */
+    @Transactional
+    public List<OutgoingMail> claimReadyToSend() {
+
+        final Date now = new Date();
+        final Date claimedUntil = new Date(now.getTime() + this.claimTimeout);
+
+        final List<OutgoingMail> batch = this.outgoingMailRepository
+                .listReadyToSend(now, this.batchSize);
+
+        batch.forEach(mail -> {
+            mail.setState(OutgoingMailState.SENDING);
+            mail.setNextAttempt(claimedUntil);
+        });
+        return batch;
+    }
+
+    /**
+     * Devolve para a caixa o que sobrou de um lote que nao pode ser entregue,
+     * sem contar tentativa e sem esperar a reserva vencer
+     * 
+     * @param batch o lote reservado
+     */
+    @Transactional
+    public void release(List<OutgoingMail> batch) {
+        this.outgoingMailRepository.release(batch, new Date());
+    }
+
+    /**
+     * @param mail o e-mail entregue ao servidor
+     */
+    @Transactional
+    public void markSent(OutgoingMail mail) {
+        this.outgoingMailRepository.markSent(mail, new Date());
+    }
+
+    /**
+     * Registra a falha no envio e agenda a proxima tentativa ou, se nao ha
+     * mais o que tentar, deixa o e-mail morto
+     * 
+     * @param mail o e-mail
+     * @param error a causa da falha
+     * @param permanent se a falha nao se resolve tentando de novo
+     */
+    @Transactional
+    public void markFailed(OutgoingMail mail, Exception error, boolean permanent) {
+
+        final int attempts = mail.getAttempts() + 1;
+        final String cause = StringUtils.abbreviate(
+                String.valueOf(error.getMessage()), 500);
+
+        if (permanent || attempts >= this.maxAttempts) {
+            this.logger.error("Mail {} moved to dead letter after {} attempts: {}", 
+                    mail.getId(), attempts, cause);
+            this.outgoingMailRepository.markFailed(mail, 
+                    OutgoingMailState.DEAD, mail.getNextAttempt(), cause);
+        } else {
+            final Date nextAttempt = new Date(
+                    System.currentTimeMillis() + this.backoffFor(attempts));
+            
+            this.logger.warn("Mail {} failed on attempt {}, retrying at {}: {}", 
+                    mail.getId(), attempts, nextAttempt, cause);
+            this.outgoingMailRepository.markFailed(mail, 
+                    OutgoingMailState.PENDING, nextAttempt, cause);
+        }
+    }
+
+    /**
+     * @param attempts quantas tentativas ja foram feitas
+     * @return a espera ate a proxima tentativa, dobrando a cada falha
+     */
+    private long backoffFor(int attempts) {
+        final int exponent = Math.min(attempts - 1, 20);
+        return Math.min(this.retryDelay << exponent, MAX_RETRY_DELAY);
+    }
+}
@@ -16,54 +16,215 @@
  */
 package br.com.webbudget.infraestructure.mail;
 
+import br.com.webbudget.domain.model.entity.tools.OutgoingMail;
+import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
-import javax.ejb.Asynchronous;
-import javax.enterprise.context.ApplicationScoped;
-import javax.enterprise.event.Observes;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.Timeout;
+import javax.ejb.TimerConfig;
+import javax.ejb.TimerService;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
 import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
 import javax.mail.Session;
 import javax.mail.Transport;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
 
 /**
- * O nosso carteiro, ele escuta por qualquer evento relacionado ao envio de
- * mensagens, e caso alguem dispare um, ele se encarrega de encaminhar a
- * mensagem atraves da sessao ativa de email disponibilizada como recurso
+ * O nosso carteiro, de tempos em tempos ele passa na {@link MailOutbox}, 
+ * pega os e-mails que estao prontos e entrega todos eles usando uma unica
+ * conexao com o servidor de e-mail da sessao disponibilizada como recurso
+ * 
+ * Cada e-mail e marcado como enviado ou falho logo apos a sua entrega, assim
+ * uma queda no meio do lote nao faz os ja entregues serem enviados de novo.
+ * Se o servidor nao aceita a conexao o lote volta para a caixa e nenhuma 
+ * tentativa e contada
  *
  * @author Arthur Gregorio
  *
- * @version 2.0.0
+ * @version 3.0.0
  * @since 1.0.0, 06/07/2014
  */
-@ApplicationScoped
+@Startup
+@Singleton
+@Lock(LockType.READ)
 public class Postman {
 
+    @Inject
+    private Logger logger;
+    
+    @Inject
+    private MailOutbox mailOutbox;
+    
+    @Resource
+    private TimerService timerService;
+    
     @Resource(name = "java:/mail/webBudget")
     private Session mailSession;
-    
+
+    private final AtomicBoolean delivering = new AtomicBoolean();
+
     /**
-     * Escuta por eventos de envio de e-mail
+     * Agenda as passadas do carteiro no intervalo configurado
+     */
+    @PostConstruct
+    protected void initialize() {
+
+        final long interval = Long.parseLong(
+                ApplicationUtils.getConfiguration("mail.outbox-interval"));
+
+        this.timerService.createIntervalTimer(
+                interval, interval, new TimerConfig(null, false));
+    }
+
+    /**
+     * Esvazia a caixa de saida, lote a lote. Uma passada que comeca enquanto
+     * a anterior ainda entrega e descartada
+     */
+    @Timeout
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    protected void deliverPending() {
+
+        if (!this.delivering.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            int delivered;
+            do {
+                delivered = this.deliver(this.mailSession);
+            } while (delivered > 0);
+        } catch (Exception ex) {
+            this.logger.error("Mail delivery failed", ex);
+        } finally {
+            this.delivering.set(false);
+        }
+    }
+
+    /**
+     * Entrega um lote da caixa de saida pela sessao informada, abrindo uma 
+     * so conexao para o lote todo. Recebe a sessao para que possa ser 
+     * apontada para outro servidor, como um SMTP local
      * 
-     * @param mailMessage a mensagem a ser enviada
-     * @throws Exception caso haja problemas, dispara exception
+     * @param session a sessao de e-mail
+     * @return quantos e-mails foram entregues
      */
-    @Asynchronous
-    public void send(@Observes MailMessage mailMessage) throws Exception {
-       
-        final MimeMessage message = new MimeMessage(this.mailSession);
+    int deliver(Session session) {
+
+        final List<OutgoingMail> batch = this.mailOutbox.claimReadyToSend();
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        int delivered = 0;
+        Transport transport = null;
+
+        try {
+            transport = session.getTransport();
+
+            for (OutgoingMail mail : batch) {
+
+                // conecta na primeira vez ou se o servidor derrubou a conexao
+                if (!transport.isConnected()) {
+                    transport.connect();
+                }
+
+                try {
+                    final MimeMessage message = this.toMimeMessage(session, mail);
+                    transport.sendMessage(message, message.getAllRecipients());
+                    this.mailOutbox.markSent(mail);
+                    ++delivered;
+                } catch (AddressException ex) {
+                    this.mailOutbox.markFailed(mail, ex, true);
+                } catch (SendFailedException ex) {
+                    // endereco recusado nao passa a ser aceito numa retentativa
+                    this.mailOutbox.markFailed(mail, ex, this.hasInvalidAddresses(ex));
+                } catch (MessagingException ex) {
+                    if (!transport.isConnected()) {
+                        throw ex;
+                    }
+                    this.mailOutbox.markFailed(mail, ex, false);
+                }
+            }
+        } catch (MessagingException ex) {
+            // sem conexao, o que sobrou do lote volta para a caixa
+            this.logger.warn("Mail server unavailable, {} mails left in the outbox: {}", 
+                    batch.size() - delivered, ex.getMessage());
+            this.mailOutbox.release(batch);
+            return 0;
+        } finally {
+            this.close(transport);
+        }
+        return delivered;
+    }
+
+    /**
+     * Monta a mensagem a partir do e-mail guardado na caixa de saida
+     * 
+     * @param session a sessao de e-mail
+     * @param mail o e-mail
+     * @return a mensagem pronta para o envio
+     * @throws MessagingException se algum dado da mensagem for invalido
+     */
+    private MimeMessage toMimeMessage(Session session, OutgoingMail mail) throws MessagingException {
+
+        final MimeMessage message = new MimeMessage(session);
 
         // header da mensagem
-        message.setFrom(mailMessage.getFrom());
-        message.setSubject(mailMessage.getTitle());
-        message.setRecipients(Message.RecipientType.TO, mailMessage.getAddressees());
-        message.setRecipients(Message.RecipientType.CC, mailMessage.getCcs());
+        if (mail.getSender() != null) {
+            message.setFrom(new InternetAddress(mail.getSender()));
+        } else {
+            message.setFrom();
+        }
         
+        if (mail.getReplyTo() != null) {
+            message.setReplyTo(InternetAddress.parse(mail.getReplyTo()));
+        }
+        
+        message.setSubject(mail.getTitle(), "UTF-8");
+        message.setRecipients(Message.RecipientType.TO, mail.getAddressees());
+        message.setRecipients(Message.RecipientType.CC, mail.getCcs());
+
         // a mensagem
-        message.setText(mailMessage.getContent(), "UTF-8", "html");
+        message.setText(mail.getContent(), "UTF-8", "html");
         message.setSentDate(new Date());
 
-        // envia
-        Transport.send(message);
+        return message;
+    }
+
+    /**
+     * @param ex a falha no envio
+     * @return se o servidor recusou algum dos enderecos
+     */
+    private boolean hasInvalidAddresses(SendFailedException ex) {
+        return ex.getInvalidAddresses() != null 
+                && ex.getInvalidAddresses().length > 0;
+    }
+
+    /**
+     * @param transport a conexao a ser fechada
+     */
+    private void close(Transport transport) {
+        if (transport != null && transport.isConnected()) {
+            try {
+                transport.close();
+            } catch (MessagingException ex) {
+                this.logger.debug("Could not close the mail transport: {}", ex.getMessage());
+            }
+        }
     }
 }
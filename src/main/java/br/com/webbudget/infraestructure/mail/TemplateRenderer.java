@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infraestructure.mail;
+
+import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.faces.application.ProjectStage;
+import javax.inject.Inject;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.app.VelocityEngine;
+import org.slf4j.Logger;
+
+/**
+ * Renderiza os templates do velocity usados nos e-mails
+ * 
+ * Os templates configurados sao compilados na subida e os demais na primeira
+ * vez em que forem usados, depois disso ficam guardados aqui. Em 
+ * desenvolvimento quem cuida do cache e o proprio motor, que recarrega o 
+ * template quando o arquivo muda
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ApplicationScoped
+public class TemplateRenderer {
+
+    private static final String ENCODING = "UTF-8";
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private VelocityEngine engine;
+    @Inject
+    private VelocityContext toolsContext;
+
+    private boolean development;
+
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Compila os templates configurados para que o primeiro e-mail nao pague
+     * por isso
+     */
+    @PostConstruct
+    protected void initialize() {
+
+        this.development = ProjectStage.Development.name().equals(
+                ApplicationUtils.getConfiguration("application.stage"));
+
+        final String[] preload = StringUtils.split(
+                ApplicationUtils.getConfiguration("template.preload"), ", ");
+
+        for (String name : preload) {
+            try {
+                this.templates.put(name, this.engine.getTemplate(name, ENCODING));
+            } catch (Exception ex) {
+                this.logger.error("Could not preload template " + name, ex);
+            }
+        }
+    }
+
+    /**
+     * Renderiza o template com os valores informados, alem deles as 
+     * ferramentas de data e numero ficam disponiveis no template
+     * 
+     * O mapa de valores e usado direto pelo contexto do template, sem copia,
+     * entao um #set no template escreve nele
+     *
+     * @param templateName o caminho do template no classpath
+     * @param values os valores usados no template
+     * @return o template renderizado
+     */
+    public String render(String templateName, Map<String, Object> values) {
+
+        final Template template = this.development 
+                ? this.engine.getTemplate(templateName, ENCODING)
+                : this.templates.computeIfAbsent(templateName, 
+                        name -> this.engine.getTemplate(name, ENCODING));
+
+        // os valores ficam por cima das ferramentas, que sao compartilhadas
+        final VelocityContext context = 
+                new VelocityContext(values, this.toolsContext);
+
+        final StringWriter writer = new StringWriter(4096);
+
+        template.merge(context, writer);
+
+        return writer.toString();
+    }
+}
@@ -0,0 +1,498 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infraestructure.search;
+
+import br.com.webbudget.domain.model.entity.financial.Apportionment;
+import br.com.webbudget.domain.model.entity.financial.Movement;
+import br.com.webbudget.infraestructure.configuration.ApplicationUtils;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.LowerCaseFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+
+/**
+ * Indice full-text dos movimentos guardado em disco local. Indexamos a 
+ * descricao, o contato, as classes e os centros de custo dos rateios, alem do
+ * codigo e do valor, e a busca devolve os ids dos movimentos candidatos para
+ * que a consulta no banco nao precise varrer a tabela com like
+ * 
+ * Diferente do like, que achava o criterio em qualquer parte do texto, o 
+ * indice casa cada palavra do criterio com o inicio das palavras do texto: 
+ * "merc" acha "Mercado", mas "cado" nao
+ *
+ * Enquanto o indice nao tiver sido construido ao menos uma vez a busca nao fica
+ * disponivel e quem usa deve cair para a consulta tradicional
+ * 
+ * As alteracoes ficam visiveis para as buscas assim que feitas, pelo leitor 
+ * near-real-time do writer, e sao gravadas em disco de tempos em tempos. Uma 
+ * queda do servidor pode perder as ultimas alteracoes, que voltam com uma 
+ * reconstrucao do indice
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 2.3.0, 17/10/2026
+ */
+@ApplicationScoped
+public class MovementIndex {
+
+    private static final String ID = "id";
+    private static final String CODE = "code";
+    private static final String TEXT = "text";
+    private static final String VALUE = "value";
+
+    private static final String BUILT = "built";
+
+    private static final int MAX_GRAM_SIZE = 20;
+
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+
+    private volatile boolean built;
+
+    private ScheduledFuture<?> scheduledCommit;
+    private final AtomicBoolean pendingChanges = new AtomicBoolean();
+
+    private final Analyzer indexAnalyzer = new TextAnalyzer(true);
+    private final Analyzer searchAnalyzer = new TextAnalyzer(false);
+
+    @Inject
+    private Logger logger;
+
+    @Resource(lookup = "java:comp/DefaultManagedScheduledExecutorService")
+    private ManagedScheduledExecutorService executorService;
+
+    /**
+     * Abre ou cria o indice no diretorio configurado
+     */
+    @PostConstruct
+    protected void initialize() {
+        try {
+            final Path path = this.resolveIndexPath();
+
+            Files.createDirectories(path);
+
+            this.directory = FSDirectory.open(path);
+            this.indexWriter = new IndexWriter(this.directory, 
+                    new IndexWriterConfig(this.indexAnalyzer));
+            this.searcherManager = new SearcherManager(
+                    this.indexWriter, true, null);
+
+            final String built = this.indexWriter.getCommitData().get(BUILT);
+            this.built = Boolean.parseBoolean(built);
+
+            final long interval = Long.parseLong(
+                    ApplicationUtils.getConfiguration("search.commit-interval"));
+
+            this.scheduledCommit = this.executorService.scheduleWithFixedDelay(
+                    this::commitPendingChanges, interval, interval, TimeUnit.MILLISECONDS);
+        } catch (IOException ex) {
+            this.logger.error("Can't open the movements index, "
+                    + "search will use the database", ex);
+            this.close();
+        }
+    }
+
+    /**
+     * Fecha o indice gravando o que estiver pendente
+     */
+    @PreDestroy
+    protected void close() {
+        try {
+            if (this.scheduledCommit != null) {
+                this.scheduledCommit.cancel(false);
+            }
+            if (this.searcherManager != null) {
+                this.searcherManager.close();
+            }
+            if (this.indexWriter != null) {
+                this.indexWriter.close();
+            }
+            if (this.directory != null) {
+                this.directory.close();
+            }
+        } catch (IOException ex) {
+            this.logger.error("Error closing the movements index", ex);
+        } finally {
+            this.built = false;
+            this.scheduledCommit = null;
+            this.indexWriter = null;
+            this.searcherManager = null;
+            this.directory = null;
+        }
+    }
+
+    /**
+     * @return se o indice ja foi construido e pode ser usado nas buscas
+     */
+    public boolean isAvailable() {
+        return this.built && this.indexWriter != null;
+    }
+
+    /**
+     * Indexa ou reindexa um movimento
+     *
+     * @param movement o movimento
+     */
+    public void update(Movement movement) {
+
+        if (this.indexWriter == null) {
+            return;
+        }
+
+        try {
+            this.indexWriter.updateDocument(new Term(CODE, movement.getCode()),
+                    this.toDocument(movement));
+            this.pendingChanges.set(true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Remove um movimento do indice
+     *
+     * @param code o codigo do movimento
+     */
+    public void delete(String code) {
+
+        if (this.indexWriter == null) {
+            return;
+        }
+
+        try {
+            this.indexWriter.deleteDocuments(new Term(CODE, code));
+            this.pendingChanges.set(true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Limpa o indice para que ele seja reconstruido do zero
+     */
+    public void clear() {
+
+        if (this.indexWriter == null) {
+            throw new IllegalStateException("The movements index is not open");
+        }
+
+        try {
+            this.built = false;
+            this.indexWriter.deleteAll();
+            this.indexWriter.setCommitData(
+                    Collections.singletonMap(BUILT, "false"));
+            this.commit();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Indexa um lote de movimentos durante a reconstrucao, sem gravar a cada 
+     * documento. Os documentos sao substituidos pelo codigo, assim um evento 
+     * tratado durante a reconstrucao nao duplica o movimento
+     *
+     * @param movements os movimentos
+     */
+    public void addAll(List<Movement> movements) {
+        try {
+            for (Movement movement : movements) {
+                this.indexWriter.updateDocument(new Term(CODE, 
+                        movement.getCode()), this.toDocument(movement));
+            }
+            this.pendingChanges.set(true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Marca o indice como construido, a partir daqui ele passa a ser usado
+     */
+    public void markAsBuilt() {
+        try {
+            this.indexWriter.setCommitData(
+                    Collections.singletonMap(BUILT, "true"));
+            this.commit();
+            this.built = true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Busca os movimentos que atendem ao criterio informado. Todas as palavras
+     * do criterio devem aparecer no texto do movimento (como prefixo de alguma
+     * palavra), ou o criterio deve ser o codigo ou o valor do movimento
+     *
+     * @param criteria o criterio
+     * @param value o criterio como valor, se ele puder ser lido assim
+     * @param limit quantos ids no maximo devolver
+     * @return os ids dos movimentos encontrados ou vazio se o indice nao estiver
+     * disponivel
+     */
+    public Optional<List<Long>> search(String criteria, BigDecimal value, int limit) {
+
+        if (!this.isAvailable()) {
+            return Optional.empty();
+        }
+
+        final BooleanQuery.Builder builder = new BooleanQuery.Builder();
+
+        builder.add(new TermQuery(new Term(CODE, criteria.trim())), Occur.SHOULD);
+
+        if (value != null) {
+            builder.add(new TermQuery(new Term(VALUE, 
+                    this.normalize(value))), Occur.SHOULD);
+        }
+
+        final List<String> terms = this.analyze(criteria);
+
+        if (!terms.isEmpty()) {
+            final BooleanQuery.Builder textBuilder = new BooleanQuery.Builder();
+            terms.stream().forEach(term -> textBuilder.add(
+                    new TermQuery(new Term(TEXT, term)), Occur.MUST));
+            builder.add(textBuilder.build(), Occur.SHOULD);
+        }
+
+        IndexSearcher searcher = null;
+
+        try {
+            this.searcherManager.maybeRefresh();
+            searcher = this.searcherManager.acquire();
+
+            final TopDocs topDocs = searcher.search(builder.build(), limit);
+
+            final List<Long> ids = new ArrayList<>(topDocs.scoreDocs.length);
+
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                ids.add(searcher.doc(scoreDoc.doc)
+                        .getField(ID).numericValue().longValue());
+            }
+            return Optional.of(ids);
+        } catch (IOException ex) {
+            this.logger.error("Error searching the movements index", ex);
+            return Optional.empty();
+        } finally {
+            this.release(searcher);
+        }
+    }
+
+    /**
+     * Grava as alteracoes pendentes e atualiza o leitor das buscas
+     *
+     * @throws IOException se houver problema na gravacao
+     */
+    private void commit() throws IOException {
+        this.pendingChanges.set(false);
+        this.indexWriter.commit();
+        this.searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Grava em disco, se houver, as alteracoes feitas desde a ultima gravacao
+     */
+    private void commitPendingChanges() {
+        if (this.indexWriter != null && this.pendingChanges.get()) {
+            try {
+                this.commit();
+            } catch (IOException | RuntimeException ex) {
+                this.pendingChanges.set(true);
+                this.logger.error("Error committing the movements index", ex);
+            }
+        }
+    }
+
+    /**
+     * @param searcher o searcher a ser devolvido ao manager
+     */
+    private void release(IndexSearcher searcher) {
+        if (searcher != null) {
+            try {
+                this.searcherManager.release(searcher);
+            } catch (IOException ex) {
+                this.logger.error("Error releasing the index searcher", ex);
+            }
+        }
+    }
+
+    /**
+     * Monta o documento do indice para um movimento
+     *
+     * @param movement o movimento
+     * @return o documento
+     */
+    private Document toDocument(Movement movement) {
+
+        final Document document = new Document();
+
+        document.add(new StoredField(ID, movement.getId()));
+        document.add(new StringField(CODE, movement.getCode(), Field.Store.NO));
+
+        if (movement.getValue() != null) {
+            document.add(new StringField(VALUE, 
+                    this.normalize(movement.getValue()), Field.Store.NO));
+        }
+
+        final StringBuilder text = new StringBuilder();
+
+        text.append(movement.getDescription());
+
+        if (movement.getContact() != null) {
+            text.append(' ').append(movement.getContact().getName());
+        }
+
+        for (Apportionment apportionment : movement.getApportionments()) {
+            text.append(' ').append(apportionment.getMovementClass().getName());
+            text.append(' ').append(apportionment.getCostCenter().getName());
+        }
+
+        document.add(new TextField(TEXT, text.toString(), Field.Store.NO));
+
+        return document;
+    }
+
+    /**
+     * Quebra o criterio em termos com o mesmo tratamento dado ao texto 
+     * indexado, sem gerar os prefixos
+     *
+     * @param criteria o criterio
+     * @return os termos
+     */
+    private List<String> analyze(String criteria) {
+
+        final List<String> terms = new ArrayList<>();
+
+        try (final TokenStream stream = 
+                this.searchAnalyzer.tokenStream(TEXT, criteria)) {
+            
+            final CharTermAttribute attribute = 
+                    stream.addAttribute(CharTermAttribute.class);
+            
+            stream.reset();
+            
+            while (stream.incrementToken()) {
+                final String term = attribute.toString();
+                terms.add(term.length() > MAX_GRAM_SIZE 
+                        ? term.substring(0, MAX_GRAM_SIZE) : term);
+            }
+            
+            stream.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return terms;
+    }
+
+    /**
+     * @param value o valor
+     * @return o valor em um formato unico para indexacao e busca
+     */
+    private String normalize(BigDecimal value) {
+        return value.stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * @return o caminho do indice, relativo ao diretorio de dados do servidor
+     */
+    private Path resolveIndexPath() {
+
+        final String dataDirectory = System.getProperty("jboss.server.data.dir",
+                System.getProperty("java.io.tmpdir"));
+
+        return Paths.get(dataDirectory, ApplicationUtils
+                .getConfiguration("search.index-directory"));
+    }
+
+    /**
+     * Analisador do texto dos movimentos: quebra em palavras, passa para
+     * minusculas e remove os acentos. Na indexacao tambem gera os prefixos de
+     * cada palavra para que a busca encontre palavras digitadas pela metade
+     */
+    private static final class TextAnalyzer extends Analyzer {
+
+        private final boolean withPrefixes;
+
+        /**
+         * @param withPrefixes se deve gerar os prefixos das palavras
+         */
+        TextAnalyzer(boolean withPrefixes) {
+            this.withPrefixes = withPrefixes;
+        }
+
+        /**
+         * @param fieldName o campo
+         * @return os componentes do analisador
+         */
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+
+            final Tokenizer tokenizer = new StandardTokenizer();
+
+            TokenStream stream = new LowerCaseFilter(tokenizer);
+            stream = new ASCIIFoldingFilter(stream);
+
+            if (this.withPrefixes) {
+                stream = new EdgeNGramTokenFilter(stream, 1, MAX_GRAM_SIZE);
+            }
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    }
+}
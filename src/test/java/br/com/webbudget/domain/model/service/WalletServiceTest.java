@@ -0,0 +1,545 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.model.service;
+
+import br.com.webbudget.domain.misc.BalanceBuilder;
+import br.com.webbudget.domain.misc.LedgerCheck;
+import br.com.webbudget.domain.misc.TimeSeriesBuilder;
+import br.com.webbudget.domain.model.entity.IPersistentEntity;
+import br.com.webbudget.domain.model.entity.PersistentEntityListener;
+import br.com.webbudget.domain.model.entity.entries.Wallet;
+import br.com.webbudget.domain.model.entity.entries.WalletBalance;
+import br.com.webbudget.domain.model.entity.entries.WalletBalanceType;
+import br.com.webbudget.domain.model.entity.entries.WalletType;
+import br.com.webbudget.domain.model.repository.GenericRepository;
+import br.com.webbudget.domain.model.repository.entries.WalletBalanceRepository;
+import br.com.webbudget.domain.model.repository.entries.WalletCheckpointRepository;
+import br.com.webbudget.domain.model.repository.entries.WalletRepository;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import javax.enterprise.event.Event;
+import javax.enterprise.util.TypeLiteral;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.Persistence;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Roda o {@link WalletService} e os repositorios de carteira de verdade, via
+ * Hibernate, sobre um H2 em memoria no modo MySQL. Varias threads lancam
+ * saldos ao mesmo tempo partindo de carteiras com saldo velho e no fim o
+ * saldo gravado tem que bater com o razao da carteira
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public class WalletServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 100;
+
+    private static final List<String> STATEMENTS =
+            Collections.synchronizedList(new ArrayList<>());
+
+    private static EntityManagerFactory factory;
+
+    /**
+     * Sobe a unidade de persistencia dos testes gravando o SQL gerado
+     */
+    @BeforeClass
+    public static void setUpClass() {
+
+        final Map<String, Object> properties = new HashMap<>();
+
+        properties.put("hibernate.session_factory.statement_inspector",
+                (StatementInspector) sql -> {
+                    STATEMENTS.add(sql.toLowerCase());
+                    return sql;
+                });
+
+        factory = Persistence.createEntityManagerFactory("webBudgetTestPU", properties);
+    }
+
+    /**
+     *
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        factory.close();
+    }
+
+    /**
+     * Pagamentos e recebimentos concorrentes na mesma carteira, cada thread
+     * monta o saldo sobre a carteira que tem em maos, que fica velha assim
+     * que outra thread lanca. O saldo final tem que ser a soma do que foi
+     * lancado e o razao tem que ter uma posicao para cada lancamento
+     *
+     * @throws Exception
+     */
+    @Test
+    public void concurrentPaymentsKeepBalanceAndLedgerEqual() throws Exception {
+
+        final Wallet wallet = this.createWallet();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final List<Future<BigDecimal>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+
+                BigDecimal applied = BigDecimal.ZERO;
+
+                // a carteira que a thread tem em maos, como a de um movimento
+                final Wallet stale = this.findWallet(wallet.getId());
+
+                for (int j = 0; j < UPDATES_PER_THREAD; j++) {
+
+                    final BigDecimal value = BigDecimal.valueOf(
+                            ThreadLocalRandom.current().nextLong(1, 10000), 2);
+                    final boolean expense = ThreadLocalRandom.current().nextBoolean();
+
+                    final BalanceBuilder builder = new BalanceBuilder();
+
+                    builder.forWallet(stale)
+                            .withOldBalance(stale.getBalance())
+                            .withMovementedValue(value)
+                            .andType(expense
+                                    ? WalletBalanceType.PAYMENT : WalletBalanceType.REVENUE)
+                            .withActualBalance(expense
+                                    ? stale.getBalance().subtract(value)
+                                    : stale.getBalance().add(value));
+
+                    this.execute(service -> service.updateBalance(builder));
+
+                    applied = expense ? applied.subtract(value) : applied.add(value);
+                }
+                return applied;
+            }));
+        }
+
+        BigDecimal expected = BigDecimal.ZERO;
+
+        for (Future<BigDecimal> future : futures) {
+            expected = expected.add(future.get());
+        }
+
+        executor.shutdown();
+
+        this.assertLedger(wallet, expected, THREADS * UPDATES_PER_THREAD);
+    }
+
+    /**
+     * Transferencias nos dois sentidos ao mesmo tempo pelo
+     * {@link WalletService#transfer(WalletBalance)}, travando na ordem dos ids
+     * nenhuma espera pela outra e o total entre as carteiras se mantem
+     *
+     * @throws Exception
+     */
+    @Test
+    public void opposingTransfersDoNotDeadlock() throws Exception {
+
+        final Wallet first = this.createWallet();
+        final Wallet second = this.createWallet();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final List<Future<Void>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+
+            final Long source = i % 2 == 0 ? first.getId() : second.getId();
+            final Long target = i % 2 == 0 ? second.getId() : first.getId();
+
+            futures.add(executor.submit((Callable<Void>) () -> {
+                for (int j = 0; j < UPDATES_PER_THREAD; j++) {
+
+                    final WalletBalance transference = new WalletBalance();
+
+                    transference.setSourceWallet(this.findWallet(source));
+                    transference.setTargetWallet(this.findWallet(target));
+                    transference.setMovementedValue(BigDecimal.TEN);
+
+                    this.execute(service -> service.transfer(transference));
+                }
+                return null;
+            }));
+        }
+
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+
+        executor.shutdown();
+
+        this.assertLedger(first, BigDecimal.ZERO, THREADS * UPDATES_PER_THREAD);
+        this.assertLedger(second, BigDecimal.ZERO, THREADS * UPDATES_PER_THREAD);
+    }
+
+    /**
+     * Uma carteira com o saldo gravado atrasado em relacao ao razao, como 
+     * ficavam as carteiras que perderam atualizacoes. Depois de conferida e
+     * corrigida, o saldo gravado, o razao, o saldo na data e o grafico de 
+     * evolucao do saldo tem que contar a mesma coisa
+     */
+    @Test
+    public void reconciledWalletAgreesWithBalanceAtDate() {
+
+        final Wallet wallet = this.createWallet();
+
+        for (int i = 1; i <= 5; i++) {
+
+            final BigDecimal value = BigDecimal.valueOf(i * 100);
+            final BalanceBuilder builder = new BalanceBuilder();
+
+            builder.forWallet(wallet)
+                    .withOldBalance(wallet.getBalance())
+                    .withActualBalance(wallet.getBalance().add(value))
+                    .withMovementedValue(value)
+                    .andType(WalletBalanceType.REVENUE);
+
+            this.execute(service -> service.updateBalance(builder));
+        }
+
+        // o saldo gravado perde 25, o razao continua somando 1500
+        this.drift(wallet, new BigDecimal("-25"));
+
+        final LedgerCheck check = this.inTransaction(service -> service.checkLedger(wallet));
+
+        assertFalse(check.isConsistent());
+        assertEquals(0, new BigDecimal("25").compareTo(check.getDifference()));
+
+        // o mesmo que faz a correcao da conferencia dos razoes
+        this.execute(service -> service.reconcileBalance(
+                this.findWallet(wallet.getId()), check.getDifference(), "test"));
+
+        final LedgerCheck corrected = this.inTransaction(service -> service.checkLedger(wallet));
+
+        assertTrue(corrected.isConsistent());
+        assertEquals(0, new BigDecimal("1500").compareTo(corrected.getLedgerBalance()));
+        assertEquals(0, new BigDecimal("1500").compareTo(corrected.getStoredBalance()));
+
+        final BigDecimal balanceAt = this.inTransaction(service -> service.findBalanceAt(
+                wallet, new Date(System.currentTimeMillis() + 1000)));
+
+        assertEquals(0, new BigDecimal("1500").compareTo(balanceAt));
+
+        final Map<LocalDate, BigDecimal> overTime = this.inTransaction(service -> service
+                .listBalancesOverTime(wallet, LocalDate.now().minusDays(1),
+                        LocalDate.now(), TimeSeriesBuilder.Bucket.DAILY));
+
+        assertEquals(0, new BigDecimal("1500").compareTo(
+                overTime.get(LocalDate.now())));
+    }
+
+    /**
+     * As leituras travadas do saldo precisam sair com {@code for update}, sem
+     * ele o ajuste e o ponto de controle leriam um saldo que outra transacao
+     * ainda pode alterar
+     */
+    @Test
+    public void lockedReadsAreSelectForUpdate() {
+
+        final Wallet wallet = this.createWallet();
+
+        final EntityManager entityManager = factory.createEntityManager();
+
+        try {
+            final WalletRepository repository =
+                    this.repository(new WalletRepository(), entityManager);
+
+            entityManager.getTransaction().begin();
+
+            STATEMENTS.clear();
+            repository.lockBalance(wallet);
+            this.assertForUpdate();
+
+            STATEMENTS.clear();
+            repository.lockCheckpoint(wallet);
+            this.assertForUpdate();
+
+            entityManager.getTransaction().rollback();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Confere o unico select gravado desde a ultima limpeza
+     */
+    private void assertForUpdate() {
+        assertEquals(1, STATEMENTS.size());
+        assertTrue(STATEMENTS.get(0), STATEMENTS.get(0).endsWith(" for update"));
+    }
+
+    /**
+     * Le a carteira do banco e confere o saldo gravado contra o esperado,
+     * contra a soma das variacoes do historico e a posicao no razao contra
+     * as posicoes gravadas no historico
+     *
+     * @param wallet a carteira
+     * @param expected o saldo esperado
+     * @param entries quantos historicos a carteira deve ter
+     */
+    private void assertLedger(Wallet wallet, BigDecimal expected, long entries) {
+
+        final EntityManager entityManager = factory.createEntityManager();
+
+        try {
+            final Wallet stored = entityManager.find(Wallet.class, wallet.getId());
+
+            final Object[] ledger = (Object[]) entityManager
+                    .createQuery("select sum(wb.actualBalance - wb.oldBalance), "
+                            + "count(wb), count(distinct wb.ledgerSequence), "
+                            + "max(wb.ledgerSequence) "
+                            + "from WalletBalance wb "
+                            + "where wb.targetWallet.id = :walletId")
+                    .setParameter("walletId", wallet.getId())
+                    .getSingleResult();
+
+            assertEquals(0, expected.compareTo(stored.getBalance()));
+            assertEquals(0, expected.compareTo((BigDecimal) ledger[0]));
+            assertEquals(entries, ledger[1]);
+            assertEquals(entries, ledger[2]);
+            assertEquals(entries, ledger[3]);
+            assertEquals(entries, stored.getLedgerSequence());
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Altera o saldo gravado da carteira sem passar pelo razao
+     *
+     * @param wallet a carteira
+     * @param value o valor somado ao saldo gravado
+     */
+    private void drift(Wallet wallet, BigDecimal value) {
+
+        final EntityManager entityManager = factory.createEntityManager();
+
+        try {
+            entityManager.getTransaction().begin();
+            entityManager.createQuery("update Wallet wa "
+                    + "set wa.balance = wa.balance + :value where wa.id = :walletId")
+                    .setParameter("value", value)
+                    .setParameter("walletId", wallet.getId())
+                    .executeUpdate();
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * @return uma carteira nova, zerada
+     */
+    private Wallet createWallet() {
+
+        final Wallet wallet = new Wallet();
+
+        wallet.setName(UUID.randomUUID().toString().substring(0, 8));
+        wallet.setWalletType(WalletType.PERSONAL);
+
+        this.execute(service -> service.saveWallet(wallet));
+
+        return this.inTransaction(service -> service
+                .findWalletByNameAndBankAndType(wallet.getName(), null, WalletType.PERSONAL));
+    }
+
+    /**
+     * @param walletId o id da carteira
+     * @return a carteira lida do banco
+     */
+    private Wallet findWallet(Long walletId) {
+        return this.inTransaction(service -> service.findWalletById(walletId));
+    }
+
+    /**
+     * @param action a acao sobre o servico, rodada em uma transacao propria
+     */
+    private void execute(Consumer<WalletService> action) {
+        this.inTransaction(service -> {
+            action.accept(service);
+            return null;
+        });
+    }
+
+    /**
+     * Roda a tarefa em uma transacao e um contexto de persistencia proprios,
+     * como faria o interceptor de transacao do container
+     *
+     * @param <T> o tipo do retorno
+     * @param task a tarefa sobre o servico
+     * @return o retorno da tarefa
+     */
+    private <T> T inTransaction(ServiceTask<T> task) {
+
+        final EntityManager entityManager = factory.createEntityManager();
+        final EntityTransaction transaction = entityManager.getTransaction();
+
+        final List<T> result = new ArrayList<>(1);
+
+        try {
+            final WalletService service = this.service(entityManager);
+
+            transaction.begin();
+            PersistentEntityListener.runAs("test", () -> {
+                result.add(task.run(service));
+            });
+            transaction.commit();
+        } finally {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            entityManager.close();
+        }
+        return result.get(0);
+    }
+
+    /**
+     * Monta o servico com os repositorios de verdade sobre o contexto de
+     * persistencia informado
+     *
+     * @param entityManager o contexto de persistencia
+     * @return o servico
+     */
+    private WalletService service(EntityManager entityManager) {
+
+        final WalletService service = new WalletService();
+
+        this.inject(service, WalletService.class, "walletRepository",
+                this.repository(new WalletRepository(), entityManager));
+        this.inject(service, WalletService.class, "walletBalanceRepository",
+                this.repository(new WalletBalanceRepository(), entityManager));
+        this.inject(service, WalletService.class, "walletCheckpointRepository",
+                this.repository(new WalletCheckpointRepository(), entityManager));
+        this.inject(service, WalletService.class, "referenceChangedEvent", new NoEvent<>());
+
+        return service;
+    }
+
+    /**
+     * @param <R> o tipo do repositorio
+     * @param repository o repositorio
+     * @param entityManager o contexto de persistencia
+     * @return o repositorio com o contexto injetado
+     */
+    private <R extends GenericRepository> R repository(R repository, EntityManager entityManager) {
+        this.inject(repository, GenericRepository.class, "entityManager", entityManager);
+        return repository;
+    }
+
+    /**
+     * @param target o objeto que recebe a injecao
+     * @param owner a classe que declara o campo
+     * @param name o nome do campo
+     * @param value o valor
+     */
+    private void inject(Object target, Class<?> owner, String name, Object value) {
+        try {
+            final Field field = owner.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Uma tarefa sobre o servico de carteiras
+     *
+     * @param <T> o tipo do retorno
+     */
+    @FunctionalInterface
+    private interface ServiceTask<T> {
+
+        /**
+         * @param service o servico
+         * @return o retorno da tarefa
+         */
+        T run(WalletService service);
+    }
+
+    /**
+     * Evento sem observadores, os testes nao tem container para entregar
+     *
+     * @param <T> o tipo do evento
+     */
+    private static final class NoEvent<T> implements Event<T> {
+
+        /**
+         * @param event {@inheritDoc}
+         */
+        @Override
+        public void fire(T event) { }
+
+        /**
+         * @param qualifiers {@inheritDoc}
+         * @return {@inheritDoc}
+         */
+        @Override
+        public Event<T> select(Annotation... qualifiers) {
+            return this;
+        }
+
+        /**
+         * @param <U> {@inheritDoc}
+         * @param subtype {@inheritDoc}
+         * @param qualifiers {@inheritDoc}
+         * @return {@inheritDoc}
+         */
+        @Override
+        public <U extends T> Event<U> select(Class<U> subtype, Annotation... qualifiers) {
+            return new NoEvent<>();
+        }
+
+        /**
+         * @param <U> {@inheritDoc}
+         * @param subtype {@inheritDoc}
+         * @param qualifiers {@inheritDoc}
+         * @return {@inheritDoc}
+         */
+        @Override
+        public <U extends T> Event<U> select(TypeLiteral<U> subtype, Annotation... qualifiers) {
+            return new NoEvent<>();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infraestructure.configuration;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Gera codigos a partir de varias threads com um reservador de blocos em
+ * memoria no lugar do banco e confere que nenhum codigo se repete e que o
+ * gerador sustenta a taxa de 100 mil codigos por segundo
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public class CodeGeneratorTest {
+
+    private static final int THREADS = 8;
+
+    private static final long MINIMUM_CODES_PER_SECOND = 100_000L;
+
+    private Map<String, AtomicLong> segments;
+
+    /**
+     * Instala o reservador em memoria, os blocos saem de um contador por
+     * sequencia como sairiam da tabela de geradores
+     */
+    @Before
+    public void setUp() {
+        this.segments = new ConcurrentHashMap<>();
+        CodeGenerator.install((segment, size) -> this.segments
+                .computeIfAbsent(segment, name -> new AtomicLong())
+                .getAndAdd(size));
+    }
+
+    /**
+     *
+     */
+    @After
+    public void tearDown() {
+        CodeGenerator.install(null);
+    }
+
+    /**
+     * Os codigos dos movimentos, blocos grandes e poucas idas ao reservador
+     *
+     * @throws Exception
+     */
+    @Test
+    public void alphanumericCodesAreUniqueAtTheExpectedRate() throws Exception {
+        this.generate(6, false, 1_000_000);
+    }
+
+    /**
+     * Os codigos das faturas, o espaco e pequeno e os blocos tem poucos
+     * codigos, entao as threads disputam a troca de bloco o tempo todo
+     *
+     * @throws Exception
+     */
+    @Test
+    public void numericCodesAreUniqueWhileBlocksRunOut() throws Exception {
+        this.generate(6, true, 400_000);
+    }
+
+    /**
+     * Sem o reservador instalado o gerador falha em vez de inventar codigos
+     */
+    @Test(expected = IllegalStateException.class)
+    public void failsWhenNotInitialized() {
+        CodeGenerator.install(null);
+        CodeGenerator.next(3, true);
+    }
+
+    /**
+     * @param size o tamanho do codigo
+     * @param onlyNumbers se deve ou nao usar somente numeros
+     * @param total quantos codigos gerar entre todas as threads
+     * @throws Exception
+     */
+    private void generate(int size, boolean onlyNumbers, int total) throws Exception {
+
+        final int perThread = total / THREADS;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final List<Future<String[]>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+
+                final String[] codes = new String[perThread];
+
+                start.await();
+
+                for (int j = 0; j < perThread; j++) {
+                    codes[j] = CodeGenerator.next(size, onlyNumbers);
+                }
+                return codes;
+            }));
+        }
+
+        final long begin = System.nanoTime();
+
+        start.countDown();
+
+        final Set<String> unique = new HashSet<>(perThread * THREADS * 2);
+        final List<String[]> generated = new ArrayList<>();
+
+        for (Future<String[]> future : futures) {
+            generated.add(future.get());
+        }
+
+        final long elapsed = System.nanoTime() - begin;
+
+        executor.shutdown();
+
+        for (String[] codes : generated) {
+            for (String code : codes) {
+                assertEquals(size, code.length());
+                assertTrue("Repeated code " + code, unique.add(code));
+            }
+        }
+
+        final long codesPerSecond = unique.size() * TimeUnit.SECONDS.toNanos(1) / elapsed;
+
+        assertTrue("Only " + codesPerSecond + " codes/s",
+                codesPerSecond >= MINIMUM_CODES_PER_SECOND);
+    }
+}
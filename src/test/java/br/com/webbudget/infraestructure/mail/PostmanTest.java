@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2016 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infraestructure.mail;
+
+import br.com.webbudget.domain.model.entity.tools.OutgoingMail;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Entrega os lotes da caixa de saida em um servidor SMTP local e confere o
+ * que foi recebido e o que o carteiro marcou na caixa
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 2.3.0, 17/10/2026
+ */
+public class PostmanTest {
+
+    private GreenMail greenMail;
+
+    private Postman postman;
+    private OutboxStub outbox;
+
+    /**
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+
+        this.greenMail = new GreenMail(ServerSetupTest.SMTP);
+        this.greenMail.start();
+
+        this.outbox = new OutboxStub();
+        this.postman = new Postman();
+
+        this.inject("mailOutbox", this.outbox);
+        this.inject("logger", LoggerFactory.getLogger(Postman.class));
+    }
+
+    /**
+     *
+     */
+    @After
+    public void tearDown() {
+        this.greenMail.stop();
+    }
+
+    /**
+     * Todo o lote sai pela mesma conexao e cada e-mail e marcado enviado
+     */
+    @Test
+    public void deliversTheWholeBatch() throws Exception {
+
+        this.outbox.batch = Arrays.asList(
+                this.mail(1L, "first@webbudget.com.br"),
+                this.mail(2L, "second@webbudget.com.br"),
+                this.mail(3L, "third@webbudget.com.br"));
+
+        assertEquals(3, this.postman.deliver(this.session(ServerSetupTest.SMTP.getPort())));
+
+        final MimeMessage[] received = this.greenMail.getReceivedMessages();
+
+        assertEquals(3, received.length);
+        assertEquals("Mail 1", received[0].getSubject());
+        assertEquals(Arrays.asList(1L, 2L, 3L), this.outbox.sent);
+        assertTrue(this.outbox.failed.isEmpty());
+    }
+
+    /**
+     * Um endereco invalido falha de forma definitiva sem parar o lote
+     */
+    @Test
+    public void invalidAddressDoesNotStopTheBatch() throws Exception {
+
+        this.outbox.batch = Arrays.asList(
+                this.mail(1L, "first@webbudget.com.br"),
+                this.mail(2L, "not an address@"),
+                this.mail(3L, "third@webbudget.com.br"));
+
+        assertEquals(2, this.postman.deliver(this.session(ServerSetupTest.SMTP.getPort())));
+
+        assertEquals(2, this.greenMail.getReceivedMessages().length);
+        assertEquals(Arrays.asList(1L, 3L), this.outbox.sent);
+        assertEquals(Collections.singletonList(2L), this.outbox.failed);
+        assertEquals(Collections.singletonList(true), this.outbox.permanent);
+    }
+
+    /**
+     * Sem servidor nada e marcado e o lote volta para a caixa
+     */
+    @Test
+    public void unavailableServerReleasesTheBatch() throws Exception {
+
+        this.outbox.batch = Arrays.asList(
+                this.mail(1L, "first@webbudget.com.br"),
+                this.mail(2L, "second@webbudget.com.br"));
+
+        this.greenMail.stop();
+
+        assertEquals(0, this.postman.deliver(this.session(ServerSetupTest.SMTP.getPort())));
+
+        assertTrue(this.outbox.sent.isEmpty());
+        assertTrue(this.outbox.failed.isEmpty());
+        assertEquals(Arrays.asList(1L, 2L), this.outbox.released);
+    }
+
+    /**
+     * Com a caixa vazia nem abre conexao
+     */
+    @Test
+    public void emptyOutboxDeliversNothing() throws Exception {
+        assertEquals(0, this.postman.deliver(this.session(ServerSetupTest.SMTP.getPort())));
+        assertEquals(0, this.greenMail.getReceivedMessages().length);
+    }
+
+    /**
+     * @param port a porta do servidor SMTP
+     * @return a sessao de e-mail apontada para o servidor local
+     */
+    private Session session(int port) {
+
+        final Properties properties = new Properties();
+
+        properties.put("mail.transport.protocol", "smtp");
+        properties.put("mail.smtp.host", "localhost");
+        properties.put("mail.smtp.port", String.valueOf(port));
+        properties.put("mail.from", "webbudget@webbudget.com.br");
+
+        return Session.getInstance(properties);
+    }
+
+    /**
+     * @param id o id do e-mail
+     * @param addressee o destinatario
+     * @return o e-mail como viria da caixa de saida
+     */
+    private OutgoingMail mail(long id, String addressee) throws Exception {
+
+        final OutgoingMail mail = new OutgoingMail();
+
+        final Field field = mail.getClass().getSuperclass().getDeclaredField("id");
+        field.setAccessible(true);
+        field.set(mail, id);
+
+        mail.setTitle("Mail " + id);
+        mail.setContent("<p>Mail " + id + "</p>");
+        mail.setAddressees(addressee);
+
+        return mail;
+    }
+
+    /**
+     * @param name o nome do campo injetado no carteiro
+     * @param value o valor
+     */
+    private void inject(String name, Object value) throws Exception {
+        final Field field = Postman.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(this.postman, value);
+    }
+
+    /**
+     * Caixa de saida em memoria, entrega o lote uma vez e guarda o que o
+     * carteiro marcou
+     */
+    private static final class OutboxStub extends MailOutbox {
+
+        private List<OutgoingMail> batch = Collections.emptyList();
+
+        private final List<Long> sent = new ArrayList<>();
+        private final List<Long> failed = new ArrayList<>();
+        private final List<Boolean> permanent = new ArrayList<>();
+        private final List<Long> released = new ArrayList<>();
+
+        /**
+         * @return {@inheritDoc}
+         */
+        @Override
+        public List<OutgoingMail> claimReadyToSend() {
+            final List<OutgoingMail> claimed = this.batch;
+            this.batch = Collections.emptyList();
+            return claimed;
+        }
+
+        /**
+         * @param batch {@inheritDoc}
+         */
+        @Override
+        public void release(List<OutgoingMail> batch) {
+            batch.forEach(mail -> this.released.add(mail.getId()));
+        }
+
+        /**
+         * @param mail {@inheritDoc}
+         */
+        @Override
+        public void markSent(OutgoingMail mail) {
+            this.sent.add(mail.getId());
+        }
+
+        /**
+         * @param mail {@inheritDoc}
+         * @param error {@inheritDoc}
+         * @param permanent {@inheritDoc}
+         */
+        @Override
+        public void markFailed(OutgoingMail mail, Exception error, boolean permanent) {
+            this.failed.add(mail.getId());
+            this.permanent.add(permanent);
+        }
+    }
+}